@@ -0,0 +1,94 @@
+package org.starloco.locos.fight;
+
+import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.entity.monster.Monster;
+import org.starloco.locos.kernel.Constant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Coût par tour de combats représentatifs, joués par {@link FightHarness} sur une horloge virtuelle : un boss de donjon
+ * et ses serviteurs contre 4 combattants, un PvM à 8 contre 8 et une salle du Gladiatrool. L'équipe 0 joue comme des
+ * joueurs scriptés, ou avec l'IA des monstres si l'argument ai est donné.
+ *
+ * Arguments facultatifs : nom des combats (boss, pvm8, gladiatrool ; tous par défaut), nombre de combats par mesure
+ * (défaut 20), nombre de mesures (défaut 5), ai.
+ */
+class FightBenchmark {
+
+    private final static long DURATION = 3_600_000; // Une heure de combat virtuel au plus
+
+    private final static int PUNCH = 90001, ARROW = 90002, WAVE = 90003;
+
+    private final String name;
+    private final GameMap map;
+    private final List<Monster.MobGrade> team0, team1;
+
+    private FightBenchmark(String name, GameMap map, List<Monster.MobGrade> team0, List<Monster.MobGrade> team1) {
+        this.name = name;
+        this.map = map;
+        this.team0 = team0;
+        this.team1 = team1;
+    }
+
+    public static void main(String[] args) {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        boolean ai = options.remove("ai");
+        String only = !options.isEmpty() && !Character.isDigit(options.get(0).charAt(0)) ? options.remove(0) : null;
+        int fights = options.size() > 0 ? Integer.parseInt(options.get(0)) : 20, rounds = options.size() > 1 ? Integer.parseInt(options.get(1)) : 5;
+
+        FightHarness.spell(PUNCH, 0, 3, 1, 1, 500, "100;8;14;-1;0;0;1d7+7", "Pa");
+        FightHarness.spell(ARROW, 0, 4, 2, 6, 600, "97;6;12;-1;0;0;1d7+5", "Pa");
+        FightHarness.spell(WAVE, 0, 5, 1, 4, 900, "99;10;20;-1;0;0;1d11+9", "Cb");
+
+        FightHarness.challenge("17,25,25,5,0"); // Intouchable
+        FightHarness.challenge("18,25,25,5,0"); // Incurable
+
+        Monster.MobGrade player = FightHarness.monster(90100, 100, 1200, 8, 4, 1, PUNCH, ARROW);
+        Monster.MobGrade servant = FightHarness.monster(90101, 80, 900, 6, 3, 1, ARROW, PUNCH);
+        Monster.MobGrade boss = FightHarness.monster(90102, 150, 6000, 10, 4, 1, WAVE, ARROW);
+
+        List<FightBenchmark> benchmarks = new ArrayList<>();
+        List<Monster.MobGrade> bossTeam = new ArrayList<>(Collections.nCopies(3, servant));
+        bossTeam.add(0, boss);
+        benchmarks.add(new FightBenchmark("boss", FightHarness.map(1, 5, 10), Collections.nCopies(4, player), bossTeam));
+        benchmarks.add(new FightBenchmark("pvm8", FightHarness.map(2, 6, 10), Collections.nCopies(8, player), Collections.nCopies(8, servant)));
+        benchmarks.add(new FightBenchmark("gladiatrool", FightHarness.map(Constant.GLADIATROOL_MAPID.get(0), 6, 9), Collections.nCopies(4, player), Collections.nCopies(6, servant)));
+
+        for (FightBenchmark benchmark : benchmarks) {
+            if (only != null && !only.equals(benchmark.name))
+                continue;
+            FightHarness.Script script = ai ? null : FightHarness.PLAYERS;
+            benchmark.run(script, fights, 0); // Préchauffage du JIT
+            for (int round = 1; round <= rounds; round++)
+                System.out.println(benchmark.name + (ai ? " (ai)" : "") + " round " + round + " : " + benchmark.run(script, fights, round * 1000L));
+        }
+    }
+
+    /** Joue les combats, de graines seed, seed + 1... et renvoie le coût moyen et maximal d'un tour. */
+    private String run(FightHarness.Script script, int fights, long seed) {
+        long turns = 0, cpu = 0, maxCpu = 0, allocated = 0, duration = 0, unfinished = 0, start = System.nanoTime();
+
+        for (int i = 0; i < fights; i++) {
+            FightHarness harness = new FightHarness(Constant.FIGHT_TYPE_PVM, this.map, this.team0, this.team1, script, seed + i).run(DURATION);
+            for (int turn = 0; turn < harness.getTurns(); turn++) {
+                cpu += harness.getCpu(turn);
+                maxCpu = Math.max(maxCpu, harness.getCpu(turn));
+                allocated += harness.getAllocated(turn);
+            }
+            turns += harness.getTurns();
+            duration += harness.getDuration();
+            if (!harness.isFinished())
+                unfinished++;
+        }
+
+        long wall = System.nanoTime() - start;
+        turns = Math.max(1, turns);
+        return String.format("%5d turns/fight, %6d us cpu/turn (max %6d), %6d KB allocated/turn, %4d s virtual/fight, %6d ms wall/fight%s",
+                turns / fights, cpu / turns / 1000, maxCpu / 1000, allocated / turns / 1024, duration / fights / 1000,
+                wall / fights / 1_000_000, unfinished > 0 ? ", " + unfinished + " unfinished" : "");
+    }
+}
@@ -0,0 +1,186 @@
+package org.starloco.locos.fight;
+
+import org.starloco.locos.area.map.GameCase;
+import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.entity.monster.Monster;
+import org.starloco.locos.fight.ia.util.Function;
+import org.starloco.locos.fight.spells.Spell;
+import org.starloco.locos.fight.spells.Spell.SortStats;
+import org.starloco.locos.game.world.World;
+import org.starloco.locos.kernel.Constant;
+import org.starloco.locos.kernel.Logging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Banc de test des combats : un {@link Fight} construit à partir de cartes, monstres et sorts créés en mémoire, sans
+ * serveur ni base, joué sur une {@link VirtualScheduler horloge virtuelle} jusqu'à la mort d'une équipe. Les tours sont
+ * joués par l'IA des monstres (IA contre IA) ou, pour l'équipe 0, par un {@link Script} qui agit comme un joueur.
+ * Chaque tour relève le temps CPU et les octets alloués par le combat (cf. {@link FightMetrics}).
+ *
+ * Les combats n'ont pas de joueur : les paquets sont construits mais personne ne les reçoit, et le combat n'est pas
+ * considéré comme abandonné. Les journaux de combat sont coupés.
+ */
+class FightHarness {
+
+    private final static int WIDTH = 15, HEIGHT = 17, CELLS = WIDTH * HEIGHT + (WIDTH - 1) * (HEIGHT - 1);
+    private final static long MAX_TASKS = 1_000_000; // Garde-fou contre une IA qui ne rendrait jamais la main
+
+    /** Tour d'un combattant joué à la place de l'IA ; false pour laisser jouer l'IA. */
+    interface Script {
+        boolean play(Fight fight, Fighter fighter);
+    }
+
+    /**
+     * L'équipe 0 joue comme des joueurs : après un temps de réaction, le combattant s'approche de l'ennemi le plus
+     * proche et lui lance son premier sort tant qu'il le peut, puis passe son tour.
+     */
+    final static Script PLAYERS = (fight, fighter) -> {
+        if (fighter.getTeam() != 0 || fighter.isInvocation())
+            return false;
+        fight.getScheduler().schedule(fight.wrap(() -> {
+            Fighter target = Function.getInstance().getNearestEnnemy(fight, fighter);
+            if (target != null) {
+                Function.getInstance().moveNearIfPossible(fight, fighter, target);
+                SortStats spell = fighter.getMob().getSpells().values().stream().findFirst().orElse(null);
+                for (int i = 0; i < 4 && spell != null && !target.isDead(); i++)
+                    if (fight.tryCastSpell(fighter, spell, target.getCell().getId()) != 0)
+                        break;
+            }
+            fight.endTurn(false, fighter);
+        }), 800);
+        return true;
+    };
+
+    private final VirtualScheduler scheduler;
+    private final Fight fight;
+    private long[] cpu = new long[64], allocated = new long[64];
+    private int turns = 0;
+
+    FightHarness(int type, GameMap map, List<Monster.MobGrade> team0, List<Monster.MobGrade> team1, Script script, long seed) {
+        Logging.USE_LOG = false;
+        this.scheduler = new VirtualScheduler(seed) {
+            @Override
+            public void playTurn(Fight fight, Fighter fighter) {
+                if (script == null || !script.play(fight, fighter))
+                    super.playTurn(fight, fighter);
+            }
+
+            @Override
+            public boolean isAbandoned(Fight fight) { // Aucun joueur : le combat va jusqu'à la mort d'une équipe
+                return false;
+            }
+        };
+        this.fight = new Fight(type, -1, map, this.scheduler);
+        this.join(0, team0, this.fight.getStart0());
+        this.join(1, team1, this.fight.getStart1());
+        this.fight.setInit0(this.fight.getTeam0().values().iterator().next());
+        this.fight.setInit1(this.fight.getTeam1().values().iterator().next());
+        this.fight.getMetrics().setRecorder(this::record);
+    }
+
+    /** Place une copie de chaque grade sur les cellules de départ de l'équipe, dans l'ordre. */
+    private void join(int team, List<Monster.MobGrade> grades, List<GameCase> cells) {
+        Map<Integer, Fighter> fighters = team == 0 ? this.fight.getTeam0() : this.fight.getTeam1();
+        for (int i = 0; i < grades.size() && i < cells.size(); i++) {
+            Monster.MobGrade grade = grades.get(i).getCopy();
+            grade.setInFightID(-(this.fight.getTeam0().size() + this.fight.getTeam1().size() + 1));
+            Fighter fighter = new Fighter(this.fight, grade);
+            fighter.setCell(cells.get(i));
+            cells.get(i).addFighter(fighter);
+            fighter.setTeam(team);
+            fighter.fullPdv();
+            fighters.put(fighter.getId(), fighter);
+        }
+    }
+
+    private void record(long cpu, long allocated) {
+        if (this.turns == this.cpu.length) {
+            this.cpu = Arrays.copyOf(this.cpu, this.turns * 2);
+            this.allocated = Arrays.copyOf(this.allocated, this.turns * 2);
+        }
+        this.cpu[this.turns] = cpu;
+        this.allocated[this.turns++] = allocated;
+    }
+
+    /** Joue le combat jusqu'à la mort d'une équipe, ou jusqu'à duration ms de temps virtuel. */
+    FightHarness run(long duration) {
+        this.fight.wrap(this.fight::startFight).run();
+        while (this.fight.getState() < Constant.FIGHT_STATE_FINISHED && this.scheduler.currentTimeMillis() < duration
+                && this.scheduler.getExecuted() < MAX_TASKS && this.scheduler.runNext());
+        return this;
+    }
+
+    Fight getFight() {
+        return this.fight;
+    }
+
+    boolean isFinished() {
+        return this.fight.getState() >= Constant.FIGHT_STATE_FINISHED;
+    }
+
+    /** Durée du combat en temps virtuel, animations comprises. */
+    long getDuration() {
+        return this.scheduler.currentTimeMillis();
+    }
+
+    int getTurns() {
+        return this.turns;
+    }
+
+    long getCpu(int turn) {
+        return this.cpu[turn];
+    }
+
+    long getAllocated(int turn) {
+        return this.allocated[turn];
+    }
+
+    // Fixtures : enregistrées dans World.world, comme au chargement des données statiques
+
+    /** Carte de 15x17 entièrement praticable, les équipes placées sur deux rangées face à face. */
+    static GameMap map(int id, int firstRow, int secondRow) {
+        StringBuilder places = new StringBuilder();
+        for (int row : new int[]{firstRow, secondRow}) {
+            if (places.length() > 0)
+                places.append("|");
+            for (int i = 0; i < 8; i++)
+                places.append(World.world.getCryptManager().cellID_To_Code(row * (WIDTH * 2 - 1) + 3 + i));
+        }
+        GameMap map = new GameMap((short) id, "", (byte) WIDTH, (byte) HEIGHT, "", places.toString());
+        List<GameCase> cases = map.getCases();
+        for (int i = 0; i < CELLS; i++)
+            cases.add(new GameCase(map, i, true, true, -1));
+        World.world.getCryptManager().addForbiddenCells(map);
+        World.world.addMap(map);
+        return map;
+    }
+
+    /** Sort d'un seul niveau ; effects au format des données (id;min;max;...;jet, séparés par |), zone de deux caractères par effet. */
+    static Spell spell(int id, int type, int cost, int minPo, int maxPo, int duration, String effects, String zone) {
+        Spell spell = new Spell(id, "spell " + id, 0, "0", "0", type, duration);
+        spell.addSortStats(1, new SortStats(id, 1, cost, minPo, maxPo, 50, 100, false, true, false, false,
+                0, 0, 0, 1, false, effects, effects, zone));
+        World.world.addSort(spell);
+        return spell;
+    }
+
+    /** Challenge proposé aux combats PvM, au format des données : id,xp,drop,bonus par monstre,conditions. */
+    static void challenge(String challenge) {
+        World.world.addChallenge(challenge);
+    }
+
+    /** Grade 1 d'un monstre qui connaît les sorts donnés, au niveau 1. */
+    static Monster.MobGrade monster(int id, int level, int life, int pa, int pm, int ia, int... spells) {
+        List<String> list = new ArrayList<>();
+        for (int spell : spells)
+            list.add(spell + "@1");
+        Monster monster = new Monster(id, 1001, 0, "-1,-1,-1", level + "@10;10;10;10;10;10;10", String.join(";", list),
+                "100,100,100,100,100", "0;0;0;0", String.valueOf(life), pa + ";" + pm, "100", 0, 0, "10", ia, false, 0, 0);
+        World.world.addMobTemplate(id, monster);
+        return monster.getGrade(1);
+    }
+}
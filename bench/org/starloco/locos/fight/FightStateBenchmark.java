@@ -0,0 +1,106 @@
+package org.starloco.locos.fight;
+
+import org.starloco.locos.area.map.GameCase;
+import org.starloco.locos.entity.monster.Monster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coût des paquets GTM d'un combat de 16 combattants suivi par 8 spectateurs, sans serveur ni base : les combattants
+ * sont des monstres créés en mémoire. Chaque action déplace un combattant et en blesse un autre, puis l'état est envoyé
+ * aux 24 destinataires ; un spectateur sur cent actions rejoint le combat et reçoit l'état complet.
+ * Compare l'ancien envoi (état complet reconstruit, converti en String pour chaque destinataire) au paquet de
+ * {@link FightState}, qui ne recalcule que les entrées des combattants modifiés et n'est construit qu'une fois.
+ *
+ * Arguments facultatifs : nombre d'actions par mesure (défaut 20000) et nombre de mesures (défaut 5).
+ */
+class FightStateBenchmark {
+
+    private final static int FIGHTERS = 16, SPECTATORS = 8, CELLS = 479;
+
+    private final List<Fighter> fighters = new ArrayList<>();
+    private final GameCase[] cells = new GameCase[CELLS];
+    private final FightState state = new FightState(() -> this.fighters);
+    private long bytes = 0; // Empêche le JIT d'éliminer les paquets construits
+
+    private FightStateBenchmark() {
+        for (int i = 0; i < CELLS; i++)
+            this.cells[i] = new GameCase(null, i, true, true, -1);
+
+        Monster monster = new Monster(-1, 1001, 0, "-1,-1,-1", "10@5;5;5;5;5;5;5", "", "50,50,50,50,50", "0;0;0;0",
+                "500", "6;3", "100", 0, 0, "10", 1, false, 0, 0);
+        for (int i = 0; i < FIGHTERS; i++) {
+            Monster.MobGrade grade = monster.getGrade(1).getCopy();
+            grade.setInFightID(-(i + 1));
+            Fighter fighter = new Fighter(null, grade);
+            fighter.setCell(this.cells[i * 29]);
+            this.fighters.add(fighter);
+        }
+    }
+
+    public static void main(String[] args) {
+        int actions = args.length > 0 ? Integer.parseInt(args[0]) : 20_000, rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        FightStateBenchmark benchmark = new FightStateBenchmark();
+
+        benchmark.run(false, actions); // Préchauffage du JIT
+        benchmark.run(true, actions);
+        for (int round = 1; round <= rounds; round++) {
+            System.out.println("round " + round + " :");
+            System.out.println("  full rebuild " + benchmark.run(false, actions));
+            System.out.println("  cached       " + benchmark.run(true, actions));
+        }
+        System.out.println("(" + benchmark.bytes + " bytes sent)");
+    }
+
+    /** Joue les actions et renvoie le coût moyen d'un envoi. */
+    private String run(boolean cached, int actions) {
+        long cpu = FightMetrics.getCpu(), allocated = FightMetrics.getAllocated(), start = System.nanoTime(), bytes = this.bytes;
+
+        for (int action = 0; action < actions; action++) {
+            Fighter current = this.fighters.get(action % FIGHTERS), target = this.fighters.get((action * 7 + 3) % FIGHTERS);
+            current.setCell(this.cells[(current.getCell().getId() + 15) % CELLS]);
+            if (target.getPdv() > 1)
+                target.setPdv(target.getPdv() - 1);
+            else
+                target.fullPdv();
+
+            if (cached) {
+                String packet = this.state.getTurnPacket();
+                for (int i = 0; i < FIGHTERS + SPECTATORS; i++)
+                    this.bytes += packet.length();
+                if (action % 100 == 0)
+                    this.bytes += this.state.getTurnPacket().length();
+            } else {
+                StringBuilder packet = this.getFullPacket();
+                for (int i = 0; i < FIGHTERS + SPECTATORS; i++)
+                    this.bytes += packet.toString().length();
+                if (action % 100 == 0)
+                    this.bytes += this.getFullPacket().toString().length();
+            }
+        }
+
+        long nanos = System.nanoTime() - start;
+        cpu = FightMetrics.getCpu() - cpu;
+        allocated = FightMetrics.getAllocated() - allocated;
+        return String.format("%7.0f ns/action, %7.0f ns cpu/action, %6d bytes allocated/action, %5d bytes sent/action",
+                (double) nanos / actions, (double) cpu / actions, allocated / actions, (this.bytes - bytes) / actions);
+    }
+
+    /** GTM tel que GAME_SEND_GTM_PACKET_TO_FIGHT le construisait avant FightState. */
+    private StringBuilder getFullPacket() {
+        StringBuilder packet = new StringBuilder("GTM");
+        for (Fighter f : this.fighters) {
+            packet.append("|").append(f.getId()).append(";");
+            if (f.isDead()) {
+                packet.append("1");
+                continue;
+            }
+            packet.append("0;").append(f.getPdv()).append(";").append(f.getPa()).append(";").append(f.getPm()).append(";");
+            packet.append((f.isHide() ? "-1" : f.getCell().getId())).append(";");
+            packet.append(";");
+            packet.append(f.getPdvMax());
+        }
+        return packet;
+    }
+}
@@ -0,0 +1,95 @@
+package org.starloco.locos.fight;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Horloge virtuelle du banc de test : les tâches s'exécutent une à une sur le thread appelant, dans l'ordre de leur
+ * échéance, et une pause avance l'horloge sans attendre. Un combat s'y joue sans sleep ni thread, et à graine
+ * identique toujours dans le même ordre.
+ */
+class VirtualScheduler implements FightScheduler {
+
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+    private final long seed;
+    private long now = 0, sequence = 0, executed = 0;
+
+    VirtualScheduler(long seed) {
+        this.seed = seed;
+    }
+
+    private static class Task implements Comparable<Task> {
+        private final long time, sequence;
+        private final Runnable runnable;
+
+        private Task(long time, long sequence, Runnable runnable) {
+            this.time = time;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public int compareTo(Task task) {
+            return this.time != task.time ? Long.compare(this.time, task.time) : Long.compare(this.sequence, task.sequence);
+        }
+    }
+
+    @Override
+    public long newSeed() {
+        return this.seed;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return this.now;
+    }
+
+    @Override
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+        this.tasks.add(new Task(this.now + unit.toMillis(delay), this.sequence++, task));
+    }
+
+    @Override
+    public void pause(long millis) {
+        this.now += millis;
+    }
+
+    @Override
+    public Lane newLane() {
+        return new Lane() {
+            private boolean stopped = false;
+
+            @Override
+            public void schedule(Runnable task, long millis) {
+                if (!this.stopped)
+                    VirtualScheduler.this.schedule(() -> {
+                        if (!this.stopped) task.run();
+                    }, millis);
+            }
+
+            @Override
+            public void shutdown() {
+                this.stopped = true;
+            }
+        };
+    }
+
+    /** Exécute la prochaine tâche, à son échéance ; false s'il n'y en a plus. */
+    boolean runNext() {
+        Task task = this.tasks.poll();
+        if (task == null)
+            return false;
+        this.now = Math.max(this.now, task.time);
+        this.executed++;
+        try {
+            task.runnable.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return true;
+    }
+
+    long getExecuted() {
+        return this.executed;
+    }
+}
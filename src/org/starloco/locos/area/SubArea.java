@@ -40,6 +40,8 @@ public class SubArea {
             bontarians++;
         else if (this.alignement == -1 && alignement == 2)
             brakmarians++;
+        if (this.alignement != alignement)
+            World.world.refreshConquest();
         this.alignement = alignement;
     }
 
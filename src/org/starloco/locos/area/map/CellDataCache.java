@@ -0,0 +1,157 @@
+package org.starloco.locos.area.map;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Cache binaire des cellules décodées, persisté d'un démarrage à l'autre.
+ * Une entrée n'est valide que si la date, la clef et les données de la carte en base n'ont pas changé (longueur et CRC32) :
+ * dans le cas contraire la carte est redécodée depuis sa chaîne et l'entrée remplacée.
+ */
+public class CellDataCache {
+
+    private final static String FILE = "Cache/cells.bin";
+    private final static int MAGIC = 0x53434443, VERSION = 2;
+    private final static byte WALKABLE = 1, LOS = 2;
+
+    private final static Map<Short, Entry> entries = new ConcurrentHashMap<>();
+    private static volatile boolean loaded = false, dirty = false;
+
+    public static class Entry {
+        private final String date;
+        private final long keyDigest, dataDigest;
+        private final byte[] flags;
+        private final int[] objects;
+
+        public Entry(String date, long keyDigest, long dataDigest, int size) {
+            this.date = date;
+            this.keyDigest = keyDigest;
+            this.dataDigest = dataDigest;
+            this.flags = new byte[size];
+            this.objects = new int[size];
+        }
+
+        public int size() {
+            return this.flags.length;
+        }
+
+        public void set(int cell, boolean walkable, boolean los, int object) {
+            this.flags[cell] = (byte) ((walkable ? WALKABLE : 0) | (los ? LOS : 0));
+            this.objects[cell] = object;
+        }
+
+        public boolean isWalkable(int cell) {
+            return (this.flags[cell] & WALKABLE) != 0;
+        }
+
+        public boolean isLoS(int cell) {
+            return (this.flags[cell] & LOS) != 0;
+        }
+
+        public int getObject(int cell) {
+            return this.objects[cell];
+        }
+
+        private boolean matches(String date, long keyDigest, long dataDigest) {
+            return this.date.equals(date) && this.keyDigest == keyDigest && this.dataDigest == dataDigest;
+        }
+    }
+
+    public static Entry get(GameMap map, String data) {
+        load();
+        Entry entry = entries.get(map.getId());
+        return entry != null && entry.matches(String.valueOf(map.getDate()), digest(map.getKey()), digest(data)) ? entry : null;
+    }
+
+    public static Entry create(GameMap map, String data, int size) {
+        return new Entry(String.valueOf(map.getDate()), digest(map.getKey()), digest(data), size);
+    }
+
+    public static void put(GameMap map, Entry entry) {
+        entries.put(map.getId(), entry);
+        dirty = true;
+    }
+
+    public static int size() {
+        return entries.size();
+    }
+
+    /** Longueur de la chaîne sur les 32 bits de poids fort, CRC32 de ses octets sur les 32 autres. */
+    private static long digest(String value) {
+        if (value == null)
+            return -1;
+        CRC32 crc = new CRC32();
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        return (long) value.length() << 32 | crc.getValue();
+    }
+
+    private static synchronized void load() {
+        if (loaded)
+            return;
+        loaded = true;
+        File file = new File(FILE);
+        if (!file.exists())
+            return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                return;
+            for (int i = in.readInt(); i > 0; i--) {
+                short id = in.readShort();
+                Entry entry = new Entry(in.readUTF(), in.readLong(), in.readLong(), in.readShort());
+                in.readFully(entry.flags);
+                for (int cell = 0; cell < entry.size(); cell++)
+                    entry.objects[cell] = in.readInt();
+                entries.put(id, entry);
+            }
+        } catch (IOException e) {
+            // Fichier tronqué ou corrompu : on repart du décodage des chaînes
+            entries.clear();
+            e.printStackTrace();
+        }
+    }
+
+    public static synchronized void save() {
+        if (!dirty)
+            return;
+        dirty = false;
+        File file = new File(FILE), temporary = new File(FILE + ".tmp");
+        if (!file.getParentFile().exists()) file.getParentFile().mkdirs();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            Map<Short, Entry> copy = new HashMap<>(entries);
+            out.writeInt(copy.size());
+            for (Map.Entry<Short, Entry> e : copy.entrySet()) {
+                Entry entry = e.getValue();
+                out.writeShort(e.getKey());
+                out.writeUTF(entry.date);
+                out.writeLong(entry.keyDigest);
+                out.writeLong(entry.dataDigest);
+                out.writeShort(entry.size());
+                out.write(entry.flags);
+                for (int object : entry.objects)
+                    out.writeInt(object);
+            }
+        } catch (IOException e) {
+            dirty = true;
+            e.printStackTrace();
+            return;
+        }
+
+        try {
+            Files.move(temporary.toPath(), Paths.get(FILE), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            dirty = true;
+            e.printStackTrace();
+        }
+    }
+}
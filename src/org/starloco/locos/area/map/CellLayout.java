@@ -0,0 +1,82 @@
+package org.starloco.locos.area.map;
+
+import java.util.List;
+
+/**
+ * Photographie immuable des cellules d'une carte, partagée par toutes les cartes de combat issues de cette carte.
+ * Les cellules d'un combat ne sont créées qu'au premier accès à partir de ces tableaux indexés par identifiant.
+ */
+public final class CellLayout {
+
+    private final boolean[] present, walkable, los, activo;
+    private final byte[] level, slope, movimiento;
+    private final int[] objects, objectCells;
+
+    CellLayout(GameMap map, List<GameCase> cells) {
+        int size = 0, count = 0;
+        for (GameCase cell : cells)
+            if (cell != null) size = Math.max(size, cell.getId() + 1);
+
+        this.present = new boolean[size];
+        this.walkable = new boolean[size];
+        this.los = new boolean[size];
+        this.activo = new boolean[size];
+        this.level = new byte[size];
+        this.slope = new byte[size];
+        this.movimiento = new byte[size];
+        this.objects = new int[size];
+
+        for (GameCase cell : cells) {
+            if (cell == null || isExcluded(map, cell.getId()))
+                continue;
+            int id = cell.getId();
+            this.present[id] = true;
+            this.walkable[id] = cell.isWalkable(true, true, -1);
+            this.los[id] = cell.isLoS();
+            this.activo[id] = cell.getActivo();
+            this.level[id] = cell.getLevel();
+            this.slope[id] = cell.getSlope();
+            this.movimiento[id] = cell.getMovimiento();
+            this.objects[id] = cell.getObject() == null ? -1 : cell.getObject().getId();
+            if (this.objects[id] != -1) count++;
+        }
+
+        this.objectCells = new int[count];
+        for (int id = 0, i = 0; id < size; id++)
+            if (this.present[id] && this.objects[id] != -1)
+                this.objectCells[i++] = id;
+    }
+
+    private static boolean isExcluded(GameMap map, int id) {
+        if (map.getId() == 8279) {
+            switch (id) {
+                case 187:
+                case 170:
+                case 156:
+                case 142:
+                case 128:
+                case 114:
+                case 100:
+                case 86:
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return this.present.length;
+    }
+
+    public boolean has(int id) {
+        return id >= 0 && id < this.present.length && this.present[id];
+    }
+
+    public int[] getObjectCells() {
+        return this.objectCells;
+    }
+
+    GameCase create(GameMap map, int id) {
+        return new GameCase(map, id, this.activo[id], this.movimiento[id], this.level[id], this.slope[id], this.walkable[id], this.los[id], this.objects[id]);
+    }
+}
@@ -41,6 +41,7 @@ public class GameCase {
     private byte _slope;
     private byte _movimiento;
     private boolean _activo;
+    private volatile boolean released = false; // Libérée par GameMap.dehydrate, remplacée à la réhydratation
     
     // By Coding Mestre - [FIX] Professions runes are now properly working Close #35
     public static Map<List<Integer>, List<Integer>> craftsmenJobIds = new HashMap<>(); // keys are the map's ids and the values are the jobs/professions ids
@@ -76,6 +77,14 @@ public class GameCase {
     }
    
     public void setWalkable(boolean walkable) {this.walkable=walkable;}
+
+    public void release() {
+        this.released = true;
+    }
+
+    public boolean isReleased() {
+        return this.released;
+    }
     
     public GameCase(GameMap map, int id, final boolean activo, final byte movimiento, final byte level, final byte slope, boolean walkable, boolean loS, int objId)
     {
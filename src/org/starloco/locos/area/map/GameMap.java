@@ -2,6 +2,7 @@ package org.starloco.locos.area.map;
 
 import org.starloco.locos.area.SubArea;
 import org.starloco.locos.area.map.entity.InteractiveDoor;
+import org.starloco.locos.area.map.entity.InteractiveObject;
 import org.starloco.locos.client.Player;
 //import org.starloco.locos.client.other.Maitre; // La
 import org.starloco.locos.client.other.Party;
@@ -17,9 +18,11 @@ import org.starloco.locos.fight.Fight;
 import org.starloco.locos.fight.Fighter;
 import org.starloco.locos.game.scheduler.Updatable;
 import org.starloco.locos.game.world.World;
+import org.starloco.locos.job.JobConstant;
 import org.starloco.locos.area.map.entity.MountPark;
 import org.starloco.locos.object.GameObject;
 import org.starloco.locos.other.Action;
+import org.starloco.locos.other.Guild;
 import org.starloco.locos.common.*;
 import org.starloco.locos.kernel.*;
 //import org.starloco.locos.util.TimerWaiter;
@@ -39,32 +42,37 @@ import java.awt.*;
 import java.util.*;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger; // Compteur thread-safe pour les identifiants d'action
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class GameMap {
 
     public static final Map<String, ArrayList<GameObject>> fixMobGroupObjects = new HashMap<>();
     public static final Updatable updatable = new Updatable(30000) {
-        private final ArrayList<RespawnGroup> groups = new ArrayList<>();
+        // Triée par échéance : seule la tête de file est examinée à chaque tick
+        private final PriorityQueue<RespawnGroup> groups = new PriorityQueue<>(Comparator.comparingLong(group -> group.dueTime));
 
         @Override
         public void update() {
-            if(!this.groups.isEmpty()) {
-                long time = System.currentTimeMillis(), random = Formulas.getRandomValue(120000, 300000);
+            long time = System.currentTimeMillis();
 
-                for(RespawnGroup respawnGroup : new ArrayList<>(this.groups)) {
-                    if(respawnGroup.cell != -1) {
-                        Map<String, String> data = World.world.getGroupFix(respawnGroup.map.id, respawnGroup.cell);
+            while(true) {
+                RespawnGroup respawnGroup;
+                synchronized (this.groups) {
+                    respawnGroup = this.groups.peek();
+                    if(respawnGroup == null || respawnGroup.dueTime > time)
+                        break;
+                    this.groups.poll();
+                }
 
-                        if(time - respawnGroup.lastTime > Long.parseLong(data.get("timer"))) {
-                            respawnGroup.map.addStaticGroup(respawnGroup.cell, data.get("groupData"), true);
-                            this.groups.remove(respawnGroup);
-                        }
-                    } else if(time - respawnGroup.lastTime > random) {
-                        respawnGroup.map.spawnGroup(-1, 1, true, -1);
-                        this.groups.remove(respawnGroup);
-                    }
+                if(respawnGroup.cell != -1) {
+                    Map<String, String> data = World.world.getGroupFix(respawnGroup.map.id, respawnGroup.cell);
+                    if(data != null)
+                        respawnGroup.map.addStaticGroup(respawnGroup.cell, data.get("groupData"), true);
+                } else {
+                    respawnGroup.map.spawnGroup(-1, 1, true, -1);
                 }
             }
 
@@ -79,17 +87,29 @@ public class GameMap {
                     }
                 }
 
-                for (GameMap map : World.world.getMaps()) {
-                    map.onMapMonsterDeplacement();
-                    if (map.getMountPark() != null) map.getMountPark().startMoveMounts();
-                }
+                // Les monstres ne se déplacent que sous les yeux d'un joueur : leur marche étant aléatoire,
+                // une carte inobservée reprend simplement depuis les dernières positions connues.
+                Set<GameMap> observed = new HashSet<>();
+                for (Player player : World.world.getOnlinePlayers())
+                    if (player.getCurMap() != null && observed.add(player.getCurMap()))
+                        player.getCurMap().onMapMonsterDeplacement();
+
+                // L'élevage continue sans spectateur : chaque enclos est parcouru, pas chaque carte, et un
+                // enclos inobservé avance sans rien diffuser ni hydrater sa carte (cf. GameMap.hasCell)
+                for (MountPark mountPark : World.world.getMountparks().values())
+                    mountPark.startMoveMounts(observed.contains(mountPark.getMap()));
+
+                long delay = Config.getInstance().mapDehydrateDelay * 60000L;
+                if (delay > 0)
+                    for (GameMap map : new ArrayList<>(hydrated))
+                        if (!observed.contains(map)) map.dehydrate(System.currentTimeMillis(), delay);
 
                 NpcMovable.moveAll();
             }
         }
 
         @Override
-        public ArrayList<RespawnGroup> get() {
+        public PriorityQueue<RespawnGroup> get() {
             return groups;
         }
     };
@@ -104,7 +124,17 @@ public class GameMap {
     private SubArea subArea;
     private MountPark mountPark;
     private CellCacheImpl cellCache;
-    private List<GameCase> cases = new ArrayList<>();
+    private CellDataCache.Entry cellData; // Cellules décodées lues par hasCell() tant que la carte n'est pas hydratée
+    private volatile List<GameCase> cases = new ArrayList<>();
+    private String mapData;
+    private byte sniffed;
+    private boolean pinned = false, monstersPending = false;
+    private volatile long lastAccess = System.currentTimeMillis();
+    private final static Set<GameMap> hydrated = ConcurrentHashMap.newKeySet();
+    private volatile CellLayout fightLayout; // Partagé par les cartes de combat issues de cette carte
+    private CellLayout layout; // Carte de combat : cellules créées à la demande depuis la carte d'origine
+    private GameCase[] overlay;
+    private final static AtomicLong fightCopies = new AtomicLong(), fightCells = new AtomicLong();
     private List<Fight> fights = new ArrayList<>();
     private ArrayList<Monster.MobGrade> mobPossibles = new ArrayList<>();
     private Map<Integer, Monster.MobGroup> mobGroups = new HashMap<>();
@@ -113,6 +143,8 @@ public class GameMap {
     private Map<Integer, ArrayList<Action>> endFightAction = new HashMap<>();
     private Map<Integer, Integer> mobExtras = new HashMap<>();
     private final AtomicInteger actionSequence = new AtomicInteger(0); // Garantit un identifiant GA unique par carte
+    private final MapEntryCache entryCache = new MapEntryCache();
+    private volatile Set<Integer> interactiveTemplates;
 
     public GameMap(short id, String date, byte w, byte h, String key, String places, String dData, String monsters, String mapPos, byte maxGroup, byte fixSize, byte minSize, byte maxSize, String forbidden, byte sniffed) {
         this.id = id;
@@ -125,7 +157,11 @@ public class GameMap {
         this.maxSize = maxSize;
         this.minSize = minSize;
         this.fixSize = fixSize;
-        this.cases = World.world.getCryptManager().decompileMapData(this, dData, sniffed);
+        this.mapData = dData;
+        this.sniffed = sniffed;
+        this.cases = null; // Décodées au premier accès, cf. hydrate()
+        if (!Config.getInstance().mapLazyLoad)
+            this.hydrate();
 
         try {
             if (!places.equalsIgnoreCase("") && !places.equalsIgnoreCase("|"))
@@ -290,17 +326,13 @@ public class GameMap {
         if (durability <= 0) {
             //if (MP.delObject(cell)) {
                 durability = 0;
-                Map<Integer, Integer> InDurab = new HashMap<>();
-                InDurab.put(durabilityMax, durability);
-                MP.getObjDurab().put(cell, InDurab);
+                MP.setDurability(cell, durabilityMax, durability);
                 SocketManager.SEND_GDO_PUT_OBJECT_MOUNT(perso.getCurMap(), cell
                         + ";" + itemID + ";1;" + durability + ";" + durabilityMax);
                 return 0;
             //}
         } else {
-            Map<Integer, Integer> InDurab = new HashMap<>();
-            InDurab.put(durabilityMax, durability);
-            MP.getObjDurab().put(cell, InDurab);
+            MP.setDurability(cell, durabilityMax, durability);
             SocketManager.SEND_GDO_PUT_OBJECT_MOUNT(perso.getCurMap(), cell
                     + ";" + itemID + ";1;" + durability + ";" + durabilityMax);
         }
@@ -331,17 +363,13 @@ public class GameMap {
         if (durability <= 0) {
             //if (MP.delObject(cell)) {
             durability = 0;
-            Map<Integer, Integer> InDurab = new HashMap<>();
-            InDurab.put(durabilityMax, durability);
-            MP.getObjDurab().put(cell, InDurab);
+            MP.setDurability(cell, durabilityMax, durability);
             SocketManager.SEND_GDO_PUT_OBJECT_MOUNT(MP.getMap(), cell
                     + ";" + itemID + ";1;" + durability + ";" + durabilityMax);
             return 0;
             //}
         } else {
-            Map<Integer, Integer> InDurab = new HashMap<>();
-            InDurab.put(durabilityMax, durability);
-            MP.getObjDurab().put(cell, InDurab);
+            MP.setDurability(cell, durabilityMax, durability);
             SocketManager.SEND_GDO_PUT_OBJECT_MOUNT(MP.getMap(), cell + ";"
                     + itemID + ";1;" + durability + ";" + durabilityMax);
         }
@@ -520,28 +548,168 @@ public class GameMap {
         this.placesStr = place;
     }
 
+    /**
+     * Sans verrou si la carte est hydratée : l'accès est daté avant la lecture de la liste, et dehydrate() retire la
+     * liste avant de relire cette date, si bien que qui obtient la liste a aussi repoussé sa libération.
+     */
     public List<GameCase> getCases() {
+        this.lastAccess = System.currentTimeMillis();
+        List<GameCase> cases = this.cases;
+        return cases != null ? cases : this.hydrate();
+    }
+
+    public boolean isHydrated() {
+        return this.cases != null;
+    }
+
+    public static int getHydratedCount() {
+        return hydrated.size();
+    }
+
+    /**
+     * Décode les cellules (et leurs objets interactifs) depuis les données brutes,
+     * puis fait apparaître les groupes de monstres mis en attente au démarrage.
+     */
+    private synchronized List<GameCase> hydrate() {
+        if (this.cases != null)
+            return this.cases;
+        if (this.layout != null)
+            return this.cases = this.materialize();
+
+        List<GameCase> cases = this.mapData == null ? new ArrayList<>() : World.world.getCryptManager().decompileMapData(this, this.mapData, this.sniffed);
+        this.cases = cases;
+        this.fightLayout = null;
+        this.interactiveTemplates = null;
+        this.entryCache.invalidate(MapEntryCache.Section.OBJECTS);
+        this.entryCache.invalidate(MapEntryCache.Section.FLOOR);
+        if (this.mapData != null) hydrated.add(this);
+
+        if (this.monstersPending) {
+            this.monstersPending = false;
+            this.loadMonsterOnMap();
+        }
         return cases;
     }
 
+    /**
+     * Libère les cellules d'une carte inactive depuis plus de delay ms. Seules les cartes
+     * dont les cellules sont identiques à leur état décodé sont concernées : pas de joueur,
+     * de combat, d'objet au sol, d'action sur cellule ni de ressource en cours de repousse.
+     * Les groupes de monstres ne référencent que des identifiants de cellule et sont conservés ; les cellules
+     * libérées sont marquées pour que les joueurs hors ligne qui y sont restés retrouvent la nouvelle à leur retour.
+     */
+    public synchronized boolean dehydrate(long time, long delay) {
+        List<GameCase> cases = this.cases;
+        if (cases == null || this.mapData == null || this.pinned || time - this.lastAccess < delay)
+            return false;
+        if (this.fights != null && !this.fights.isEmpty())
+            return false;
+
+        for (GameCase cell : cases) {
+            if (cell == null)
+                continue;
+            if (!cell.getPlayers().isEmpty() || !cell.getFighters().isEmpty() || cell.getDroppedItem(false) != null || cell.getOnCellStopAction())
+                return false;
+            InteractiveObject object = cell.getObject();
+            if (object != null && (object.getState() != JobConstant.IOBJECT_STATE_FULL || !object.isInteractive()))
+                return false;
+        }
+
+        this.cases = null;
+        if (time - this.lastAccess < delay) { // Lue entre-temps par getCases()
+            this.cases = cases;
+            return false;
+        }
+        for (GameCase cell : cases)
+            if (cell != null) cell.release();
+        this.cellCache = null;
+        this.fightLayout = null;
+        this.interactiveTemplates = null;
+        this.entryCache.invalidate(MapEntryCache.Section.OBJECTS);
+        hydrated.remove(this);
+        return true;
+    }
+
     private void setCases(List<GameCase> cases) {
         this.cases = cases;
+        this.mapData = null;
+        this.cellData = null;
+        this.layout = null;
+        this.overlay = null;
+        this.fightLayout = null;
+        this.interactiveTemplates = null;
+        this.entryCache.invalidate(MapEntryCache.Section.OBJECTS);
+        this.entryCache.invalidate(MapEntryCache.Section.FLOOR);
+    }
+
+    /** Cellules hydratées, sinon aucune : pour les lectures qui ne doivent ni hydrater ni repousser la libération. */
+    private List<GameCase> peekCases() {
+        List<GameCase> cases = this.cases;
+        if (cases == null)
+            return this.layout != null ? this.getCases() : Collections.emptyList();
+        return cases;
+    }
+
+    /** Cellule existante, lue sans hydrater la carte ni repousser sa libération. */
+    public boolean hasCell(int id) {
+        return this.getCellFlags(id) != 0;
+    }
+
+    /** Cellule existante et marchable, sans tenir compte de son objet interactif ; même lecture que hasCell(). */
+    public boolean isCellWalkable(int id) {
+        return this.getCellFlags(id) == 2;
+    }
+
+    /** 0 : cellule absente, 1 : non marchable, 2 : marchable. */
+    private int getCellFlags(int id) {
+        List<GameCase> cases = this.cases;
+        if (cases != null) {
+            for (GameCase cell : cases)
+                if (cell != null && cell.getId() == id)
+                    return cell.isWalkable(false) ? 2 : 1;
+            return 0;
+        }
+        if (this.layout == null && this.mapData != null) {
+            CellDataCache.Entry entry = this.cellData;
+            if (entry == null)
+                entry = this.cellData = CellDataCache.get(this, this.mapData);
+            if (entry != null)
+                return id < 0 || id >= entry.size() ? 0 : entry.isWalkable(id) ? 2 : 1;
+        }
+        GameCase cell = this.getCase(id); // Jamais décodée : l'hydratation remplit le cache pour les appels suivants
+        return cell == null ? 0 : cell.isWalkable(false) ? 2 : 1;
     }
 
     public GameCase getCase(int id) {
-        for(GameCase gameCase : this.cases)
+        if (this.layout != null) {
+            if (!this.layout.has(id))
+                return null;
+            synchronized (this.overlay) {
+                GameCase cell = this.overlay[id];
+                if (cell == null) {
+                    cell = this.overlay[id] = this.layout.create(this, id);
+                    fightCells.incrementAndGet();
+                }
+                return cell;
+            }
+        }
+        for(GameCase gameCase : this.getCases())
             if(gameCase.getId() == (id))
                 return gameCase;
         return null;
     }
 
     public void removeCase(int id) {
-        Iterator<GameCase> iterator = this.cases.iterator();
+        Iterator<GameCase> iterator = this.getCases().iterator();
+        this.pinned = true; // Cellule remplacée (portes) : l'état ne peut plus être redécodé
+        this.fightLayout = null;
 
         while(iterator.hasNext()) {
             GameCase gameCase = iterator.next();
             if(gameCase != null && gameCase.getId() == id) {
                 iterator.remove();
+                this.interactiveTemplates = null;
+                this.entryCache.invalidate(MapEntryCache.Section.OBJECTS);
                 break;
             }
         }
@@ -601,6 +769,8 @@ public class GameMap {
     public void removeNpcOrMobGroup(int id) {
         this.npcs.remove(id);
         this.mobGroups.remove(id);
+        this.entryCache.invalidate(MapEntryCache.Section.NPCS);
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
     }
 
     public Npc addNpc(int npcID, int cellID, int dir) {
@@ -616,6 +786,7 @@ public class GameMap {
             npc = new NpcMovable(this.nextObjectId, cellID, (byte) dir, this.id, temp);
         this.npcs.put(this.nextObjectId, npc);
         this.nextObjectId--;
+        this.entryCache.invalidate(MapEntryCache.Section.NPCS);
         return npc;
     }
 
@@ -628,7 +799,9 @@ public class GameMap {
     }
 
     public Npc RemoveNpc(int id) {
-        return this.npcs.remove(id);
+        Npc npc = this.npcs.remove(id);
+        this.entryCache.invalidate(MapEntryCache.Section.NPCS);
+        return npc;
     }
 
     public void applyEndFightAction(Player player) {
@@ -690,6 +863,9 @@ public class GameMap {
 
     public void setMountPark(MountPark mountPark) {
         this.mountPark = mountPark;
+        this.entryCache.invalidate(MapEntryCache.Section.PARK);
+        this.entryCache.invalidate(MapEntryCache.Section.PARK_OBJECTS);
+        this.entryCache.invalidate(MapEntryCache.Section.MOUNTS);
     }
 
     public int getMaxGroupNumb() {
@@ -707,36 +883,62 @@ public class GameMap {
         return false;
     }
 
+    /**
+     * Carte de combat : les données fixes des cellules sont partagées avec cette carte via un {@link CellLayout},
+     * seules les cellules réellement consultées par le combat sont instanciées.
+     */
     public GameMap getMapCopy() {
-        List<GameCase> cases = new ArrayList<>();
+        CellLayout layout = this.fightLayout;
+        if (layout == null)
+            layout = this.fightLayout = new CellLayout(this, this.getCases());
 
         GameMap map = new GameMap(id, date, w, h, key, placesStr);
+        map.cases = null;
+        map.layout = layout;
+        map.overlay = new GameCase[layout.size()];
+        fightCopies.incrementAndGet();
+        return map;
+    }
 
-        for (GameCase gameCase : this.cases) {
-            if (map.getId() == 8279) {
-                switch (gameCase.getId()) {
-                    case 187:
-                    case 170:
-                    case 156:
-                    case 142:
-                    case 128:
-                    case 114:
-                    case 100:
-                    case 86:
-                        continue;
-                }
-            }
+    /** Toutes les cellules d'une carte de combat, dans l'ordre des identifiants. */
+    private List<GameCase> materialize() {
+        List<GameCase> cases = new ArrayList<>(this.layout.size());
+        for (int id = 0; id < this.layout.size(); id++) {
+            GameCase cell = this.getCase(id);
+            if (cell != null) cases.add(cell);
+        }
+        return cases;
+    }
 
-            //cases.add(new GameCase(map, gameCase.getId(), gameCase.isWalkable(true, true, -1), gameCase.isLoS(), (gameCase.getObject() == null ? -1 : gameCase.getObject().getId())));
-            cases.add(new GameCase(map,gameCase.getId(),gameCase.getActivo(),gameCase.getMovimiento(),gameCase.getLevel(),gameCase.getSlope(),gameCase.isWalkable(true,true,-1),gameCase.isLoS(),(gameCase.getObject()==null ? -1 : gameCase.getObject().getId())));
+    /** Cellules portant un objet interactif, sans instancier les autres sur une carte de combat. */
+    public List<GameCase> getObjectCases() {
+        List<GameCase> cases = new ArrayList<>();
+        if (this.layout != null && this.cases == null) {
+            for (int id : this.layout.getObjectCells())
+                cases.add(this.getCase(id));
+        } else {
+            for (GameCase cell : this.getCases())
+                if (cell != null && cell.getObject() != null)
+                    cases.add(cell);
         }
-        map.setCases(cases);
-        return map;
+        return cases;
+    }
+
+    public void invalidateFightLayout() {
+        this.fightLayout = null;
+    }
+
+    public static long getFightCopies() {
+        return fightCopies.get();
+    }
+
+    public static long getFightCells() {
+        return fightCells.get();
     }
 
     public GameMap getMapCopyIdentic() {
         GameMap map = new GameMap(id, date, w, h, key, placesStr, X, Y, maxGroup, fixSize, minSize, maxSize);
-        List<GameCase> cases = this.cases.stream().map(entry -> new GameCase(map,entry.getId(),entry.getActivo(),entry.getMovimiento(),entry.getLevel(),entry.getSlope(),entry.isWalkable(false),entry.isLoS(),(entry.getObject()==null ? -1 : entry.getObject().getId()))).collect(Collectors.toList());
+        List<GameCase> cases = this.getCases().stream().map(entry -> new GameCase(map,entry.getId(),entry.getActivo(),entry.getMovimiento(),entry.getLevel(),entry.getSlope(),entry.isWalkable(false),entry.isLoS(),(entry.getObject()==null ? -1 : entry.getObject().getId()))).collect(Collectors.toList());
         map.setCases(cases);
         return map;
     }
@@ -764,9 +966,10 @@ public class GameMap {
         }
     }
 
+    /** Sans hydrater la carte ni repousser sa libération : une carte libérée n'a aucun joueur. */
     public ArrayList<Player> getPlayers() {
         ArrayList<Player> players = new ArrayList<>();
-        for (GameCase c : cases) {
+        for (GameCase c : this.peekCases()) {
             c.getPlayers().stream()
                     .filter(Objects::nonNull)
                     .filter(player -> !player.isEsclave())
@@ -776,14 +979,27 @@ public class GameMap {
     }
 
     public void sendFloorItems(Player perso) {
-        this.cases.stream().filter(c -> c.getDroppedItem(false) != null).forEach(c -> SocketManager.GAME_SEND_GDO_PACKET(perso, '+', c.getId(), c.getDroppedItem(false).getTemplate().getId(), 0));
+        String packet = this.entryCache.get(MapEntryCache.Section.FLOOR, this::buildFloorItemsPacket);
+        if (!packet.isEmpty())
+            perso.send(packet);
+    }
+
+    private String buildFloorItemsPacket() {
+        StringBuilder packet = new StringBuilder();
+        for (GameCase cell : this.getCases()) {
+            GameObject object = cell.getDroppedItem(false);
+            if (object != null)
+                packet.append(packet.length() == 0 ? "GDO+" : "|").append(cell.getId()).append(";").append(object.getTemplate().getId()).append(";0");
+        }
+        return packet.toString();
     }
 
     public void delAllDropItem() {
-        for (GameCase gameCase : this.cases) {
+        for (GameCase gameCase : this.getCases()) {
             SocketManager.GAME_SEND_GDO_PACKET_TO_MAP(this, '-', gameCase.getId(), 0, 0);
             gameCase.clearDroppedItem();
         }
+        this.entryCache.invalidate(MapEntryCache.Section.FLOOR);
     }
 
     public int getStoreCount() {
@@ -797,7 +1013,7 @@ public class GameMap {
     }
 
     public boolean isPossibleToPutMonster() {
-        return !this.cases.isEmpty() && this.maxGroup > 0 && this.mobPossibles.size() > 0;
+        return !this.getCases().isEmpty() && this.maxGroup > 0 && this.mobPossibles.size() > 0;
     }
 
     public boolean loadExtraMonsterOnMap(int idMob) {
@@ -810,6 +1026,7 @@ public class GameMap {
         if (group.getMobs().isEmpty())
             return false;
         this.mobGroups.put(this.nextObjectId, group);
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
         this.nextObjectId--;
         return true;
     }
@@ -817,6 +1034,10 @@ public class GameMap {
     public void loadMonsterOnMap() {
         if (maxGroup == 0)
             return;
+        if (this.cases == null) { // Les groupes apparaîtront à l'hydratation de la carte
+            this.monstersPending = true;
+            return;
+        }
         spawnGroup(Constant.ALIGNEMENT_NEUTRE, this.maxGroup, false, -1);//Spawn des groupes d'alignement neutre
         spawnGroup(Constant.ALIGNEMENT_BONTARIEN, 1, false, -1);//Spawn du groupe de gardes bontarien s'il y a
         spawnGroup(Constant.ALIGNEMENT_BRAKMARIEN, 1, false, -1);//Spawn du groupe de gardes brakmarien s'il y a
@@ -858,11 +1079,21 @@ public class GameMap {
     }
 
     public void spawnAfterTimeGroup() {
-        ((ArrayList<RespawnGroup>) updatable.get()).add(new RespawnGroup(this, -1, System.currentTimeMillis()));
+        scheduleRespawn(new RespawnGroup(this, -1, System.currentTimeMillis() + Formulas.getRandomValue(120000, 300000)));
     }
 
     public void spawnAfterTimeGroupFix(final int cell) {
-        ((ArrayList<RespawnGroup>) updatable.get()).add(new RespawnGroup(this, cell, System.currentTimeMillis()));
+        Map<String, String> data = World.world.getGroupFix(this.id, cell);
+        if (data != null)
+            scheduleRespawn(new RespawnGroup(this, cell, System.currentTimeMillis() + Long.parseLong(data.get("timer"))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void scheduleRespawn(RespawnGroup respawnGroup) {
+        PriorityQueue<RespawnGroup> groups = (PriorityQueue<RespawnGroup>) updatable.get();
+        synchronized (groups) {
+            groups.add(respawnGroup);
+        }
     }
 
     public void setCellCache(CellCacheImpl cache) {
@@ -879,6 +1110,7 @@ public class GameMap {
         if (group.getMobs().isEmpty())
             return group;
         this.mobGroups.put(this.nextObjectId, group);
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
         group.setIsFix(false);
         SocketManager.GAME_SEND_MAP_MOBS_GM_PACKET(this, group);
 
@@ -891,12 +1123,12 @@ public class GameMap {
 
         private final GameMap map;
         private final int cell;
-        private final long lastTime;
+        private final long dueTime;
 
-        public RespawnGroup(GameMap map, int cell, long lastTime) {
+        public RespawnGroup(GameMap map, int cell, long dueTime) {
             this.map = map;
             this.cell = cell;
-            this.lastTime = lastTime;
+            this.dueTime = dueTime;
         }
     }
 
@@ -937,6 +1169,7 @@ public class GameMap {
             if (group.getMobs().isEmpty())
                 continue;
             this.mobGroups.put(this.nextObjectId, group);
+            this.entryCache.invalidate(MapEntryCache.Section.MOBS);
             if (log)
                 SocketManager.GAME_SEND_MAP_MOBS_GM_PACKET(this, group);
             this.nextObjectId--;
@@ -945,6 +1178,7 @@ public class GameMap {
 
     public void respawnGroup(Monster.MobGroup group) {
         this.mobGroups.put(group.getId(), group);
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
         SocketManager.GAME_SEND_MAP_MOBS_GM_PACKET(this, group);
     }
 
@@ -961,6 +1195,7 @@ public class GameMap {
         Monster.MobGroup group = new Monster.MobGroup(this.nextObjectId, -1, this.mobPossibles, this, cell, this.fixSize, this.minSize, this.maxSize, _m);
         group.setIsFix(false);
         this.mobGroups.put(this.nextObjectId, group);
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
         SocketManager.GAME_SEND_MAP_MOBS_GM_PACKET(this, group);
         this.nextObjectId--;
     }
@@ -975,6 +1210,7 @@ public class GameMap {
         if (group.getMobs().isEmpty())
             return;
         this.mobGroups.put(this.nextObjectId, group);
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
         group.setCondition(condition);
         group.setIsFix(false);
         SocketManager.GAME_SEND_MAP_MOBS_GM_PACKET(this, group);
@@ -990,6 +1226,7 @@ public class GameMap {
         if (group.getMobs().isEmpty())
             return;
         this.mobGroups.put(this.nextObjectId, group);
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
         group.setIsFix(false);
         if (send)
             SocketManager.GAME_SEND_MAP_MOBS_GM_PACKET(this, group);
@@ -1004,6 +1241,7 @@ public class GameMap {
         if (group.getMobs().isEmpty())
             return;
         this.mobGroups.put(this.nextObjectId, group);
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
         this.nextObjectId--;
         this.fixMobGroups.put(-1000 + this.nextObjectId, group);
         if (b)
@@ -1016,6 +1254,7 @@ public class GameMap {
         }
         this.mobGroups.clear();
         this.mobGroups.putAll(this.fixMobGroups);
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
         for (Monster.MobGroup mg : this.fixMobGroups.values())
             SocketManager.GAME_SEND_MAP_MOBS_GM_PACKET(this, mg);
 
@@ -1026,14 +1265,14 @@ public class GameMap {
 
     public String getGMsPackets() {
         StringBuilder packet = new StringBuilder();
-        cases.stream().filter(cell -> cell != null).forEach(cell -> cell.getPlayers().stream().filter(player ->
+        this.getCases().stream().filter(cell -> cell != null).forEach(cell -> cell.getPlayers().stream().filter(player ->
                 player != null).forEach(player -> packet.append("GM|+").append(player.parseToGM()).append('\u0000')));
         return packet.toString();
     }
 
     public String getFightersGMsPackets(Fight fight) {
         StringBuilder packet = new StringBuilder("GM");
-        for (GameCase cell : this.cases)
+        for (GameCase cell : this.getCases())
             cell.getFighters().stream().filter(fighter -> fighter.getFight() == fight)
                     .forEach(fighter -> packet.append("|").append(fighter.getGmPacket('+', false)));
         return packet.toString();
@@ -1041,14 +1280,22 @@ public class GameMap {
 
     public String getFighterGMPacket(Player player) {
         Fighter target = player.getFight().getFighterByPerso(player);
-        for (GameCase cell : this.cases)
+        for (GameCase cell : this.getCases())
             for(Fighter fighter : cell.getFighters())
                 if(fighter.getFight() == player.getFight() && fighter == target)
                     return "GM|" + fighter.getGmPacket('~', false);
         return "";
     }
 
+    public void invalidateEntryCache(MapEntryCache.Section section) {
+        this.entryCache.invalidate(section);
+    }
+
     public String getMobGroupGMsPackets() {
+        return this.entryCache.get(MapEntryCache.Section.MOBS, this::buildMobGroupGMsPackets);
+    }
+
+    private String buildMobGroupGMsPackets() {
         if (this.mobGroups.isEmpty())
             return "";
 
@@ -1070,6 +1317,14 @@ public class GameMap {
     }
 
     public String getPrismeGMPacket() {
+        return this.entryCache.get(MapEntryCache.Section.PRISMS, this::buildPrismeGMPacket);
+    }
+
+    public String getCollectorsGMPacket() {
+        return this.entryCache.get(MapEntryCache.Section.COLLECTORS, () -> Collector.parseGM(this));
+    }
+
+    private String buildPrismeGMPacket() {
         String str = "";
         Collection<Prism> prisms = World.world.AllPrisme();
         if (prisms != null) {
@@ -1087,31 +1342,78 @@ public class GameMap {
         if (this.npcs.isEmpty())
             return "";
 
+        // Seul le clip des PNJ à quête dépend du joueur : les autres viennent du cache
         StringBuilder packet = new StringBuilder();
-        packet.append("GM|");
-        boolean isFirst = true;
-        for (Entry<Integer, Npc> entry : this.npcs.entrySet()) {
-            String GM = entry.getValue().parse(false, p);
-            if (GM.equals(""))
+        packet.append("GM|").append(this.entryCache.<String>get(MapEntryCache.Section.NPCS, this::buildNpcsGMsPackets));
+        for (Npc npc : this.npcs.values()) {
+            if (npc.getTemplate().getQuest() == null)
                 continue;
-
-            if (!isFirst)
+            if (packet.length() > 3)
                 packet.append("|");
+            packet.append(npc.parse(false, p));
+        }
+        return packet.length() == 3 ? "" : packet.toString();
+    }
 
-            packet.append(GM);
-            isFirst = false;
+    private String buildNpcsGMsPackets() {
+        StringBuilder packet = new StringBuilder();
+        for (Npc npc : this.npcs.values()) {
+            if (npc.getTemplate().getQuest() != null)
+                continue;
+            if (packet.length() > 0)
+                packet.append("|");
+            packet.append(npc.parse(false, null));
         }
         return packet.toString();
     }
 
+    public String getMerchantsGMPacket() {
+        return this.entryCache.get(MapEntryCache.Section.MERCHANTS, this::buildMerchantsGMPacket);
+    }
+
+    private String buildMerchantsGMPacket() {
+        Collection<Integer> sellers = World.world.getSeller(this.id);
+        if (sellers == null)
+            return "";
+
+        StringBuilder packet = new StringBuilder();
+        packet.append("GM|");
+        for (Integer id : new ArrayList<>(sellers)) {
+            Player player = World.world.getPlayer(id);
+            if (player != null && !player.isOnline() && player.isShowSeller())
+                packet.append("~").append(player.parseToMerchant()).append("|");
+        }
+        return packet.length() < 5 ? "" : packet.toString();
+    }
+
     public String getObjectsGDsPackets() {
+        return this.entryCache.get(MapEntryCache.Section.OBJECTS, this::buildObjectsGDsPackets);
+    }
+
+    private String buildObjectsGDsPackets() {
         StringBuilder packet = new StringBuilder("GDF");
-        this.cases.stream().filter(gameCase -> gameCase.getObject() != null)
+        this.getCases().stream().filter(gameCase -> gameCase.getObject() != null)
                 .forEach(gameCase -> packet.append("|").append(gameCase.getId()).append(";").append(gameCase.getObject().getState())
                         .append(";").append((gameCase.getObject().isInteractive() ? "1" : "0")));
         return packet.toString();
     }
 
+    /**
+     * Identifiants des templates d'objets interactifs présents sur la carte, dans l'ordre des cellules.
+     * Les cellules ne changent pas après le chargement : l'ensemble est calculé une seule fois.
+     */
+    public Set<Integer> getInteractiveTemplates() {
+        Set<Integer> templates = this.interactiveTemplates;
+        if (templates == null) {
+            templates = new LinkedHashSet<>();
+            for (GameCase gameCase : this.getCases())
+                if (gameCase.getObject() != null && gameCase.getObject().getTemplate() != null)
+                    templates.add(gameCase.getObject().getTemplate().getId());
+            this.interactiveTemplates = templates = Collections.unmodifiableSet(templates);
+        }
+        return templates;
+    }
+
     
     //v2.7 - Tactical mode memory
     //v2.8 - Better follower system
@@ -1155,6 +1457,7 @@ public class GameMap {
         
         int id = getFightID();
         this.mobGroups.remove(group.getId());
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
         perso.setOldMap(perso.getCurMap().getId());
         perso.setOldCell(perso.getCurCell().getId());
         Fight f = new Fight(id, this, perso, group);
@@ -1223,6 +1526,7 @@ public class GameMap {
         
         
         this.mobGroups.remove(group.getId());
+        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
         Fight fight = new Fight(id, this, perso, group);
         this.fights.add(fight);
         SocketManager.GAME_SEND_MAP_FIGHT_COUNT_TO_MAP(this);
@@ -1364,7 +1668,7 @@ public class GameMap {
     public int getRandomFreeCellId() {
         ArrayList<Integer> freecell = new ArrayList<>();
 
-        for (GameCase entry : cases) {
+        for (GameCase entry : this.getCases()) {
             if (entry == null)
                 continue;
             if (!entry.isWalkable(true))
@@ -1561,6 +1865,7 @@ public class GameMap {
                         if (pathstr == null)
                             return;
                         group.setCellId(nextCell.getId());
+                        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
                         for (Player z : getPlayers())
                             SocketManager.GAME_SEND_GA_PACKET(z.getGameClient(), "0", "1", group.getId()
                                     + "", pathstr);
@@ -1585,6 +1890,7 @@ public class GameMap {
                         if (pathstr == null)
                             return;
                         group.setCellId(cell);
+                        this.entryCache.invalidate(MapEntryCache.Section.MOBS);
                         for (Player z : getPlayers())
                             SocketManager.GAME_SEND_GA_PACKET(z.getGameClient(), "0", "1", group.getId() + "", pathstr);
                     }
@@ -1607,6 +1913,7 @@ public class GameMap {
                     if (pathstr == null)
                         return;
                     group.setCellId(cell);
+                    this.entryCache.invalidate(MapEntryCache.Section.MOBS);
                     for (Player z : getPlayers())
                         SocketManager.GAME_SEND_GA_PACKET(z.getGameClient(), "0", "1", group.getId()
                                 + "", pathstr);
@@ -1621,6 +1928,32 @@ public class GameMap {
     }
 
     public String getObjects() {
+        return this.entryCache.get(MapEntryCache.Section.PARK_OBJECTS, this::buildObjects);
+    }
+
+    /** Paquet Rp de l'enclos de la carte, vide s'il n'y en a pas. */
+    public String getMountParkPacket() {
+        return this.entryCache.get(MapEntryCache.Section.PARK, this::buildMountParkPacket);
+    }
+
+    private String buildMountParkPacket() {
+        MountPark park = this.mountPark;
+        if (park == null)
+            return "";
+        StringBuilder packet = new StringBuilder();
+        packet.append("Rp").append(park.getOwner()).append(";").append(park.getPrice()).append(";").append(park.getSize()).append(";").append(park.getMaxObject()).append(";");
+
+        Guild G = park.getGuild();
+        //Si une guilde est definie
+        if (G != null) {
+            packet.append(G.getName()).append(";").append(G.getEmblem());
+        } else {
+            packet.append(";");
+        }
+        return packet.toString();
+    }
+
+    private String buildObjects() {
         if (this.mountPark == null || this.mountPark.getObject().size() == 0)
             return "";
         String packets = "GDO+";
@@ -1683,44 +2016,51 @@ public class GameMap {
         if(this.mountPark == null || this.mountPark.getListOfRaising().size() == 0)
             return "";
 
-        ArrayList<Mount> mounts = new ArrayList<>();
-
-        for(Integer id : this.mountPark.getListOfRaising()) {
-            Mount mount = World.world.getMountById(id);
-
-            if(mount != null)
-                if(this.getPlayer(mount.getOwner()) != null || this.mountPark.getGuild() != null)
-                    mounts.add(mount);
-        }
-
         if (ok)
             for(Player target : this.getPlayers())
                 SocketManager.GAME_SEND_GM_MOUNT(target.getGameClient(), this, false);
 
-        return this.getGMOfMount(mounts);
-    }
+        // Hors enclos de guilde, une monture n'est visible que si son propriétaire est sur la carte
+        Set<Integer> owners = null;
+        if (this.mountPark.getGuild() == null) {
+            owners = new HashSet<>();
+            for (Player player : this.getPlayers())
+                owners.add(player.getId());
+        }
 
-    public String getGMOfMount(ArrayList<Mount> mounts) {
-        if(this.mountPark == null || this.mountPark.getListOfRaising().size() == 0)
-            return "";
         StringBuilder packets = new StringBuilder();
         packets.append("GM|+");
         boolean first = true;
-        for(Mount mount : mounts) {
-            String GM = mount.parseToGM();
-            if(GM == null || GM.equals(""))
+        for(World.Couple<Integer, String> mount : this.entryCache.<List<World.Couple<Integer, String>>>get(MapEntryCache.Section.MOUNTS, this::buildMountsGM)) {
+            if(owners != null && !owners.contains(mount.first))
                 continue;
             if(!first)
                 packets.append("|+");
-            packets.append(GM);
+            packets.append(mount.second);
             first = false;
         }
 
         return packets.toString();
     }
 
+    /** GM de chaque monture en élevage, avec l'identifiant de son propriétaire. */
+    private List<World.Couple<Integer, String>> buildMountsGM() {
+        List<World.Couple<Integer, String>> mounts = new ArrayList<>();
+        if(this.mountPark == null)
+            return mounts;
+        for(Integer id : this.mountPark.getListOfRaising()) {
+            Mount mount = World.world.getMountById(id);
+            if(mount == null)
+                continue;
+            String GM = mount.parseToGM();
+            if(GM != null && !GM.equals(""))
+                mounts.add(new World.Couple<>(mount.getOwner(), GM));
+        }
+        return mounts;
+    }
+
     public Player getPlayer(int id) {
-        for(GameCase cell : cases)
+        for(GameCase cell : this.peekCases())
             for(Player player : cell.getPlayers())
                 if(player != null)
                     if(player.getId() == id)
@@ -1734,6 +2074,8 @@ public class GameMap {
             return;
         synchronized (cell) {
             GameObject obj = cell.getDroppedItem(true);
+            if (obj != null)
+                this.entryCache.invalidate(MapEntryCache.Section.FLOOR);
             if (obj != null && !Main.mapAsBlocked) {
                 if (Logging.USE_LOG)
                     Logging.getInstance().write("Object", "GetInOnTheFloor : " + player.getName() + " a ramassé [" + obj.getTemplate().getId() + "@" + obj.getGuid() + ";" + obj.getQuantity() + "]");
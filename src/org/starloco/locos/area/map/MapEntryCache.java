@@ -0,0 +1,75 @@
+package org.starloco.locos.area.map;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache des paquets envoyés à l'entrée d'une carte, découpé par section.
+ * Chaque section porte une version incrémentée par les mutations qui la concernent :
+ * un paquet n'est reconstruit que si la version a changé depuis sa dernière construction.
+ */
+public class MapEntryCache {
+
+    public enum Section {
+        MOBS, OBJECTS, MERCHANTS, NPCS, COLLECTORS, PRISMS, FLOOR, PARK, PARK_OBJECTS, MOUNTS
+    }
+
+    private final static AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+    private final static AtomicLong bytes = new AtomicLong(), entries = new AtomicLong();
+
+    private final int[] versions = new int[Section.values().length];
+    private final int[] builtVersions = new int[Section.values().length];
+    private final Object[] packets = new Object[Section.values().length];
+
+    public synchronized void invalidate(Section section) {
+        this.versions[section.ordinal()]++;
+    }
+
+    /** Paquet de la section, ou données précalculées quand une partie dépend du joueur qui entre (PNJ, montures). */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Section section, Supplier<T> builder) {
+        int index = section.ordinal(), version;
+
+        synchronized (this) {
+            version = this.versions[index];
+            if (this.packets[index] != null && this.builtVersions[index] == version) {
+                hits.incrementAndGet();
+                return (T) this.packets[index];
+            }
+        }
+
+        // Construit hors verrou : une mutation concurrente incrémente la version et forcera la prochaine reconstruction
+        T packet = builder.get();
+        misses.incrementAndGet();
+        if (packet instanceof String)
+            bytes.addAndGet(((String) packet).length());
+
+        synchronized (this) {
+            if (this.versions[index] == version) {
+                this.packets[index] = packet;
+                this.builtVersions[index] = version;
+            }
+        }
+        return packet;
+    }
+
+    public static void onEntry() {
+        entries.incrementAndGet();
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static long getEntries() {
+        return entries.get();
+    }
+
+    public static long getBytes() {
+        return bytes.get();
+    }
+}
@@ -9,6 +9,7 @@ import org.starloco.locos.kernel.Constant;
 import org.starloco.locos.other.Guild;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.Map.Entry;
 import java.util.TreeMap;
 
@@ -26,6 +27,9 @@ public class House {
     private int houseCellId;
     //Droits de chaques maisons
     private Map<Integer, Boolean> haveRight = new TreeMap<>();
+    //Paquet public (id, propriétaire, vente), reconstruit après une vente, un changement de propriétaire ou de pseudo
+    private volatile String packet;
+    private String packetPseudo;
 
     public House(int id, short mapId, int cellId, int houseMapId, int houseCellId) {
         this.id = id;
@@ -36,49 +40,33 @@ public class House {
     }
 
     public static House getHouseIdByCoord(int map_id, int cell_id) {
-        for (Entry<Integer, House> house : World.world.getHouses().entrySet())
-            if (house.getValue().getMapId() == map_id
-                    && house.getValue().getCellId() == cell_id)
-                return house.getValue();
+        for (House house : World.world.getHousesByMap((short) map_id))
+            if (house.getCellId() == cell_id)
+                return house;
         return null;
     }
 
     public static void load(Player player, int newMapID) {
-        World.world.getHouses().entrySet().stream().filter(house -> house.getValue().getMapId() == newMapID).forEach(house -> {
-            StringBuilder packet = new StringBuilder();
-            packet.append("P").append(house.getValue().getId()).append("|");
-            if (house.getValue().getOwnerId() > 0) {
-                Account C = World.world.getAccount(house.getValue().getOwnerId());
-                if (C == null)//Ne devrait pas arriver
-                    packet.append("undefined;");
-                else
-                    packet.append(World.world.getAccount(house.getValue().getOwnerId()).getPseudo()).append(";");
-            } else {
-                packet.append(";");
-            }
+        for (House house : World.world.getHousesByMap((short) newMapID)) {
+            StringBuilder packet = new StringBuilder(house.getPacket());
 
-            if (house.getValue().getSale() > 0)//Si prix > 0
-                packet.append("1");//Achetable
-            else
-                packet.append("0");//Non achetable
-
-            if (house.getValue().getGuildId() > 0) //Maison de guilde
+            if (house.getGuildId() > 0) //Maison de guilde
             {
-                Guild G = World.world.getGuild(house.getValue().getGuildId());
+                Guild G = World.world.getGuild(house.getGuildId());
                 if (G != null) {
                     String Gname = G.getName();
                     String Gemblem = G.getEmblem();
                     if (G.getMembers().size() < 10 && G.getId() > 2)//Ce n'est plus une maison de guilde
                     {
-                        Database.getDynamics().getHouseData().updateGuild(house.getValue(), 0, 0);
+                        Database.getDynamics().getHouseData().updateGuild(house, 0, 0);
                     } else {
                         //Affiche le blason pour les membre de guilde OU Affiche le blason pour les non membre de guilde
                         if (player.get_guild() != null
-                                && player.get_guild().getId() == house.getValue().getGuildId()
-                                && house.getValue().canDo(Constant.H_GBLASON))//meme guilde
+                                && player.get_guild().getId() == house.getGuildId()
+                                && house.canDo(Constant.H_GBLASON))//meme guilde
                         {
                             packet.append(";").append(Gname).append(";").append(Gemblem);
-                        } else if (house.getValue().canDo(Constant.H_OBLASON))//Pas de guilde/guilde-différente
+                        } else if (house.canDo(Constant.H_OBLASON))//Pas de guilde/guilde-différente
                         {
                             packet.append(";").append(Gname).append(";").append(Gemblem);
                         }
@@ -87,18 +75,45 @@ public class House {
             }
             SocketManager.GAME_SEND_hOUSE(player, packet.toString());
 
-            if (house.getValue().getOwnerId() == player.getAccID()) {
+            if (house.getOwnerId() == player.getAccID()) {
                 StringBuilder packet1 = new StringBuilder();
-                packet1.append("L+|").append(house.getValue().getId()).append(";").append(house.getValue().getAccess()).append(";");
+                packet1.append("L+|").append(house.getId()).append(";").append(house.getAccess()).append(";");
 
-                if (house.getValue().getSale() <= 0) {
-                    packet1.append("0;").append(house.getValue().getSale());
-                } else if (house.getValue().getSale() > 0) {
-                    packet1.append("1;").append(house.getValue().getSale());
+                if (house.getSale() <= 0) {
+                    packet1.append("0;").append(house.getSale());
+                } else if (house.getSale() > 0) {
+                    packet1.append("1;").append(house.getSale());
                 }
                 SocketManager.GAME_SEND_hOUSE(player, packet1.toString());
             }
-        });
+        }
+    }
+
+    private synchronized String getPacket() {
+        String pseudo = null;
+        if (this.ownerId > 0) {
+            Account C = World.world.getAccount(this.ownerId);
+            if (C == null)//Ne devrait pas arriver : compte pas encore chargé, rien n'est gardé
+                return "P" + this.id + "|undefined;" + (this.sale > 0 ? "1" : "0");
+            pseudo = C.getPseudo();
+        }
+
+        String packet = this.packet;
+        if (packet == null || !Objects.equals(pseudo, this.packetPseudo)) {
+            StringBuilder builder = new StringBuilder();
+            builder.append("P").append(this.id).append("|");
+            if (pseudo != null)
+                builder.append(pseudo);
+            builder.append(";");
+
+            if (this.sale > 0)//Si prix > 0
+                builder.append("1");//Achetable
+            else
+                builder.append("0");//Non achetable
+            this.packetPseudo = pseudo;
+            this.packet = packet = builder.toString();
+        }
+        return packet;
     }
 
     public void open(Player P, String packet, boolean isHome)//Ouvrir une maison ;o
@@ -350,6 +365,7 @@ public class House {
 
     public void setOwnerId(int id) {
         this.ownerId = id;
+        this.packet = null;
     }
 
     public int getSale() {
@@ -358,6 +374,7 @@ public class House {
 
     public void setSale(int price) {
         this.sale = price;
+        this.packet = null;
     }
 
     public int getGuildId() {
@@ -13,8 +13,10 @@ import org.starloco.locos.util.TimerWaiter;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -24,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 public class InteractiveDoor {
 
     private static final ArrayList<InteractiveDoor> interactiveDoors = new ArrayList<>();
+    private static final Map<Short, ArrayList<InteractiveDoor>> doorsByMap = new HashMap<>(); // Cartes où la porte change des cellules
 
     private final ArrayList<Short> maps = new ArrayList<>();
     private final Map<Short, ArrayList<Short>> doorsEnable = new HashMap<>();
@@ -66,6 +69,13 @@ public class InteractiveDoor {
 
         this.time = time;
         InteractiveDoor.interactiveDoors.add(this);
+
+        Set<Short> shown = new HashSet<>(this.doorsEnable.keySet());
+        shown.addAll(this.doorsDisable.keySet());
+        shown.addAll(this.cellsEnable.keySet());
+        shown.addAll(this.cellsDisable.keySet());
+        for(short map : shown)
+            InteractiveDoor.doorsByMap.computeIfAbsent(map, key -> new ArrayList<>()).add(this);
     }
 
     private void stock(Map<Short, ArrayList<Short>> arrayListMap, String value) {
@@ -92,8 +102,12 @@ public class InteractiveDoor {
         return false;
     }
 
+    /** À l'entrée sur une carte : seules les portes qui y changent des cellules sont parcourues. */
     public static void show(Player player) {
-        InteractiveDoor.interactiveDoors.stream().filter(interactiveDoor -> interactiveDoor.state).forEach(interactiveDoor -> {
+        if(player.getCurMap() == null) return;
+        ArrayList<InteractiveDoor> doors = InteractiveDoor.doorsByMap.get(player.getCurMap().getId());
+        if(doors == null) return;
+        doors.stream().filter(interactiveDoor -> interactiveDoor.state).forEach(interactiveDoor -> {
             interactiveDoor.setState(interactiveDoor.cellsEnable, true, false, player);
             interactiveDoor.setState(interactiveDoor.cellsDisable, false, false, player);
             interactiveDoor.setState(interactiveDoor.doorsEnable, true, true, player);
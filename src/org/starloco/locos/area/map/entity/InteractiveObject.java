@@ -10,6 +10,7 @@ import org.starloco.locos.job.JobConstant;
 import org.starloco.locos.kernel.Constant;
 import org.starloco.locos.area.map.GameCase;
 import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.area.map.MapEntryCache;
 import org.starloco.locos.object.GameObject;
 import org.starloco.locos.other.Dopeul;
 import org.starloco.locos.quest.Quest;
@@ -89,7 +90,7 @@ public class InteractiveObject {
                 if (player.hasItemTemplate(10207, 1)) {
                     String stats, statsReplace = "";
                     GameObject object = player.getItemTemplate(10207);
-                    stats = object.getTxtStat().get(Constant.STATS_NAME_DJ);
+                    stats = object.viewTxtStat().get(Constant.STATS_NAME_DJ);
                     try {
                         for (String i : stats.split(",")) {
                             if (Dopeul.parseConditionTrousseau(i.replace(" ", ""), -1, player.getCurMap().getId())) {
@@ -360,6 +361,7 @@ public class InteractiveObject {
 
     public void setState(int state) {
         this.state = state;
+        this.invalidate();
     }
 
     public boolean isInteractive() {
@@ -368,6 +370,11 @@ public class InteractiveObject {
 
     public void setInteractive(boolean interactive) {
         this.interactive = interactive;
+        this.invalidate();
+    }
+
+    private void invalidate() {
+        if (this.map != null) this.map.invalidateEntryCache(MapEntryCache.Section.OBJECTS);
     }
 
     public int getUseDuration() {
@@ -401,6 +408,7 @@ public class InteractiveObject {
         this.interactive = true;
         SocketManager.GAME_SEND_GDF_PACKET_TO_MAP(this.map, this.cell);
         this.state = JobConstant.IOBJECT_STATE_FULL;
+        this.invalidate();
     }
 
     public void desactive() {
@@ -4,6 +4,7 @@ import org.starloco.locos.common.Formulas;
 import org.starloco.locos.entity.mount.Mount;
 import org.starloco.locos.game.world.World;
 import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.area.map.MapEntryCache;
 import org.starloco.locos.other.Guild;
 
 import java.util.ArrayList;
@@ -109,6 +110,7 @@ public class MountPark {
             }catch(Exception ignored) {
             }
         }
+        this.invalidate(MapEntryCache.Section.PARK, MapEntryCache.Section.PARK_OBJECTS, MapEntryCache.Section.MOUNTS);
     }
 
     public void setInfos(GameMap map, int cellid, int size, int placeOfSpawn, int door, String cellOfObject, int maxObject) {
@@ -126,6 +128,7 @@ public class MountPark {
                     this.cellOfObject.add(cellId);
             }
         }
+        this.invalidate(MapEntryCache.Section.PARK);
     }
 
     public void setDoor(int id) {
@@ -241,6 +244,7 @@ public class MountPark {
 
     public void setOwner(int owner) {
         this.owner = owner;
+        this.invalidate(MapEntryCache.Section.PARK);
     }
 
     public int getSize() {
@@ -253,6 +257,7 @@ public class MountPark {
 
     public void setGuild(Guild guild) {
         this.guild = guild;
+        this.invalidate(MapEntryCache.Section.PARK);
     }
 
     public GameMap getMap() {
@@ -269,6 +274,7 @@ public class MountPark {
 
     public void setPrice(int price) {
         this.price = price;
+        this.invalidate(MapEntryCache.Section.PARK);
     }
 
     public int getPlaceOfSpawn() {
@@ -351,6 +357,7 @@ public class MountPark {
         this.cellAndObject.put(cell, object);
         this.breedingObject.put(cell, other);
         this.objDurab.put(cell, inDurab);
+        this.invalidate(MapEntryCache.Section.PARK_OBJECTS);
     }
 
     public boolean delObject(int cell) {
@@ -359,9 +366,18 @@ public class MountPark {
         this.objDurab.remove(cell);
         this.breedingObject.remove(cell);
         this.cellAndObject.remove(cell);
+        this.invalidate(MapEntryCache.Section.PARK_OBJECTS);
         return true;
     }
 
+    /** Durabilité restante de l'objet posé sur la cellule. */
+    public void setDurability(int cell, int durabilityMax, int durability) {
+        java.util.Map<Integer, Integer> inDurab = new HashMap<Integer, Integer>();
+        inDurab.put(durabilityMax, durability);
+        this.objDurab.put(cell, inDurab);
+        this.invalidate(MapEntryCache.Section.PARK_OBJECTS);
+    }
+
     public java.util.Map<Integer, java.util.Map<Integer, Integer>> getObjDurab() {
         return this.objDurab;
     }
@@ -372,11 +388,19 @@ public class MountPark {
 
     public void addRaising(int id) {
         this.raising.add(id);
+        this.invalidate(MapEntryCache.Section.MOUNTS);
     }
 
     public void delRaising(int id) {
         if(this.raising.contains(id))
             this.raising.remove(this.raising.indexOf(id));
+        this.invalidate(MapEntryCache.Section.MOUNTS);
+    }
+
+    private void invalidate(MapEntryCache.Section... sections) {
+        if(this.map != null)
+            for(MapEntryCache.Section section : sections)
+                this.map.invalidateEntryCache(section);
     }
 
     public CopyOnWriteArrayList<Integer> getListOfRaising() {
@@ -387,13 +411,14 @@ public class MountPark {
         return this.etable;
     }
 
-    public synchronized void startMoveMounts() {
+    /** Un pas des montures en élevage ; rien n'est envoyé si personne n'est sur la carte. */
+    public synchronized void startMoveMounts(boolean observed) {
         if(this.raising.size() > 0) {
             char[] directions = { 'b', 'd', 'f', 'h' };
             for(Integer id : this.raising) {
                 Mount mount = World.world.getMountById(id);
                 if(mount != null) {
-                    mount.moveMountsAuto(directions[Formulas.getRandomValue(0, 3)], 3, false);
+                    mount.moveMountsAuto(directions[Formulas.getRandomValue(0, 3)], 3, false, observed);
                 }
             }
         }
@@ -34,7 +34,7 @@ public class Account {
     private List<GameObject> bank = new ArrayList<>();
     private List<Integer> friends = new ArrayList<>();
     private List<Integer> enemys = new ArrayList<>();
-    private Map<Integer, ArrayList<HdvEntry>> hdvsItems;
+    private Map<Integer, List<HdvEntry>> hdvsItems;
     private final Map<Integer, Player> players = new HashMap<>();
     private boolean vip;
     private String switchPacketKey;
@@ -470,7 +470,7 @@ public class Account {
 
         HdvEntry entry = null;
         try {
-            ArrayList<HdvEntry> entries = this.hdvsItems.get(hdvID);
+            List<HdvEntry> entries = this.hdvsItems.get(hdvID);
             if (entries == null || entries.isEmpty())
                 return false;
             for (HdvEntry tempEntry : entries) {//Boucle dans la liste d'entry de l'HDV pour trouver un entry avec le meme cheapestID que spécifié
@@ -503,16 +503,13 @@ public class Account {
     }
 
     public HdvEntry[] getHdvEntries(int id) {
-        if (this.hdvsItems.get(id) == null) return new HdvEntry[1];
-        HdvEntry[] entries = new HdvEntry[this.hdvsItems.get(id).size()];
-
-        for (int i = 0; i < this.hdvsItems.get(id).size(); i++)
-            entries[i] = this.hdvsItems.get(id).get(i);
-        return entries;
+        List<HdvEntry> entries = this.hdvsItems.get(id);
+        if (entries == null) return new HdvEntry[1];
+        return entries.toArray(new HdvEntry[0]);
     }
 
     public int countHdvEntries(int id) {
-        ArrayList<HdvEntry> hdvEntry = this.hdvsItems.get(id);
+        List<HdvEntry> hdvEntry = this.hdvsItems.get(id);
         return hdvEntry == null ? 0 : hdvEntry.size();
     }
 
@@ -27,10 +27,12 @@ import org.starloco.locos.util.TimerWaiter;
 import org.starloco.locos.game.world.World;
 import org.starloco.locos.area.map.GameCase;
 import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.area.map.MapEntryCache;
 import org.starloco.locos.object.GameObject;
 import org.starloco.locos.object.ObjectSet;
 import org.starloco.locos.object.ObjectTemplate;
 import org.starloco.locos.quest.Quest;
+import org.starloco.locos.quest.Quest_Etape;
 import org.starloco.locos.entity.Collector;
 import org.starloco.locos.entity.Prism;
 import org.starloco.locos.entity.monster.Monster;
@@ -218,8 +220,10 @@ public class Player {
     private boolean isInvisible = false;
 
     private Map<Integer, Quest.QuestPlayer> questList = new HashMap<>();
+    private Map<Integer, List<World.Couple<Quest.QuestPlayer, Quest_Etape>>> questEtapesByMonster = null; //MonsterTemplateId, Etapes en cours
     private boolean changeName;
     public boolean afterFight = false;
+    private int conquestVersion = -1; //Version de l'état de conquête déjà envoyée au client
 	//Tactical mode memory
 	private boolean tacticalMode=false;
 	//private boolean worldMarket=false;
@@ -906,7 +910,7 @@ public class Player {
         GameObject obj = getObjetByPos(Constant.ITEM_POS_BONBON);
         if (obj != null) {
             obj.getStats().addOneStat(Constant.STATS_TURN, -1);
-            if (obj.getStats().getEffect(Constant.STATS_TURN) <= 0) {
+            if (obj.viewStats().getEffect(Constant.STATS_TURN) <= 0) {
                 SocketManager.GAME_SEND_REMOVE_ITEM_PACKET(this, obj.getGuid());
                 this.deleteItem(obj.getGuid());
                 this.unEquipItem(Constant.ITEM_POS_BONBON);
@@ -918,7 +922,7 @@ public class Player {
         obj = getObjetByPos(Constant.ITEM_POS_PNJ_SUIVEUR);
         if (obj != null) {
             obj.getStats().addOneStat(Constant.STATS_TURN, -1);
-            if (obj.getStats().getEffect(Constant.STATS_TURN) <= 0) {
+            if (obj.viewStats().getEffect(Constant.STATS_TURN) <= 0) {
                 SocketManager.GAME_SEND_REMOVE_ITEM_PACKET(this, obj.getGuid());
                 this.deleteItem(obj.getGuid());
                 this.unEquipItem(Constant.ITEM_POS_PNJ_SUIVEUR);
@@ -930,7 +934,7 @@ public class Player {
         obj = getObjetByPos(Constant.ITEM_POS_BENEDICTION);
         if (obj != null) {
             obj.getStats().addOneStat(Constant.STATS_TURN, -1);
-            if (obj.getStats().getEffect(Constant.STATS_TURN) <= 0) {
+            if (obj.viewStats().getEffect(Constant.STATS_TURN) <= 0) {
                 SocketManager.GAME_SEND_REMOVE_ITEM_PACKET(this, obj.getGuid());
                 this.deleteItem(obj.getGuid());
                 this.unEquipItem(Constant.ITEM_POS_BENEDICTION);
@@ -942,7 +946,7 @@ public class Player {
         obj = getObjetByPos(Constant.ITEM_POS_MALEDICTION);
         if (obj != null) {
             obj.getStats().addOneStat(Constant.STATS_TURN, -1);
-            if (obj.getStats().getEffect(Constant.STATS_TURN) <= 0) {
+            if (obj.viewStats().getEffect(Constant.STATS_TURN) <= 0) {
                 gfxId = getClasse() * 10 + getSexe();
                 if (this.getFight() == null)
                     SocketManager.GAME_SEND_ALTER_GM_PACKET(getCurMap(), this);
@@ -964,7 +968,7 @@ public class Player {
         obj = getObjetByPos(Constant.ITEM_POS_ROLEPLAY_BUFF);
         if (obj != null) {
             obj.getStats().addOneStat(Constant.STATS_TURN, -1);
-            if (obj.getStats().getEffect(Constant.STATS_TURN) <= 0) {
+            if (obj.viewStats().getEffect(Constant.STATS_TURN) <= 0) {
                 gfxId = getClasse() * 10 + getSexe();
                 SocketManager.GAME_SEND_ALTER_GM_PACKET(getCurMap(), this);
                 SocketManager.GAME_SEND_REMOVE_ITEM_PACKET(this, obj.getGuid());
@@ -1035,6 +1039,8 @@ public class Player {
 
     public void setOnline(boolean isOnline) {
         this.isOnline = isOnline;
+        if (this.curMap != null && this._seeSeller)
+            this.curMap.invalidateEntryCache(MapEntryCache.Section.MERCHANTS);
     }
 
     public boolean isOnline() {
@@ -1275,6 +1281,8 @@ public class Player {
 
     public void setShowSeller(boolean is) {
         _seeSeller = is;
+        if (this.curMap != null)
+            this.curMap.invalidateEntryCache(MapEntryCache.Section.MERCHANTS);
     }
 
     public String get_canaux() {
@@ -1282,7 +1290,13 @@ public class Player {
     }
 
     public GameCase getCurCell() {
-        return curCell;
+        GameCase cell = this.curCell;
+        if (cell != null && cell.isReleased() && this.curMap != null) { // Carte libérée pendant l'absence du joueur
+            GameCase current = this.curMap.getCase(cell.getId());
+            if (current != null)
+                this.curCell = cell = current;
+        }
+        return cell;
     }
 
     public void setCurCell(GameCase cell) {
@@ -1626,7 +1640,7 @@ public class Player {
 
         if (this.getObjetByPos(Constant.ITEM_POS_ARME) != null) {
             if (Constant.isIncarnationWeapon(this.getObjetByPos(Constant.ITEM_POS_ARME).getTemplate().getId()))
-                for (int i = 0; i <= this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.STATS_NIVEAU); i++)
+                for (int i = 0; i <= this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.STATS_NIVEAU); i++)
                     if (i == 10 || i == 20 || i == 30 || i == 40 || i == 50)
                         boostSpellIncarnation();
 
@@ -1911,6 +1925,7 @@ public class Player {
             _guildMember.setLastCo(annee + "~" + mois + "~" + jour + "~"
                     + heure + "~" + min);
         //Affichage des prismes
+        this.conquestVersion = -1;
         World.world.showPrismes(this);
         //Actualisation dans la DB
         Database.getStatics().getAccountData().updateLastConnection(account);
@@ -1931,7 +1946,7 @@ public class Player {
                     continue;
                 p.updatePets(this, Integer.parseInt(pets.getGap().split(",")[1]));
             } else if (object.getTemplate().getId() == 10207) {
-                String date = object.getTxtStat().get(Constant.STATS_DATE);
+                String date = object.viewTxtStat().get(Constant.STATS_DATE);
                 if (date != null) {
                     if (date.contains("#")) {
                         date = date.split("#")[3];
@@ -2175,7 +2190,7 @@ public class Player {
         if (object != null) {
             object.parseStatsString();
 
-            Integer obvi = object.getStats().getMap().get(970);
+            Integer obvi = object.viewStats().getMap().get(970);
             if (obvi == null) {
                 str.append(Integer.toHexString(object.getOATemplateApparence()));
             } else {
@@ -2190,7 +2205,7 @@ public class Player {
         if (object != null) {
             object.parseStatsString();
 
-            Integer obvi = object.getStats().getMap().get(970);
+            Integer obvi = object.viewStats().getMap().get(970);
             if (obvi == null) {
                 str.append(Integer.toHexString(object.getOATemplateApparence()));
             } else {
@@ -2299,12 +2314,12 @@ public class Player {
         } else {
             if (this.getObjetByPos(Constant.ITEM_POS_ARME) != null)
                 if (Constant.isIncarnationWeapon(this.getObjetByPos(Constant.ITEM_POS_ARME).getTemplate().getId()))
-                    if (this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.ERR_STATS_XP) != null)
-                        return this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.ERR_STATS_XP)
+                    if (this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.ERR_STATS_XP) != null)
+                        return this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.ERR_STATS_XP)
                                 + c
-                                + World.world.getBanditsXpMin(this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.STATS_NIVEAU))
+                                + World.world.getBanditsXpMin(this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.STATS_NIVEAU))
                                 + c
-                                + World.world.getBanditsXpMax(this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.STATS_NIVEAU));
+                                + World.world.getBanditsXpMax(this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.STATS_NIVEAU));
         }
         return 1 + c + 1 + c + 1;
     }
@@ -2329,7 +2344,7 @@ public class Player {
             /*if (position >= Constant.CONSO_POS_1 && position <= Constant.CONSO_POS_14)
                 continue;*/
 
-            stats = Stats.cumulStat(stats, gameObject.getStats());
+            stats = Stats.cumulStat(stats, gameObject.viewStats());
             int id = gameObject.getTemplate().getPanoId();
 
             if (id > 0 && !itemSetApplied.contains(id)) {
@@ -2351,7 +2366,7 @@ public class Player {
         Stats stats = new Stats(false, null);
         if (this.fight != null)
             if (this.fight.getFighterByPerso(this) != null)
-                for (SpellEffect entry : this.fight.getFighterByPerso(this).getFightBuff())
+                for (SpellEffect entry : this.fight.getFighterByPerso(this).viewFightBuff())
                     stats.addOneStat(entry.getEffectID(), entry.getValue());
 
         for (Entry<Integer, SpellEffect> entry : buffs.entrySet())
@@ -2838,7 +2853,7 @@ public class Player {
     }
 
     public boolean levelUpIncarnations(boolean send, boolean addXp) {
-        int level = this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.STATS_NIVEAU);
+        int level = this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.STATS_NIVEAU);
 
         if (level == 50)
             return false;
@@ -2871,24 +2886,24 @@ public class Player {
 
     public boolean addXpIncarnations(long winxp) {
         boolean up = false;
-        int level = this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.STATS_NIVEAU);
-        long exp = this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.ERR_STATS_XP);
+        int level = this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.STATS_NIVEAU);
+        long exp = this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.ERR_STATS_XP);
         exp += winxp;
 
         if (Constant.isBanditsWeapon(this.getObjetByPos(Constant.ITEM_POS_ARME).getTemplate().getId())) {
             while (exp >= World.world.getBanditsXpMax(level) && level < 50) {
                 up = levelUpIncarnations(true, false);
-                level = this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.STATS_NIVEAU);
+                level = this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.STATS_NIVEAU);
             }
         } else if (Constant.isTourmenteurWeapon(this.getObjetByPos(Constant.ITEM_POS_ARME).getTemplate().getId())) {
             while (exp >= World.world.getTourmenteursXpMax(level) && level < 50) {
                 up = levelUpIncarnations(true, false);
-                level = this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.STATS_NIVEAU);
+                level = this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.STATS_NIVEAU);
             }
         }
         if (isOnline)
             SocketManager.GAME_SEND_STATS_PACKET(this);
-        level = this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().get(Constant.STATS_NIVEAU);
+        level = this.getObjetByPos(Constant.ITEM_POS_ARME).viewSoulStat().get(Constant.STATS_NIVEAU);
         this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().clear();
         this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().put(Constant.STATS_NIVEAU, level);
         this.getObjetByPos(Constant.ITEM_POS_ARME).getSoulStat().put(Constant.ERR_STATS_XP, (int) exp);
@@ -5481,9 +5496,9 @@ public class Player {
             final GameObject obj = getObjetByPos(j);
             final int template = obj.getTemplate().getId();
             
-            if(obj.getSortStats().isEmpty()) continue;
+            if(obj.viewSortStats().isEmpty()) continue;
             
-            for (final String stat : obj.getSortStats()) {
+            for (final String stat : obj.viewSortStats()) {
                 final String[] val = stat.split("#");
                 final int effect = Integer.parseInt(val[0], 16);
                 final int spell = Integer.parseInt(val[1], 16);
@@ -5500,9 +5515,9 @@ public class Player {
             final GameObject obj = getObjetByPos(j);
             final int template = obj.getTemplate().getId();
 
-            if(obj.getSortStats().isEmpty()) continue;
+            if(obj.viewSortStats().isEmpty()) continue;
 
-            for (final String stat : obj.getSortStats()) {
+            for (final String stat : obj.viewSortStats()) {
                 final String[] val = stat.split("#");
                 final int effect = Integer.parseInt(val[0], 16);
                 final int spell = Integer.parseInt(val[1], 16);
@@ -5792,10 +5807,49 @@ public class Player {
 
     public void addQuestPerso(Quest.QuestPlayer qPerso) {
         questList.put(qPerso.getId(), qPerso);
+        this.refreshQuestEtapesByMonster();
     }
 
     public void delQuestPerso(int key) {
         this.questList.remove(key);
+        this.refreshQuestEtapesByMonster();
+    }
+
+    public int getConquestVersion() {
+        return conquestVersion;
+    }
+
+    public void setConquestVersion(int conquestVersion) {
+        this.conquestVersion = conquestVersion;
+    }
+
+    /**
+     * Invalide l'index monstre -> étapes, reconstruit au prochain accès.
+     */
+    public void refreshQuestEtapesByMonster() {
+        this.questEtapesByMonster = null;
+    }
+
+    /**
+     * Etapes de quêtes non validées (type 0 ou 6) portant sur le monstre donné.
+     * Une étape validée entre deux reconstructions reste dans la liste, l'appelant doit la filtrer.
+     */
+    public List<World.Couple<Quest.QuestPlayer, Quest_Etape>> getQuestEtapesByMonster(int monsterId) {
+        Map<Integer, List<World.Couple<Quest.QuestPlayer, Quest_Etape>>> index = this.questEtapesByMonster;
+
+        if (index == null) {
+            index = new HashMap<>();
+            for (Quest.QuestPlayer questPlayer : this.questList.values()) {
+                if (questPlayer == null || questPlayer.getQuest() == null) continue;
+                for (Quest_Etape qEtape : questPlayer.getQuest().getQuestEtapeList()) {
+                    if (qEtape == null || questPlayer.isQuestEtapeIsValidate(qEtape)) continue;
+                    if (qEtape.getType() != 0 && qEtape.getType() != 6) continue;
+                    index.computeIfAbsent(qEtape.getMonsterId(), k -> new ArrayList<>()).add(new World.Couple<>(questPlayer, qEtape));
+                }
+            }
+            this.questEtapesByMonster = index;
+        }
+        return index.getOrDefault(monsterId, Collections.emptyList());
     }
 
     public Map<Integer, Quest.QuestPlayer> getQuestPerso() {
@@ -6042,7 +6096,7 @@ public class Player {
     }
 
     public void UpdateInit(GameObject gameObject) {
-        Stats stats = gameObject.getStats();
+        Stats stats = gameObject.viewStats();
         int intel = stats.hasEffect(Constant.STATS_ADD_INTE) ? stats.getEffect(Constant.STATS_ADD_INTE) : 0;
         int force = stats.hasEffect(Constant.STATS_ADD_FORC) ? stats.getEffect(Constant.STATS_ADD_FORC) : 0;
         int chance = stats.hasEffect(Constant.STATS_ADD_CHAN) ? stats.getEffect(Constant.STATS_ADD_CHAN) : 0;
@@ -20,18 +20,25 @@ import org.starloco.locos.entity.npc.Npc;
 import org.starloco.locos.entity.npc.NpcTemplate;
 import org.starloco.locos.fight.Challenge;
 import org.starloco.locos.fight.Fight;
+import org.starloco.locos.fight.FightMetrics;
 import org.starloco.locos.fight.spells.Spell;
 import org.starloco.locos.game.GameClient;
 import org.starloco.locos.game.GameServer;
+import org.starloco.locos.game.PacketStats;
+import org.starloco.locos.game.filter.IPFilter;
+import org.starloco.locos.game.filter.IPInstance;
+import org.starloco.locos.game.filter.SessionExecutorFilter;
 import org.starloco.locos.game.action.ExchangeAction;
 import org.starloco.locos.game.scheduler.entity.WorldSave;
 import org.starloco.locos.game.world.World;
+import org.starloco.locos.job.JobCraft;
 import org.starloco.locos.job.JobStat;
 import org.starloco.locos.kernel.Config;
 import org.starloco.locos.kernel.Constant;
 import org.starloco.locos.kernel.Main;
 import org.starloco.locos.area.map.GameCase;
 import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.area.map.MapEntryCache;
 import org.starloco.locos.area.map.entity.MountPark;
 import org.starloco.locos.object.GameObject;
 import org.starloco.locos.object.ObjectSet;
@@ -1520,6 +1527,23 @@ public class CommandAdmin extends AdminUser {
             this.getPlayer().thatCell = -1;
             this.sendMessage("Vous avez appliqué le trigger.");
             return;
+        } else if (command.equalsIgnoreCase("PACKETS")) {
+            int limit = 10;
+            try {
+                if (infos.length > 1) limit = Integer.parseInt(infos[1]);
+            } catch (NumberFormatException ignored) {}
+
+            String message = "\n<u><b>Slowest packets (by total time) :</b></u>\n";
+            for (PacketStats.Stat stat : PacketStats.getSlowest(limit))
+                message += stat + "\n";
+            this.sendMessage(message);
+            return;
+        } else if (command.equalsIgnoreCase("FIGHTTURNS")) {
+            String message = "\n<u><b>Fight turns by fight type :</b></u>\n";
+            for (FightMetrics.Total total : FightMetrics.getTotals())
+                message += total + "\n";
+            this.sendMessage(message);
+            return;
         } else if (command.equalsIgnoreCase("INFOS")) {
             long uptime = System.currentTimeMillis() - Config.getInstance().startTime;
             int day = (int) (uptime / (1000 * 3600 * 24));
@@ -1534,6 +1558,16 @@ public class CommandAdmin extends AdminUser {
             message += "Online players         : " + Main.gameServer.getClients().size() + "\n";
             message += "Unique online players  : " + Main.gameServer.getPlayersNumberByIp() + "\n";
             message += "Online clients         : " + Main.gameServer.getClients().size() + "\n";
+            message += "Craft sessions         : " + JobCraft.getSessions() + "\n";
+            message += "Crafts done            : " + JobCraft.getCrafts() + " (" + (JobCraft.getCrafts() * 60000 / Math.max(1, System.currentTimeMillis() - Config.getInstance().startTime)) + "/min)\n";
+            message += "Map entry cache        : " + MapEntryCache.getHits() + " hits / " + MapEntryCache.getMisses() + " misses (" + (MapEntryCache.getHits() * 100 / Math.max(1, MapEntryCache.getHits() + MapEntryCache.getMisses())) + "%)\n";
+            message += "Map entry bytes built  : " + (MapEntryCache.getBytes() / Math.max(1, MapEntryCache.getEntries())) + " per map change (" + MapEntryCache.getEntries() + " changes)\n";
+            message += "Shared item profiles   : " + GameObject.getSharedProfiles() + "\n";
+            message += "Hydrated maps          : " + GameMap.getHydratedCount() + " / " + World.world.getMaps().size() + "\n";
+            message += "Session queues         : deepest " + Main.gameServer.getDeepestSessionQueue() + ", " + SessionExecutorFilter.getDropped() + " packets dropped, " + SessionExecutorFilter.getKicked() + " sessions kicked\n";
+            message += "IP filter              : " + IPInstance.size() + " addresses, " + IPFilter.getRejected() + " connections refused, " + IPFilter.getThrottled() + " throttles, " + IPFilter.getKicked() + " kicks\n";
+            message += "Fight cells built      : " + (GameMap.getFightCells() / Math.max(1, GameMap.getFightCopies())) + " per fight (" + GameMap.getFightCopies() + " fights)\n";
+            message += "Fight turns            : " + FightMetrics.getTurns() + ", avg " + (FightMetrics.getAverageCpu() / 1000) + "us cpu\n";
 
 
             int mb = 1024 * 1024;
@@ -758,7 +758,7 @@ public class ExecuteCommandPlayer {
         boolean haveCheckExo = false;
         boolean haveBaseStats = false;
 
-        for(final Integer key : obj.getStats().getMap().keySet())
+        for(final Integer key : obj.viewStats().getMap().keySet())
         {
             if(Integer.toHexString(key).equals(statsToAdd)) alreadyHaveTheExo = true;
             else if(Integer.toHexString(key).equals(statsToCheck)) haveCheckExo = true;
@@ -968,6 +968,7 @@ public class ExecuteCommandPlayer {
         player.getCurMap().getCases().get(315).setWalkable(false);
         SocketManager.GAME_UPDATE_CELL(player.getCurMap(), "315;aaaaaaaaaa801;1");
         SocketManager.GAME_SEND_ACTION_TO_DOOR(player.getCurMap(), 315, false);
+        player.getCurMap().invalidateFightLayout();
         return true;
     }
 
@@ -987,6 +988,7 @@ public class ExecuteCommandPlayer {
         player.getCurMap().getCases().get(315).setWalkable(true);
         SocketManager.GAME_UPDATE_CELL(player.getCurMap(), "315;aaGaaaaaaa801;1");
         SocketManager.GAME_SEND_ACTION_TO_DOOR(player.getCurMap(), 315, true);
+        player.getCurMap().invalidateFightLayout();
         return true;
     }
 
@@ -1135,7 +1137,7 @@ public class ExecuteCommandPlayer {
         }
 
         boolean containNeutre = false;
-        for (final SpellEffect effect : obj.getEffects()) {
+        for (final SpellEffect effect : obj.viewEffects()) {
             if (effect.getEffectID() != 100 && effect.getEffectID() != 95) continue;
             containNeutre = true;
             break;
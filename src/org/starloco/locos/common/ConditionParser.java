@@ -2,7 +2,11 @@ package org.starloco.locos.common;
 
 import com.singularsys.jep.Jep;
 import com.singularsys.jep.JepException;
+import com.singularsys.jep.Variable;
+import com.singularsys.jep.parser.Node;
+import com.singularsys.jep.walkers.TreeAnalyzer;
 import org.starloco.locos.client.Player;
+import org.starloco.locos.client.other.Stats;
 import org.starloco.locos.game.world.World.Couple;
 import org.starloco.locos.job.JobStat;
 import org.starloco.locos.kernel.Constant;
@@ -13,6 +17,8 @@ import org.starloco.locos.quest.Quest;
 import org.starloco.locos.quest.Quest_Etape;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 
 public class ConditionParser {
@@ -24,7 +30,6 @@ public class ConditionParser {
             return false;
         if (perso == null)
             return false;
-        Jep jep = new Jep();
         req = req.replace("&", "&&").replace("=", "==").replace("|", "||").replace("!", "!=").replace("~", "==");
         if (req.contains("Sc"))
             return true;
@@ -66,43 +71,18 @@ public class ConditionParser {
             return haveMetier(req, perso);
 
         try {
-            //Stats stuff compris
-            jep.addVariable("CI", perso.getTotalStats().getEffect(Constant.STATS_ADD_INTE));
-            jep.addVariable("CV", perso.getTotalStats().getEffect(Constant.STATS_ADD_VITA));
-            jep.addVariable("CA", perso.getTotalStats().getEffect(Constant.STATS_ADD_AGIL));
-            jep.addVariable("CW", perso.getTotalStats().getEffect(Constant.STATS_ADD_SAGE));
-            jep.addVariable("CC", perso.getTotalStats().getEffect(Constant.STATS_ADD_CHAN));
-            jep.addVariable("CS", perso.getTotalStats().getEffect(Constant.STATS_ADD_FORC));
-            jep.addVariable("CM", perso.getStats().getEffect(Constant.STATS_ADD_PM));
-            //Stats de bases
-            jep.addVariable("Ci", perso.getStats().getEffect(Constant.STATS_ADD_INTE));
-            jep.addVariable("Cs", perso.getStats().getEffect(Constant.STATS_ADD_FORC));
-            jep.addVariable("Cv", perso.getStats().getEffect(Constant.STATS_ADD_VITA));
-            jep.addVariable("Ca", perso.getStats().getEffect(Constant.STATS_ADD_AGIL));
-            jep.addVariable("Cw", perso.getStats().getEffect(Constant.STATS_ADD_SAGE));
-            jep.addVariable("Cc", perso.getStats().getEffect(Constant.STATS_ADD_CHAN));
-            //Autre
-            jep.addVariable("Ps", perso.get_align());//Alignement
-            jep.addVariable("Pa", perso.getALvl());
-            jep.addVariable("PP", perso.getGrade());//Grade
-            jep.addVariable("PL", perso.getLevel());//Niveau
-            jep.addVariable("PK", perso.getKamas());//Kamas
-            jep.addVariable("PG", perso.getClasse());//Classe
-            jep.addVariable("PS", perso.getSexe());//Sexe
-            jep.addVariable("PZ", 1);//Abonnement
-            jep.addVariable("PX", (perso.getGroupe() != null));//Niveau GM
-            jep.addVariable("PW", perso.getMaxPod());//MaxPod
-            if (perso.getCurMap().getSubArea() != null)
-                jep.addVariable("PB", perso.getCurMap().getSubArea().getId());//SubArea
-            jep.addVariable("PR", (perso.getWife() > 0 ? 1 : 0));//Marié ou pas
-            jep.addVariable("SI", perso.getCurMap().getId());//Mapid
-            jep.addVariable("MiS", perso.getId());//Les pierres d'ames sont lancables uniquement par le lanceur.
-            jep.addVariable("MA", perso.getAlignMap());//Pandala
-            jep.addVariable("PSB", perso.getAccount().getPoints());//Points Boutique
-            jep.addVariable("CF", (perso.getObjetByPos(Constant.ITEM_POS_PNJ_SUIVEUR) == null ? -1 : perso.getObjetByPos(Constant.ITEM_POS_PNJ_SUIVEUR).getTemplate().getId()));//Personnage suiveur
-            jep.addVariable("PRE", perso.getPrestige());
-            jep.parse(req);
-            Object result = jep.evaluate();
+            CompiledConditions compiled = CompiledConditions.local.get();
+            Expression expression = compiled.get(req);
+            Variables variables = new Variables(perso);
+
+            for (Variable variable : expression.variables) {
+                Object value = variables.get(variable.getName());
+                if (value == null) //Variable inconnue ou indisponible, comme un Jep sans valeur
+                    return false;
+                variable.setValue(value);
+            }
+
+            Object result = compiled.jep.evaluate(expression.node);
             boolean ok = false;
 
             if (result != null)
@@ -114,6 +94,94 @@ public class ConditionParser {
         return false;
     }
 
+    /**
+     * Conditions déjà parsées, une table par thread car un Jep n'est pas thread-safe.
+     */
+    private static class CompiledConditions {
+        private final static ThreadLocal<CompiledConditions> local = ThreadLocal.withInitial(CompiledConditions::new);
+
+        private final Jep jep = new Jep();
+        private final Map<String, Expression> expressions = new HashMap<>();
+
+        private Expression get(String req) throws JepException {
+            Expression expression = this.expressions.get(req);
+            if (expression == null) {
+                Node node = this.jep.parse(req);
+                expression = new Expression(node, new TreeAnalyzer(node).getVariables().keySet().toArray(new Variable[0]));
+                this.expressions.put(req, expression);
+            }
+            return expression;
+        }
+    }
+
+    private static class Expression {
+        private final Node node;
+        private final Variable[] variables;
+
+        private Expression(Node node, Variable[] variables) {
+            this.node = node;
+            this.variables = variables;
+        }
+    }
+
+    /**
+     * Valeurs des variables d'une condition, lues sur le joueur uniquement si la condition les utilise.
+     */
+    private static class Variables {
+        private final Player perso;
+        private Stats totalStats;
+
+        private Variables(Player perso) {
+            this.perso = perso;
+        }
+
+        private Stats getTotalStats() {
+            if (this.totalStats == null)
+                this.totalStats = this.perso.getTotalStats();
+            return this.totalStats;
+        }
+
+        private Object get(String name) {
+            switch (name) {
+                //Stats stuff compris
+                case "CI": return (double) getTotalStats().getEffect(Constant.STATS_ADD_INTE);
+                case "CV": return (double) getTotalStats().getEffect(Constant.STATS_ADD_VITA);
+                case "CA": return (double) getTotalStats().getEffect(Constant.STATS_ADD_AGIL);
+                case "CW": return (double) getTotalStats().getEffect(Constant.STATS_ADD_SAGE);
+                case "CC": return (double) getTotalStats().getEffect(Constant.STATS_ADD_CHAN);
+                case "CS": return (double) getTotalStats().getEffect(Constant.STATS_ADD_FORC);
+                case "CM": return (double) perso.getStats().getEffect(Constant.STATS_ADD_PM);
+                //Stats de bases
+                case "Ci": return (double) perso.getStats().getEffect(Constant.STATS_ADD_INTE);
+                case "Cs": return (double) perso.getStats().getEffect(Constant.STATS_ADD_FORC);
+                case "Cv": return (double) perso.getStats().getEffect(Constant.STATS_ADD_VITA);
+                case "Ca": return (double) perso.getStats().getEffect(Constant.STATS_ADD_AGIL);
+                case "Cw": return (double) perso.getStats().getEffect(Constant.STATS_ADD_SAGE);
+                case "Cc": return (double) perso.getStats().getEffect(Constant.STATS_ADD_CHAN);
+                //Autre
+                case "Ps": return (double) perso.get_align();//Alignement
+                case "Pa": return (double) perso.getALvl();
+                case "PP": return (double) perso.getGrade();//Grade
+                case "PL": return (double) perso.getLevel();//Niveau
+                case "PK": return (double) perso.getKamas();//Kamas
+                case "PG": return (double) perso.getClasse();//Classe
+                case "PS": return (double) perso.getSexe();//Sexe
+                case "PZ": return 1.0;//Abonnement
+                case "PX": return (perso.getGroupe() != null);//Niveau GM
+                case "PW": return (double) perso.getMaxPod();//MaxPod
+                case "PB": return perso.getCurMap().getSubArea() != null ? (double) perso.getCurMap().getSubArea().getId() : null;//SubArea
+                case "PR": return (perso.getWife() > 0 ? 1.0 : 0.0);//Marié ou pas
+                case "SI": return (double) perso.getCurMap().getId();//Mapid
+                case "MiS": return (double) perso.getId();//Les pierres d'ames sont lancables uniquement par le lanceur.
+                case "MA": return (double) perso.getAlignMap();//Pandala
+                case "PSB": return (double) perso.getAccount().getPoints();//Points Boutique
+                case "CF": return (double) (perso.getObjetByPos(Constant.ITEM_POS_PNJ_SUIVEUR) == null ? -1 : perso.getObjetByPos(Constant.ITEM_POS_PNJ_SUIVEUR).getTemplate().getId());//Personnage suiveur
+                case "PRE": return (double) perso.getPrestige();
+            }
+            return null;
+        }
+    }
+
     private static boolean haveMorph(String c, Player p) {
         if (c.equalsIgnoreCase(""))
             return false;
@@ -201,7 +269,7 @@ public class ConditionParser {
                 int item2 = Integer.parseInt(split.split("&&")[2]);
                 if (player.hasItemTemplate(item2, 1)
                         && player.hasItemTemplate(item, 1)) {
-                    long timeStamp = Long.parseLong(player.getItemTemplate(item, 1).getTxtStat().get(Constant.STATS_DATE));
+                    long timeStamp = Long.parseLong(player.getItemTemplate(item, 1).viewTxtStat().get(Constant.STATS_DATE));
                     if (System.currentTimeMillis() - timeStamp <= time)
                         return true;
                 }
@@ -218,7 +286,7 @@ public class ConditionParser {
                 int item = Integer.parseInt(split2[0]);
                 int time = Integer.parseInt(split2[1]) * 60 * 1000;
                 if (player.hasItemTemplate(item, 1)) {
-                    long timeStamp = Long.parseLong(player.getItemTemplate(item, 1).getTxtStat().get(Constant.STATS_DATE));
+                    long timeStamp = Long.parseLong(player.getItemTemplate(item, 1).viewTxtStat().get(Constant.STATS_DATE));
                     if (System.currentTimeMillis() - timeStamp > time)
                         return true;
                 }
@@ -242,7 +310,7 @@ public class ConditionParser {
                 return false;
 
             if (player.hasItemTemplate(certificat, 1)) {
-                String txt = player.getItemTemplate(certificat, 1).getTxtStat().get(Constant.STATS_DATE);
+                String txt = player.getItemTemplate(certificat, 1).viewTxtStat().get(Constant.STATS_DATE);
                 if (txt.contains("#"))
                     txt = txt.split("#")[3];
                 long timeStamp = Long.parseLong(txt);
@@ -553,8 +621,8 @@ public class ConditionParser {
 
     public static boolean stackIfSimilar(GameObject obj, GameObject newObj) {
     	
-    	if(obj.getTxtStat().get(Constant.STATS_MIMIBIOTE) != null) return false;
-    	if(newObj.getTxtStat().get(Constant.STATS_MIMIBIOTE) != null) return false;
+    	if(obj.hasTxtStat(Constant.STATS_MIMIBIOTE)) return false;
+    	if(newObj.hasTxtStat(Constant.STATS_MIMIBIOTE)) return false;
     	
         switch(obj.getTemplate().getId()) {
             case 10275:
@@ -562,7 +630,7 @@ public class ConditionParser {
                 if(obj.getTemplate().getId() == newObj.getTemplate().getId())
                     return false;
         }
-        return obj.getTemplate().getId() == newObj.getTemplate().getId() && obj.getStats().isSameStats(newObj.getStats()) && !Constant.isIncarnationWeapon(newObj.getTemplate().getId())
+        return obj.getTemplate().getId() == newObj.getTemplate().getId() && obj.hasSameStats(newObj) && !Constant.isIncarnationWeapon(newObj.getTemplate().getId())
                 && newObj.getTemplate().getType() != Constant.ITEM_TYPE_CERTIFICAT_CHANIL
                 && newObj.getTemplate().getType() != Constant.ITEM_TYPE_FAMILIER
                 && newObj.getTemplate().getType() != Constant.ITEM_TYPE_PIERRE_AME_PLEINE
@@ -2,6 +2,7 @@ package org.starloco.locos.common;
 
 import org.apache.commons.lang.StringEscapeUtils;
 import org.starloco.locos.area.map.CellCacheImpl;
+import org.starloco.locos.area.map.CellDataCache;
 import org.starloco.locos.area.map.GameCase;
 import org.starloco.locos.area.map.GameMap;
 
@@ -68,6 +69,12 @@ public class CryptManager {
 
     public String key = "8fd8ad4a38cdd0432248a76f8f148ceb";
 
+    /** Cellules du bord des cartes de cette taille, interdites aux déplacements (cf. PathFinding.outForbiddenCells). */
+    public void addForbiddenCells(GameMap map) {
+        if(PathFinding.outForbiddenCells.get(map.getW() + "_" + map.getH()) == null)
+            PathFinding.outForbiddenCells.put(map.getW() + "_" + map.getH(), cellWalkable(map));
+    }
+
     private List<Short> cellWalkable(GameMap map){
         List<Short> limit = new ArrayList<>();
         short H = map.getH();
@@ -148,6 +155,20 @@ public class CryptManager {
         List<GameCase> cells = new ArrayList<>();
         List<Short> losCells = new ArrayList<>();
 
+        this.addForbiddenCells(map);
+
+        CellDataCache.Entry entry = CellDataCache.get(map, data);
+        if(entry != null) { // Données inchangées depuis le dernier décodage : ni déchiffrement ni parsing
+            for (short cellId = 0; cellId < entry.size(); cellId++) {
+                boolean los = entry.isLoS(cellId);
+                if(los) losCells.add(cellId);
+                cells.add(new GameCase(map, cellId, entry.isWalkable(cellId), los, entry.getObject(cellId)));
+            }
+            map.setCellCache(new CellCacheImpl(losCells, map.getW(), map.getH()));
+            return cells;
+        }
+
+        final String raw = data;
         if(mapCrypted(data) && !map.getKey().isEmpty()) {
             try {
                 data = this.decryptMapData(data, map.getKey());
@@ -156,9 +177,8 @@ public class CryptManager {
                 e.printStackTrace();
             }
         }
-        if(PathFinding.outForbiddenCells.get(map.getW() + "_" + map.getH()) == null)
-            PathFinding.outForbiddenCells.put(map.getW() + "_" + map.getH(), cellWalkable(map));
         try {
+            entry = CellDataCache.create(map, raw, data.length() / 10);
             short cellId = 0;
             for (; cellId < data.length()/10; cellId ++ ){
                 String cellData = data.substring(cellId*10, (cellId+1)*10);
@@ -185,10 +205,11 @@ public class CryptManager {
                 int obj = (layerObject2Interactive?layerObject2:-1);
 
                 cells.add(new GameCase(map, cellId, walkable, los, obj));
-
+                entry.set(cellId, walkable, los, obj);
             }
             CellCacheImpl cache = new CellCacheImpl(losCells, map.getW(), map.getH());
             map.setCellCache(cache);
+            CellDataCache.put(map, entry);
         } catch (Exception e) {
             System.err.println(e.getMessage() + " : mapId : " + map.getId());
             e.printStackTrace();
@@ -10,20 +10,18 @@ import org.starloco.locos.kernel.Config;
 import org.starloco.locos.kernel.Constant;
 import org.starloco.locos.object.GameObject;
 import org.starloco.locos.other.Guild;
+import org.starloco.locos.util.RandomService;
 
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.Random;
 import java.util.TreeMap;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class Formulas {
 
-    public final static Random random = new Random();
     
     
     private final static short[] order = new short[] {
@@ -56,7 +54,7 @@ public class Formulas {
         if (minValue > maxValue) {
             throw new IllegalArgumentException("Min " + minValue + " greater than max " + maxValue);
         }
-        return (int) ( (long) minValue + Math.random() * ((long)maxValue - minValue + 1));
+        return RandomService.nextInt(minValue, maxValue);
     }
 
     public static int getMinJet(String jet) {
@@ -759,7 +757,7 @@ public class Formulas {
             if(chance > 90f) chance = 90f;
             else if(chance < 10f) chance = 10f;
             
-            if(Math.round(chance) >= random.nextInt(101)) ++loose;
+            if(Math.round(chance) >= RandomService.nextInt(101)) ++loose;
         }
         if(type == 'a') {
             if(target.getCurPa(target.getFight()) < loose){
@@ -885,13 +883,13 @@ public class Formulas {
     public static int getKamasWin(Fighter i, ArrayList<Fighter> winners,
                                   int maxk, int mink) {
         maxk++;
-        int rkamas = (int) (Math.random() * (maxk - mink)) + mink;
+        int rkamas = (int) (RandomService.nextDouble() * (maxk - mink)) + mink;
         return rkamas * Config.getInstance().rateKamas;
     }
 
     public static int getKamasWinPerco(int maxk, int mink) {
         maxk++;
-        int rkamas = (int) (Math.random() * (maxk - mink)) + mink;
+        int rkamas = (int) (RandomService.nextDouble() * (maxk - mink)) + mink;
         return rkamas * Config.getInstance().rateKamas;
     }
 
@@ -1441,11 +1439,9 @@ public class Formulas {
 
     public static char[] shuffleCharArray(char[] ar)
     {
-        // If running on Java 6 or older, use `new Random()` on RHS here
-        Random rnd = ThreadLocalRandom.current();
         for (int i = ar.length - 1; i > 0; i--)
         {
-            int index = rnd.nextInt(i + 1);
+            int index = RandomService.nextInt(i + 1);
             // Simple swap
             char a = ar[index];
             ar[index] = ar[i];
@@ -1457,11 +1453,9 @@ public class Formulas {
     public static int[] getRandomsInt(int[] table,int nb)
     {
         int[] randomInts = new int[nb];
-        Random random = new Random();
-
         // Shuffle the array using Fisher-Yates algorithm
         for (int i = table.length - 1; i >= 1; i--) {
-            int j = random.nextInt(i + 1);
+            int j = RandomService.nextInt(i + 1);
             int temp = table[j];
             table[j] = table[i];
             table[i] = temp;
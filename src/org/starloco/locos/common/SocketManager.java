@@ -297,7 +297,7 @@ public class SocketManager {
 
     
     public static void GAME_SEND_MAP_PERCO_GMS_PACKETS(GameClient out, GameMap Map) {
-        String packet = Collector.parseGM(Map);
+        String packet = Map.getCollectorsGMPacket();
         if (packet.length() < 5)
             return;
         send(out, packet);
@@ -742,28 +742,23 @@ public class SocketManager {
     }
 
     public static void GAME_SEND_GIC_PACKETS_TO_FIGHT(Fight fight, int teams) {
-        StringBuilder packet = new StringBuilder();
-        packet.append("GIC|");
-        for (Fighter p : fight.getFighters(3)) {
-            if (p.getCell() == null)
-                continue;
-            packet.append(p.getId()).append(";").append(p.getCell().getId()).append(";1|");
-        }
+        String packet = fight.getFightState().getCellDelta();
+        if (packet == null)
+            return;
         for (Fighter perso : fight.getFighters(teams)) {
             if (perso.hasLeft())
                 continue;
             if (perso.getPersonnage() == null
                     || !perso.getPersonnage().isOnline())
                 continue;
-            send(perso.getPersonnage(), packet.toString());
+            send(perso.getPersonnage(), packet);
         }
 
     }
 
     public static void GAME_SEND_GIC_PACKET_TO_FIGHT(Fight fight, int teams,
                                                      Fighter f) {
-        StringBuilder packet = new StringBuilder();
-        packet.append("GIC|").append(f.getId()).append(";").append(f.getCell().getId()).append(";1|");
+        String packet = fight.getFightState().getCell(f);
 
         for (Fighter perso : fight.getFighters(teams)) {
             if (perso.hasLeft())
@@ -771,21 +766,13 @@ public class SocketManager {
             if (perso.getPersonnage() == null
                     || !perso.getPersonnage().isOnline())
                 continue;
-            send(perso.getPersonnage(), packet.toString());
+            send(perso.getPersonnage(), packet);
         }
 
     }
 
     public static void GAME_SEND_GIC_PACKETS(Fight fight, Player out) {
-        StringBuilder packet = new StringBuilder();
-        packet.append("GIC|");
-        for (Fighter p : fight.getFighters(3)) {
-            if (p.getCell() == null)
-                continue;
-            packet.append(p.getId()).append(";").append(p.getCell().getId()).append(";1|");
-        }
-        send(out, packet.toString());
-
+        send(out, fight.getFightState().getCellSnapshot());
     }
 
     public static void GAME_SEND_GS_PACKET_TO_FIGHT(Fight fight, int teams) {
@@ -824,44 +811,23 @@ public class SocketManager {
     }
 
     public static void GAME_SEND_GTM_PACKET_TO_FIGHT(Fight fight, int teams) {
-        StringBuilder packet = new StringBuilder();
-        packet.append("GTM");
-        for (Fighter f : fight.getFighters(3)) {
-            packet.append("|").append(f.getId()).append(";");
-            if (f.isDead()) {
-                packet.append("1");
-                continue;
-            }
-            packet.append("0;").append(f.getPdv()).append(";").append(f.getPa()).append(";").append(f.getPm()).append(";");
-            packet.append((f.isHide() ? "-1" : f.getCell().getId())).append(";");//On envoie pas la cell d'un invisible :p
-            packet.append(";");//??
-            packet.append(f.getPdvMax());
-        }
+        String packet = fight.getFightState().getTurnPacket();
+        if (packet == null)
+            return;
         for (Fighter f : fight.getFighters(teams)) {
             if (f.hasLeft())
                 continue;
             if (f.getPersonnage() == null || !f.getPersonnage().isOnline())
                 continue;
-            send(f.getPersonnage(), packet.toString());
+            send(f.getPersonnage(), packet);
         }
 
     }
 
     public static void GAME_SEND_GTM_PACKET(Player out, Fight fight) {
-        StringBuilder packet = new StringBuilder();
-        packet.append("GTM");
-        for (Fighter f : fight.getFighters(3)) {
-            packet.append("|").append(f.getId()).append(";");
-            if (f.isDead()) {
-                packet.append("1");
-                continue;
-            } else
-                packet.append("0;").append(f.getPdv()).append(";").append(f.getPa()).append(";").append(f.getPm()).append(";");
-            packet.append((f.isHide() ? "-1" : f.getCell().getId())).append(";");//On envoie pas la cell d'un invisible :p
-            packet.append(";");//??
-            packet.append(f.getPdvMax());
-        }
-        send(out, packet.toString());
+        String packet = fight.getFightState().getTurnPacket();
+        if (packet != null)
+            send(out, packet);
     }
 
     public static void GAME_SEND_GAMETURNSTART_PACKET_TO_FIGHT(Fight fight,
@@ -1805,22 +1771,9 @@ public class SocketManager {
     }
 
     public static void GAME_SEND_Rp_PACKET(Player perso, MountPark MP) {
-        StringBuilder packet = new StringBuilder();
-        if (MP == null)
+        if (MP == null || MP.getMap() == null)
             return;
-
-        packet.append("Rp").append(MP.getOwner()).append(";").append(MP.getPrice()).append(";").append(MP.getSize()).append(";").append(MP.getMaxObject()).append(";");
-
-        Guild G = MP.getGuild();
-        //Si une guilde est definie
-        if (G != null) {
-            packet.append(G.getName()).append(";").append(G.getEmblem());
-        } else {
-            packet.append(";");
-        }
-
-        send(perso, packet.toString());
-
+        send(perso, MP.getMap().getMountParkPacket());
     }
 
     public static void GAME_SEND_OS_PACKET(Player perso, int pano) {
@@ -2289,20 +2242,10 @@ public class SocketManager {
     }
 
     public static void GAME_SEND_MERCHANT_LIST(Player P, short mapID) {
-        StringBuilder packet = new StringBuilder();
-        packet.append("GM|");
-        if (World.world.getSeller(P.getCurMap().getId()) == null)
+        String packet = P.getCurMap().getMerchantsGMPacket();
+        if (packet.isEmpty())
             return;
-        for (Integer pID : World.world.getSeller(P.getCurMap().getId())) {
-            if (!World.world.getPlayer(pID).isOnline()
-                    && World.world.getPlayer(pID).isShowSeller()) {
-                packet.append("~").append(World.world.getPlayer(pID).parseToMerchant()).append("|");
-            }
-        }
-        if (packet.length() < 5)
-            return;
-        send(P, packet.toString());
-
+        send(P, packet);
     }
 
     public static void GAME_SEND_PACKET_TO_FIGHT(Fight fight, int i,
@@ -2521,6 +2464,12 @@ public class SocketManager {
         send(p, packet);
     }
 
+    public static void GAME_SEND_am_ALIGN_PACKETS(Player p, String packets) {
+        if (p == null || p.getAccount() == null)
+            return;
+        send(p, packets);
+    }
+
     public static void SEND_CB_BONUS_CONQUETE(Player pj, String str) {
         String packet = "CB" + str;
         send(pj, packet);
@@ -7,6 +7,7 @@ import org.starloco.locos.database.Database;
 import org.starloco.locos.game.world.World;
 import org.starloco.locos.kernel.Constant;
 import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.area.map.MapEntryCache;
 import org.starloco.locos.object.GameObject;
 import org.starloco.locos.other.Guild;
 
@@ -274,6 +275,7 @@ public class Collector {
         for (java.util.Map.Entry<Integer, Collector> Collector : World.world.getCollectors().entrySet()) {
             if (Collector.getValue().getGuildId() == GuildID) {
                 World.world.getCollectors().remove(Collector.getKey());
+                invalidate(Collector.getValue().getMap());
                 for (Player p : World.world.getMap(Collector.getValue().getMap()).getPlayers()) {
                     SocketManager.GAME_SEND_ERASE_ON_MAP_TO_MAP(p.getCurMap(), Collector.getValue().getId());//Suppression visuelle
                 }
@@ -338,6 +340,14 @@ public class Collector {
 
     public void setInFight(byte inFight) {
         this.inFight = inFight;
+        invalidate(this.map);
+    }
+
+    /** Les GM des percepteurs sont gardés par leur carte (cf. GameMap.getCollectorsGMPacket). */
+    public static void invalidate(short map) {
+        GameMap gameMap = World.world.getMap(map);
+        if (gameMap != null)
+            gameMap.invalidateEntryCache(MapEntryCache.Section.COLLECTORS);
     }
 
     public int get_inFightID() {
@@ -438,6 +448,7 @@ public class Collector {
         for (GameObject obj : this.objects.values())
             World.world.removeGameObject(obj.getGuid());
         World.world.getCollectors().remove(id);
+        invalidate(this.map);
     }
 
     public String getItemCollectorList() {
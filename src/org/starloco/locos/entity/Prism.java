@@ -3,6 +3,7 @@ package org.starloco.locos.entity;
 import org.starloco.locos.area.Area;
 import org.starloco.locos.area.SubArea;
 import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.area.map.MapEntryCache;
 import org.starloco.locos.client.Player;
 import org.starloco.locos.client.other.Stats;
 import org.starloco.locos.common.SocketManager;
@@ -140,6 +141,7 @@ public class Prism {
 
     public void setLevel(int i) {
         this.level = i;
+        this.invalidate();
     }
 
     public short getMap() {
@@ -152,6 +154,7 @@ public class Prism {
 
     public void setCell(int i) {
         this.cell = i;
+        this.invalidate();
     }
 
     public int getInFight() {
@@ -160,6 +163,7 @@ public class Prism {
 
     public void setInFight(int i) {
         this.inFight = i;
+        this.invalidate();
     }
 
     public int getFightId() {
@@ -180,6 +184,14 @@ public class Prism {
 
     public void addHonor(int i) {
         this.honor += i;
+        this.invalidate();
+    }
+
+    /** Le GM du prisme est gardé par sa carte (cf. GameMap.getPrismeGMPacket). */
+    public void invalidate() {
+        GameMap map = World.world.getMap(this.Map);
+        if (map != null)
+            map.invalidateEntryCache(MapEntryCache.Section.PRISMS);
     }
 
     public int getGrade() {
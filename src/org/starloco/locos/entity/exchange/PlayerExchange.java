@@ -566,7 +566,7 @@ public class PlayerExchange extends Exchange {
                         if(kamas == -1) {
                             for(Couple<Integer, Integer> pepite : this.items1)
                                 if(World.world.getGameObject(pepite.first).getTemplate().getId() == 1)
-                                    this.kamas2 += Integer.parseInt(World.world.getGameObject(pepite.first).getTxtStat().get(990).substring(9, 13)) * pepite.second;
+                                    this.kamas2 += Integer.parseInt(World.world.getGameObject(pepite.first).viewTxtStat().get(990).substring(9, 13)) * pepite.second;
 
                             SocketManager.GAME_SEND_EXCHANGE_OTHER_MOVE_OK(this.player.getGameClient(), 'G', "", String.valueOf(this.kamas2));
                             continue;
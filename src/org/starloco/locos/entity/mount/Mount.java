@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.HashMap;
 
 import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.area.map.MapEntryCache;
 import org.starloco.locos.client.Player;
 import org.starloco.locos.client.other.Stats;
 import org.starloco.locos.common.ConditionParser;
@@ -206,7 +207,7 @@ public class Mount {
 							mount.resEndurance(7500);
 							mount.aumReproduction();
 							if (mount.getSavage() == 1) {
-								park.getListOfRaising().remove(mount.id);
+								park.delRaising(mount.id);
 								park.getMap().send("GM|-" + mount.getId());
 								Player player = World.world.getPlayer(mount.getOwner());
 								if (player != null && player.isOnline()) {
@@ -226,7 +227,7 @@ public class Mount {
 							mountArg.resEndurance(7500);
 							mountArg.aumReproduction();
 							if (mountArg.getSavage() == 1) {
-								park.getListOfRaising().remove(mountArg.id);
+								park.delRaising(mountArg.id);
 								park.getMap().send("GM|-" + mountArg.getId());
 								Player player = World.world.getPlayer(mountArg.getOwner());
 								if (player != null && player.isOnline()) {
@@ -310,6 +311,7 @@ public class Mount {
 
 	public void setColor(int color) {
 		this.color = color;
+		this.invalidateGM();
 	}
 
 	public int getSex() {
@@ -322,6 +324,7 @@ public class Mount {
 
 	public void setSize(int size) {
 		this.size = size;
+		this.invalidateGM();
 	}
 
 	public String getName() {
@@ -330,6 +333,7 @@ public class Mount {
 
 	public void setName(String name) {
 		this.name = name;
+		this.invalidateGM();
 	}
 
 	public int getLevel() {
@@ -338,6 +342,7 @@ public class Mount {
 
 	public void setLevel(int level) {
 		this.level = level;
+		this.invalidateGM();
 	}
 
 	public long getExp() {
@@ -350,6 +355,7 @@ public class Mount {
 
 	public void setOwner(int owner) {
 		this.owner = owner;
+		this.invalidateGM();
 	}
 
 	public short getMapId() {
@@ -357,7 +363,16 @@ public class Mount {
 	}
 
 	public void setMapId(short mapId) {
+		this.invalidateGM();
 		this.mapId = mapId;
+		this.invalidateGM();
+	}
+
+	/** Le GM des montures en élevage est gardé par la carte de l'enclos (cf. GameMap.getGMOfMount). */
+	private void invalidateGM() {
+		GameMap map = World.world.getMap(this.mapId);
+		if(map != null)
+			map.invalidateEntryCache(MapEntryCache.Section.MOUNTS);
 	}
 
 	public int getCellId() {
@@ -366,6 +381,7 @@ public class Mount {
 
 	public void setCellId(int cellId) {
 		this.cellId = cellId;
+		this.invalidateGM();
 	}
 
 	public int getOrientation() {
@@ -374,6 +390,7 @@ public class Mount {
 
 	public void setOrientation(int orientation) {
 		this.orientation = orientation;
+		this.invalidateGM();
 	}
 
     public int getFatigue() {
@@ -466,8 +483,10 @@ public class Mount {
 	
 	public int isMontable() {
         int mountable = ((this.maturity < this.getMaxMaturity() || this.fatigue == 240 || this.savage == 1) ? 0 : 1);
-        if(mountable == 1 && this.size == 50)
+        if(mountable == 1 && this.size == 50) {
             this.size = 100;
+            this.invalidateGM();
+        }
 		return mountable;
 	}
 	
@@ -506,6 +525,7 @@ public class Mount {
 	public void addLvl() {
 		this.level++;
 		this.stats = Constant.getMountStats(this.color, this.level);
+		this.invalidateGM();
 	}
 	
 	public void stateMale() {
@@ -557,18 +577,21 @@ public class Mount {
                 GameMap map = World.world.getMap(this.mapId);
 				if((this.getMaxMaturity() / this.maturity) <= 1) {
 					this.size = 100;
+					this.invalidateGM();
 					SocketManager.GAME_SEND_ERASE_ON_MAP_TO_MAP(map, this.id);
 					SocketManager.GAME_SEND_GM_MOUNT_TO_MAP(map, this);
 					return;
 				} else
 				if(this.size < 75 && (this.getMaxMaturity() / this.maturity) == 2) {
 					this.size = 75;
+					this.invalidateGM();
 					SocketManager.GAME_SEND_ERASE_ON_MAP_TO_MAP(map, this.id);
 					SocketManager.GAME_SEND_GM_MOUNT_TO_MAP(map, this);
 					return;
 				} else
 				if(this.size < 50 && (this.getMaxMaturity() / this.maturity) == 3) {
 					this.size = 50;
+					this.invalidateGM();
 					SocketManager.GAME_SEND_ERASE_ON_MAP_TO_MAP(map, this.id);
 					SocketManager.GAME_SEND_GM_MOUNT_TO_MAP(map, this);
 					return;
@@ -780,6 +803,7 @@ public class Mount {
 		if(cell == this.cellId) 
 		{
 			this.orientation = CryptManager.getIntByHashedValue(dir);
+			this.invalidateGM();
 			SocketManager.GAME_SEND_eD_PACKET_TO_MAP(map, this.id, this.orientation);
 			SocketManager.SEND_GDE_FRAME_OBJECT_EXTERNAL(map, cellTest + ";4");
 			SocketManager.GAME_SEND_eUK_PACKET_TO_MAP(map, this.id, action);
@@ -792,6 +816,7 @@ public class Mount {
 		SocketManager.GAME_SEND_GA_PACKET_TO_MAP(map, "" + 0, 1, this.id + "", "a" + World.world.getCryptManager().cellID_To_Code(this.cellId) + path);
 		this.cellId = cell;
 		this.orientation = CryptManager.getIntByHashedValue(dir);
+		this.invalidateGM();
 		int ID = this.id;
 
         final int finalCell = cellTest, finalAction = action;
@@ -803,7 +828,7 @@ public class Mount {
         }, action == 4 ? 2500 : 1500, TimerWaiter.DataType.MAP);
 	}
 	
-	public synchronized void moveMountsAuto(char direction, int cellules, boolean remove) 
+	public synchronized void moveMountsAuto(char direction, int cellules, boolean remove, boolean observed) 
 	{
 		int action = 0;
 		String path = "";
@@ -819,8 +844,8 @@ public class Mount {
 		int cellTest = this.cellId;
 		for(int i = 0; i < cellules; i++) 
 		{
-			cellTest = PathFinding.getCellArroundByDir(cellTest, dir, World.world.getMap(this.mapId));
-			if(map.getCase(cellTest) == null)
+			cellTest = PathFinding.getCellArroundByDir(cellTest, dir, map);
+			if(!map.hasCell(cellTest))
 				return;
 			if(MP.getCellAndObject().containsKey(cellTest) && (this.fatigue >= 240 || this.isFecund() == 10))
 				break;
@@ -904,7 +929,7 @@ public class Mount {
 				}
 				break;
 			}
-			if(map.getCase(cellTest).isWalkable(false) && MP.getDoor() != cellTest && !map.cellSide(cell, cellTest)) 
+			if(map.isCellWalkable(cellTest) && MP.getDoor() != cellTest && !map.cellSide(cell, cellTest)) 
 			{
 				cell = cellTest;
 				path += dir + World.world.getCryptManager().cellID_To_Code(cell);
@@ -916,6 +941,9 @@ public class Mount {
 		if(cell == this.cellId) 
 		{
 			this.orientation = CryptManager.getIntByHashedValue(dir);
+			this.invalidateGM();
+			if(!observed)
+				return;
 			SocketManager.GAME_SEND_eD_PACKET_TO_MAP(map, this.id, this.orientation);
 			SocketManager.SEND_GDE_FRAME_OBJECT_EXTERNAL(map, cellTest + ";4");
 			SocketManager.GAME_SEND_eUK_PACKET_TO_MAP(map, this.id, action);
@@ -925,9 +953,13 @@ public class Mount {
 			action = 8;
 		int id = this.id;
 		action = Mount.checkCanKen(MP, this, cellTest, action);		
-		SocketManager.GAME_SEND_GA_ACTION_TO_MAP(map, "" + 0, 1, this.id + "", "a" + World.world.getCryptManager().cellID_To_Code(this.cellId) + path);
+		if(observed)
+			SocketManager.GAME_SEND_GA_ACTION_TO_MAP(map, "" + 0, 1, this.id + "", "a" + World.world.getCryptManager().cellID_To_Code(this.cellId) + path);
 		this.cellId = cell;
 		this.orientation = CryptManager.getIntByHashedValue(dir);
+		this.invalidateGM();
+		if(!observed)
+			return;
 
         final int finalCell = cellTest, finalAction = action;
 
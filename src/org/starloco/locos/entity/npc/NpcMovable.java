@@ -5,6 +5,7 @@ import org.starloco.locos.common.PathFinding;
 import org.starloco.locos.common.SocketManager;
 import org.starloco.locos.game.world.World;
 import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.area.map.MapEntryCache;
 
 import java.util.ArrayList;
 
@@ -58,6 +59,7 @@ public class NpcMovable extends Npc {
                 SocketManager.GAME_SEND_GA_PACKET(player.getGameClient(), "0", "1", String.valueOf(this.getId()), path);
 
             this.setCellid(oldCell);
+            this.map.invalidateEntryCache(MapEntryCache.Section.NPCS);
         }
 
 		this.position++;
@@ -361,7 +361,7 @@ public class NpcQuestion {
                                     break;
 
                                 if (player.hasItemTemplate(certificat, 1)) {
-                                    String date = player.getItemTemplate(certificat, 1).getTxtStat().get(Constant.STATS_DATE);
+                                    String date = player.getItemTemplate(certificat, 1).viewTxtStat().get(Constant.STATS_DATE);
                                     long timeStamp = Long.parseLong(date.split("#")[3]);
                                     if (System.currentTimeMillis() - timeStamp <= 86400000) {
                                         ok = false;
@@ -380,7 +380,7 @@ public class NpcQuestion {
                                     break;
 
                                 if (player.hasItemTemplate(certificat, 1)) {
-                                    String date = player.getItemTemplate(certificat, 1).getTxtStat().get(Constant.STATS_DATE);
+                                    String date = player.getItemTemplate(certificat, 1).viewTxtStat().get(Constant.STATS_DATE);
                                     long timeStamp = System.currentTimeMillis();
                                     try {
                                         timeStamp = Long.parseLong(date.split("#")[3]);
@@ -489,7 +489,7 @@ public class NpcQuestion {
         }
 
         if (player.getItemTemplate(10207) != null) {
-            for (String i : player.getItemTemplate(10207).getTxtStat().values().toString().split(",")) {
+            for (String i : player.getItemTemplate(10207).viewTxtStat().values().toString().split(",")) {
                 GameMap map = player.getCurMap();
                 if (map == null) continue;
 
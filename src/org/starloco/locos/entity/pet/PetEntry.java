@@ -102,7 +102,7 @@ public class PetEntry {
         if (obj == null)
             return 0;
         int cumul = 0;
-        for (Entry<Integer, Integer> entry : obj.getStats().getMap().entrySet()) {
+        for (Entry<Integer, Integer> entry : obj.viewStats().getMap().entrySet()) {
             if (entry.getKey() == Integer.parseInt("320", 16)) // Vita du familier
             {
             }
@@ -197,8 +197,8 @@ public class PetEntry {
                 //Update de l'item
                 if ((this.getIsEupeoh() ? pets.getMax() * 1.1 : pets.getMax()) > this.getCurrentStatsPoids())//Si il est sous l'emprise d'EPO on augmente de +10% le jet maximum
                 {
-                    if (obj.getStats().getMap().containsKey(statsID)) {
-                        int value = obj.getStats().getMap().get(statsID)
+                    if (obj.viewStats().getMap().containsKey(statsID)) {
+                        int value = obj.viewStats().getMap().get(statsID)
                                 + World.world.getPets(World.world.getGameObject(this.objectId).getTemplate().getId()).getGain();
                         if (value > this.getMaxStat())
                             value = this.getMaxStat();
@@ -231,8 +231,8 @@ public class PetEntry {
                 //Update de l'item
                 if ((this.getIsEupeoh() ? pets.getMax() * 1.1 : pets.getMax()) > this.getCurrentStatsPoids())//Si il est sous l'emprise d'EPO on augmente de +10% le jet maximum
                 {
-                    if (obj.getStats().getMap().containsKey(statsID)) {
-                        int value = obj.getStats().getMap().get(statsID)
+                    if (obj.viewStats().getMap().containsKey(statsID)) {
+                        int value = obj.viewStats().getMap().get(statsID)
                                 + World.world.getPets(World.world.getGameObject(this.objectId).getTemplate().getId()).getGain();
                         if (value > this.getMaxStat())
                             value = this.getMaxStat();
@@ -257,8 +257,8 @@ public class PetEntry {
                 //Update de l'item
                 if ((this.getIsEupeoh() ? pets.getMax() * 1.1 : pets.getMax()) > this.getCurrentStatsPoids())//Si il est sous l'emprise d'EPO on augmente de +10% le jet maximum
                 {
-                    if (obj.getStats().getMap().containsKey(statsID)) {
-                        int value = obj.getStats().getMap().get(statsID)
+                    if (obj.viewStats().getMap().containsKey(statsID)) {
+                        int value = obj.viewStats().getMap().get(statsID)
                                 + World.world.getPets(World.world.getGameObject(this.objectId).getTemplate().getId()).getGain();
                         if (value > this.getMaxStat())
                             value = this.getMaxStat();
@@ -292,7 +292,7 @@ public class PetEntry {
             }
             SocketManager.GAME_SEND_Im_PACKET(p, "154");
         }
-        if (obj.getTxtStat().containsKey(Constant.STATS_PETS_REPAS)) {
+        if (obj.viewTxtStat().containsKey(Constant.STATS_PETS_REPAS)) {
             obj.getTxtStat().remove(Constant.STATS_PETS_REPAS);
             obj.getTxtStat().put(Constant.STATS_PETS_REPAS, Integer.toHexString(feed.getTemplate().getId()));
         } else {
@@ -319,7 +319,7 @@ public class PetEntry {
                     int statsID = pet.statsIdByEat(-1, -1, soul);
                     if (statsID == 0)
                         return;
-                    int soulCount = (obj.getSoulStat().get(soul) != null ? obj.getSoulStat().get(soul) : 0);
+                    int soulCount = (obj.viewSoulStat().get(soul) != null ? obj.viewSoulStat().get(soul) : 0);
                     if (soulCount > 0) {
                         obj.getSoulStat().remove(soul);
                         obj.getSoulStat().put(soul, count + soulCount);
@@ -334,13 +334,13 @@ public class PetEntry {
                     for (Entry<Integer, Integer> monsterEntry : entry.entrySet()) {
                         if (pet.getNumbMonster(ent.getKey(), monsterEntry.getKey()) != 0) {
                             int pts = 0;
-                            for (Entry<Integer, Integer> list : obj.getSoulStat().entrySet())
+                            for (Entry<Integer, Integer> list : obj.viewSoulStat().entrySet())
                                 pts += ((int) Math.floor(list.getValue() / pet.getNumbMonster(ent.getKey(), list.getKey())) * pet.getGain());
                             if (pts > 0) {
                                 if (pts > this.getMaxStat())
                                     pts = this.getMaxStat();
-                                if (obj.getStats().getMap().containsKey(ent.getKey())) {
-                                    int nbr = obj.getStats().getMap().get(ent.getKey());
+                                if (obj.viewStats().getMap().containsKey(ent.getKey())) {
+                                    int nbr = obj.viewStats().getMap().get(ent.getKey());
                                     if(nbr - pts > 0)
                                         pts += (nbr - pts);
                                     obj.getStats().getMap().remove(ent.getKey());
@@ -6,6 +6,7 @@ import org.starloco.locos.database.Database;
 import org.starloco.locos.exchange.transfer.DataQueue;
 import org.starloco.locos.exchange.transfer.DataQueue.Queue;
 import org.starloco.locos.game.GameServer;
+import org.starloco.locos.game.filter.SessionExecutorFilter;
 import org.starloco.locos.game.world.World;
 import org.starloco.locos.kernel.Main;
 
@@ -107,6 +108,12 @@ public class ExchangePacketHandler {
                                 }
                                 break;
 
+                            case 'Q': // Queues, demandé par l'injecteur de charge (loadtest.LoginStub)
+                                if (packet.length() > 2 && packet.charAt(2) == '?')
+                                    Main.exchangeClient.send("DQ" + Main.gameServer.getDeepestSessionQueue() + ";" + SessionExecutorFilter.getDropped()
+                                            + ";" + SessionExecutorFilter.getKicked() + ";" + World.world.getOnlinePlayers().size());
+                                break;
+
                             case 'M': // Message
                                 String[] split = packet.substring(2).split("\\|");
                                 if(split.length > 1) {
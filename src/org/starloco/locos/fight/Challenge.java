@@ -7,6 +7,7 @@ import org.starloco.locos.common.SocketManager;
 import org.starloco.locos.fight.spells.Spell;
 import org.starloco.locos.fight.spells.SpellEffect;
 import org.starloco.locos.game.GameClient;
+import org.starloco.locos.util.RandomService;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -131,7 +132,7 @@ public class Challenge {
                 {
                     List<Fighter> Choix = new ArrayList<Fighter>();
                     Choix.addAll(_ordreJeu);
-                    Collections.shuffle(Choix);//Mélange l'ArrayList
+                    RandomService.shuffle(Choix);//Mélange l'ArrayList
                     for (Fighter f : Choix) {
                         if (f.getPersonnage() != null)
                             continue;
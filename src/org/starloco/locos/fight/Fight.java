@@ -15,7 +15,6 @@ import org.starloco.locos.entity.pet.PetEntry;
 import org.starloco.locos.entity.Prism;
 import org.starloco.locos.entity.monster.Monster;
 import org.starloco.locos.entity.monster.boss.Bandit;
-import org.starloco.locos.fight.ia.IAHandler;
 import org.starloco.locos.fight.spells.LaunchedSpell;
 import org.starloco.locos.fight.spells.Spell.SortStats;
 import org.starloco.locos.fight.spells.SpellEffect;
@@ -40,7 +39,9 @@ import org.starloco.locos.object.ObjectTemplate;
 import org.starloco.locos.object.entity.SoulStone;
 import org.starloco.locos.other.Guild;
 import org.starloco.locos.quest.Quest;
+import org.starloco.locos.quest.Quest_Etape;
 import org.starloco.locos.client.other.Party;
+import org.starloco.locos.util.RandomService;
 import org.starloco.locos.util.TimerWaiter;
 
 import java.text.DecimalFormat;
@@ -57,10 +58,16 @@ public class Fight {
     private int curPlayer, captWinner = -1;
     private int curFighterPa, curFighterPm;
     private int curFighterUsedPa, curFighterUsedPm;
-    private final Map<Integer, Fighter> team0 = new HashMap<>();
-    private final Map<Integer, Fighter> team1 = new HashMap<>();
+    private final Map<Integer, Fighter> team0 = new Members<>();
+    private final Map<Integer, Fighter> team1 = new Members<>();
     private final Map<Integer, Fighter> deadList = new HashMap<>();
-    private final Map<Integer, Player> viewer = new HashMap<>();
+    private final Map<Integer, Player> viewer = new Members<>();
+    private final Map<Integer, Fighter> spectators = new ConcurrentHashMap<>();
+    private volatile ArrayList<Fighter>[] recipients = newRecipients();
+    private final FightState fightState = new FightState(() -> this.getFighters(3));
+    private final FightMetrics metrics = new FightMetrics(this);
+    private RandomService.Generator random = new RandomService.Generator(RandomService.newSeed());
+    private FightScheduler scheduler = FightScheduler.REAL;
     private ArrayList<GameCase> start0 = new ArrayList<>();
     private ArrayList<GameCase> start1 = new ArrayList<>();
     private final Map<Integer, Challenge> allChallenges = new HashMap<>();
@@ -96,6 +103,24 @@ public class Fight {
     private int nextId = -100;
 	private int turns = 1;
 
+    /**
+     * Combat sans participant sur une copie de map, dont le temps, les tâches et les tirages viennent de scheduler ;
+     * l'appelant compose les équipes puis le lance.
+     */
+    Fight(int type, int id, GameMap map, FightScheduler scheduler) {
+        this.scheduler = scheduler;
+        this.random = new RandomService.Generator(scheduler.newSeed());
+        this.ingladiatroll = Constant.isInGladiatorDonjon(map.getId());
+        launchTime = scheduler.currentTimeMillis();
+        setType(type);
+        setId(id);
+        setMap(map.getMapCopy());
+        setMapOld(map);
+        this.start0 = World.world.getCryptManager().parseStartCell(getMap(), 0);
+        this.start1 = World.world.getCryptManager().parseStartCell(getMap(), 1);
+        setState(Constant.FIGHT_STATE_PLACE);
+    }
+
     public Fight(int type, int id, GameMap map, Player perso, Player init2) {
         launchTime = System.currentTimeMillis();
         setType(type); // 0: Dfie (4: Pvm) 1:PVP (5:Perco)
@@ -107,7 +132,7 @@ public class Fight {
         getTeam0().put(perso.getId(), getInit0());
         getTeam1().put(init2.getId(), getInit1());
 
-        SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getCases());
+        SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getObjectCases());
         // on desactive le timer de regen cot client
         if (getType() != Constant.FIGHT_TYPE_CHALLENGE)
             scheduleTimer(45);
@@ -192,7 +217,7 @@ public class Fight {
         }
 
         SocketManager.GAME_SEND_FIGHT_GJK_PACKET_TO_FIGHT(this, 1, 2, 0, 1, 0, 45000, getType());
-        SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getCases());
+        SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getObjectCases());
         // on desactive le timer de regen cot client
 
         scheduleTimer(45);
@@ -273,7 +298,7 @@ public class Fight {
         }
 
         SocketManager.GAME_SEND_FIGHT_GJK_PACKET_TO_FIGHT(this, 1, 2, 0, 1, 0, 45000, getType());
-        SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getCases());
+        SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getObjectCases());
         // on desactive le timer de regen cot client
 
         scheduleTimer(45);
@@ -348,11 +373,10 @@ public class Fight {
         getTeam1().put(-1, percoF);
 
         SocketManager.GAME_SEND_FIGHT_GJK_PACKET_TO_FIGHT(this, 1, 2, 0, 1, 0, 45000, getType()); // timer de combat
-        SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getCases());
+        SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getObjectCases());
         scheduleTimer(60);
 
-        Random teams = new Random();
-        if (teams.nextBoolean()) {
+        if (this.random.nextBoolean()) {
             this.start0 = World.world.getCryptManager().parseStartCell(getMap(), 0);
             this.start1 = World.world.getCryptManager().parseStartCell(getMap(), 1);
             SocketManager.GAME_SEND_FIGHT_PLACES_PACKET_TO_FIGHT(this, 1, getMap().getPlaces(), 0);
@@ -451,11 +475,10 @@ public class Fight {
         setInit1(lPrisme);
         getTeam1().put(-1, lPrisme);
         SocketManager.GAME_SEND_FIGHT_GJK_PACKET_TO_FIGHT(this, 1, 2, 0, 1, 0, 60000, getType());
-        SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getCases());
+        SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getObjectCases());
         scheduleTimer(60);
 
-        Random teams = new Random();
-        if (teams.nextBoolean()) {
+        if (this.random.nextBoolean()) {
             this.start0 = World.world.getCryptManager().parseStartCell(getMap(), 0);
             this.start1 = World.world.getCryptManager().parseStartCell(getMap(), 1);
             SocketManager.GAME_SEND_FIGHT_PLACES_PACKET_TO_FIGHT(this, 1, getMap().getPlaces(), 0);
@@ -668,6 +691,34 @@ public class Fight {
         return team0;
     }
 
+    public FightState getFightState() {
+        return fightState;
+    }
+
+    public FightMetrics getMetrics() {
+        return metrics;
+    }
+
+    public RandomService.Generator getRandom() {
+        return random;
+    }
+
+    public FightScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /** Tâche exécutée pour le compte du combat : mesurée, et ses tirages faits avec le générateur du combat. */
+    public Runnable wrap(Runnable task) {
+        return this.metrics.wrap(() -> {
+            RandomService.Generator previous = RandomService.enter(this.random);
+            try {
+                task.run();
+            } finally {
+                RandomService.exit(previous);
+            }
+        });
+    }
+
     public Map<Integer, Fighter> getTeam0() {
         return team0;
     }
@@ -826,9 +877,9 @@ public class Fight {
     
     public void removeTraped() {
     	if(this.isTraped())
-    		TimerWaiter.addNext(() -> {
+    		this.scheduler.schedule(() -> {
     			this.setTraped(false);
-    	        },1000, TimerWaiter.DataType.FIGHT);
+    	        },1000);
     }
 
     public void setCurAction(boolean action) {
@@ -938,7 +989,7 @@ public class Fight {
     }
 
     void scheduleTimer(int time) {
-        TimerWaiter.addNext(() -> {
+        this.scheduler.schedule(this.wrap(() -> {
             if(!this.isBegin) {
                 if (this.collector != null && !this.collectorProtect)
                     this.collector.removeTimeTurn(1000);
@@ -948,7 +999,7 @@ public class Fight {
                 else if (this.collector != null && !this.collectorProtect)
                     this.collector.setTimeTurn(60000);
             }
-        }, time, TimeUnit.SECONDS, TimerWaiter.DataType.FIGHT);
+        }), time, TimeUnit.SECONDS);
     }
 
     void demorph(Player p) {
@@ -958,7 +1009,9 @@ public class Fight {
 
     public void startFight() {
         this.launchTime = -1;
-        this.startTime = System.currentTimeMillis();
+        this.startTime = this.scheduler.currentTimeMillis();
+        if (Logging.USE_LOG) // Graine des tirages du combat, placement compris : de quoi le rejouer
+            Logging.getInstance().write("Fight", "Fight " + this.getId() + " (type " + this.getType() + ") on map " + this.getMap().getId() + " : seed " + this.random.getSeed());
         if (this.collector != null && !this.collectorProtect) {
             ArrayList<Player> protectors = new ArrayList<>(collector.getDefenseFight().values());
             for (Player player : protectors) {
@@ -985,7 +1038,7 @@ public class Fight {
         if (getState() >= Constant.FIGHT_STATE_ACTIVE)
             return;
 
-        if (this.getType() == Constant.FIGHT_TYPE_PVM) {
+        if (this.getType() == Constant.FIGHT_TYPE_PVM && this.getMobGroup() != null) {
             if (this.getMobGroup().isFix() && isCheckTimer() && this.getMapOld().getId() != 6826 && this.getMapOld().getId() != 10332 && this.getMapOld().getId() != 7388)
                 this.getMapOld().spawnAfterTimeGroupFix(this.getMobGroup().getCellId());// Respawn d'un groupe fix
             if(!Config.getInstance().HEROIC)
@@ -1009,8 +1062,9 @@ public class Fight {
             getCollector().setInFight((byte) 2);
 
         setState(Constant.FIGHT_STATE_ACTIVE);
-        setStartTime(System.currentTimeMillis());
-        SocketManager.GAME_SEND_GAME_REMFLAG_PACKET_TO_MAP(getInit0().getPersonnage().getCurMap(), getInit0().getId());
+        setStartTime(this.scheduler.currentTimeMillis());
+        if (getInit0().getPersonnage() != null)
+            SocketManager.GAME_SEND_GAME_REMFLAG_PACKET_TO_MAP(getInit0().getPersonnage().getCurMap(), getInit0().getId());
 
         if (isHaveKnight() && getType() == Constant.FIGHT_TYPE_AGRESSION)
             addChevalier();
@@ -1524,7 +1578,7 @@ public class Fight {
     //v2.6 - invisible prediction AI
     void startTurn()
     {
-      if(verifyStillInFight())
+      if(this.scheduler.isAbandoned(this))
         verifIfTeamAllDead();
 
       if(getState()>=Constant.FIGHT_STATE_FINISHED)
@@ -1620,7 +1674,7 @@ public class Fight {
       current.setCanPlay(true);
       this.turn=new Turn(this,current);
       if (shouldAutoSkipTurn(current)) { // Bloc logique : déclenche le passage de tour immédiat pour un héros virtuel.
-          TimerWaiter.addNext(() -> this.endTurn(false, current), 200, TimeUnit.MILLISECONDS, TimerWaiter.DataType.FIGHT); // Programme une fin de tour rapide pour laisser le client refléter le changement.
+          this.scheduler.schedule(this.wrap(() -> this.endTurn(false, current)), 200); // Programme une fin de tour rapide pour laisser le client refléter le changement.
           return;
       }
 
@@ -1688,7 +1742,7 @@ public class Fight {
         }
 	
       if(current.getPersonnage()==null||current.getDouble()!=null||current.getCollector()!=null)
-        IAHandler.select(this,current);
+        this.scheduler.playTurn(this,current);
     }
 
     public synchronized void endTurn(boolean onAction, Fighter f) {
@@ -1715,7 +1769,7 @@ public class Fight {
             }
 
             if (this.isCurAction() || this.isTraped()) {
-                TimerWaiter.addNext(() -> this.endTurn(onAction, current), 100, TimerWaiter.DataType.FIGHT);
+                this.scheduler.schedule(this.wrap(() -> this.endTurn(onAction, current)), 100);
                 return;
             }
 
@@ -1728,7 +1782,7 @@ public class Fight {
             setCurAction(false);
 
             if(onAction)
-                TimerWaiter.addNext(() -> this.newTurn(current), 2100, TimerWaiter.DataType.FIGHT);
+                this.scheduler.schedule(this.wrap(() -> this.newTurn(current)), 2100);
             else
                 this.newTurn(current);
         } catch (NullPointerException e) {
@@ -1789,6 +1843,7 @@ public class Fight {
     
     private void newTurn(Fighter current)
     {
+      this.metrics.endTurn();
       doPoisons(current);
       ArrayList<Glyph> glyphs=new ArrayList<>();// Copie du tableau
       glyphs.addAll(getAllGlyphs());
@@ -1919,7 +1974,7 @@ public class Fight {
             SocketManager.GAME_SEND_GA_PACKET_TO_FIGHT(this, 3, 950, perso.getId() + "", perso.getId() + "," + Constant.ETAT_PORTE + ",0");
             SocketManager.GAME_SEND_GA_PACKET_TO_FIGHT(this, 3, 950, perso.getId() + "", perso.getId() + "," + Constant.ETAT_PORTEUR + ",0");
             SocketManager.GAME_SEND_ERASE_ON_MAP_TO_MAP(perso.getCurMap(), perso.getId());
-            SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getCases());
+            SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(perso, this.getMap().getObjectCases());
             Fighter f = new Fighter(this, perso);
             currentJoin = f;
             f.setTeam(0);
@@ -2048,7 +2103,7 @@ public class Fight {
             SocketManager.GAME_SEND_ADD_IN_TEAM_PACKET_TO_MAP(player.getCurMap(), collector, f);
             SocketManager.GAME_SEND_FIGHT_PLAYER_JOIN(this, 7, f);
             SocketManager.GAME_SEND_MAP_FIGHT_GMS_PACKETS(this, getMap(), player);
-            SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(player, this.getMap().getCases());
+            SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(player, this.getMap().getObjectCases());
         }, 700, TimerWaiter.DataType.CLIENT);
     }
 
@@ -2087,7 +2142,7 @@ public class Fight {
             SocketManager.GAME_SEND_ADD_IN_TEAM_PACKET_TO_MAP(player.getCurMap(), ((Fighter) this.getTeam(team + 1).values().toArray()[0]).getId(), f);
             SocketManager.GAME_SEND_FIGHT_PLAYER_JOIN(this, 7, f);
             SocketManager.GAME_SEND_MAP_FIGHT_GMS_PACKETS(this, getMap(), player);
-            SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(player, this.getMap().getCases());
+            SocketManager.GAME_SEND_GDF_PACKET_TO_FIGHT(player, this.getMap().getObjectCases());
         }, 500, TimerWaiter.DataType.CLIENT);
     }
 
@@ -2114,6 +2169,7 @@ public class Fight {
         SocketManager.GAME_SEND_ERASE_ON_MAP_TO_MAP(p.getCurMap(), p.getId());
         SocketManager.GAME_SEND_MAP_FIGHT_GMS_PACKETS(this, getMap(), p);
         SocketManager.GAME_SEND_GAMETURNSTART_PACKET(p, current.getId(), Constant.TIME_BY_TURN, turns);
+        SocketManager.GAME_SEND_GTM_PACKET(p, this);
 
         getViewer().put(p.getId(), p);
         p.setSpec(true);
@@ -2536,11 +2592,7 @@ public class Fight {
                     fighter.addLaunchedSort(Cell.getFirstFighter(), spell, fighter);
 
                 if ((isEc && spell.isEcEndTurn())) {
-                    try {
-                        Thread.sleep(250); //2.0 - Crit fail delay reduction
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
+                    this.scheduler.pause(250); //2.0 - Crit fail delay reduction
                     setCurAction(false);
 
                     if (fighter.getMob() != null || fighter.isInvocation())
@@ -2551,27 +2603,19 @@ public class Fight {
                     }
                 }
             } else if (fighter.getMob() != null || fighter.isInvocation()) {
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+                this.scheduler.pause(100);
                 setCurAction(false);
                 return 10;
             }
 
             this.verifIfTeamAllDead();
             if (fighter.getPersonnage() != null) {
-                TimerWaiter.addNext(() -> {
+                this.scheduler.schedule(this.wrap(() -> {
                     setCurAction(false);
                     SocketManager.GAME_SEND_GA_PACKET_TO_FIGHT(this, 7, 102, fighter.getId() + "", fighter.getId() + ",-0");
-                }, 1000, TimerWaiter.DataType.FIGHT);
+                }), 1000);
             } else {
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+                this.scheduler.pause(1000);
                 setCurAction(false);
             }
 
@@ -2883,13 +2927,7 @@ public class Fight {
 
       if(fighter.getPersonnage()==null)
       {
-        try
-        {
-          Thread.sleep((int)(400+(100*Math.sqrt(nStep))));
-        }
-        catch(final Exception e)
-        {
-        }
+        this.scheduler.pause((int)(400+(100*Math.sqrt(nStep))));
         this.setWalkingPacket("");
         Trap.doTraps(this, fighter);
         return true;
@@ -3109,22 +3147,97 @@ public class Fight {
     
     
     
+    /**
+     * Destinataires d'un envoi au combat. La liste est construite une fois par masque et réutilisée
+     * jusqu'à la prochaine entrée ou sortie d'un combattant ou d'un spectateur : elle ne doit pas être modifiée.
+     */
     public ArrayList<Fighter> getFighters(int teams) {// Entre 0 et 7, binaire([spec][t2][t1]).
+        if (teams < 0 || teams > 7)
+            return this.buildFighters(teams);
+
+        ArrayList<Fighter>[] recipients = this.recipients; // Lu avant la construction : une invalidation concurrente l'écarte
+        ArrayList<Fighter> fighters = recipients[teams];
+        if (fighters == null)
+            recipients[teams] = fighters = this.buildFighters(teams);
+        return fighters;
+    }
+
+    private ArrayList<Fighter> buildFighters(int teams) {
         ArrayList<Fighter> fighters = new ArrayList<>();
 
-        if (teams - 4 >= 0) {
-            fighters.addAll(new ArrayList<>(this.getViewer().values()).stream().filter(player -> player != null).map(player -> new Fighter(this, player)).collect(Collectors.toList()));
-            teams -= 4;
+        if ((teams & 4) != 0) {
+            this.spectators.keySet().retainAll(this.getViewer().keySet());
+            for (Player player : new ArrayList<>(this.getViewer().values())) {
+                if (player == null) continue;
+                Fighter spectator = this.spectators.get(player.getId());
+                if (spectator == null || spectator.getPersonnage() != player)
+                    this.spectators.put(player.getId(), spectator = new Fighter(this, player));
+                fighters.add(spectator);
+            }
         }
-        if (teams - 2 >= 0) {
+        if ((teams & 2) != 0)
             new ArrayList<>(this.getTeam1().values()).stream().filter(fighter -> fighter != null).forEach(fighters::add);
-            teams -= 2;
-        }
-        if (teams - 1 >= 0)
+        if ((teams & 1) != 0)
             new ArrayList<>(this.getTeam0().values()).stream().filter(fighter -> fighter != null).forEach(fighters::add);
+        fighters.trimToSize();
         return fighters;
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArrayList<Fighter>[] newRecipients() {
+        return new ArrayList[8];
+    }
+
+    /** À appeler après toute modification des équipes ou des spectateurs qui ne passe pas par put/remove. */
+    private void invalidateFighters() {
+        this.recipients = newRecipients();
+    }
+
+    /** Équipes et spectateurs : chaque ajout ou retrait invalide les listes de destinataires. */
+    private final class Members<V> extends HashMap<Integer, V> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public V put(Integer key, V value) {
+            V old = super.put(key, value);
+            invalidateFighters();
+            return old;
+        }
+
+        @Override
+        public void putAll(Map<? extends Integer, ? extends V> map) {
+            super.putAll(map);
+            invalidateFighters();
+        }
+
+        @Override
+        public V putIfAbsent(Integer key, V value) {
+            V old = super.putIfAbsent(key, value);
+            invalidateFighters();
+            return old;
+        }
+
+        @Override
+        public V remove(Object key) {
+            V old = super.remove(key);
+            invalidateFighters();
+            return old;
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            boolean removed = super.remove(key, value);
+            invalidateFighters();
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            invalidateFighters();
+        }
+    }
+
     public ArrayList<Fighter> getFighters2(int teams) {
         ArrayList<Fighter> fighters = new ArrayList<>();
 
@@ -3151,7 +3264,7 @@ public class Fight {
     {
       if(cells.isEmpty())
         return null;
-      Collections.shuffle(cells);
+      this.random.shuffle(cells);
       for(GameCase possibleCell : cells)
       {
         if(!possibleCell.getFighters().isEmpty())
@@ -3581,6 +3694,7 @@ public class Fight {
         if (getState() == Constant.FIGHT_STATE_INIT)
             return false;
         f.Reconnect();
+        this.invalidateFighters();
         if (getState() == Constant.FIGHT_STATE_FINISHED)
             return false;
         // Si combat en cours on envois des im
@@ -3618,7 +3732,7 @@ public class Fight {
             SocketManager.GAME_SEND_GS_PACKET(perso);// Dbut du jeu
             SocketManager.GAME_SEND_GTL_PACKET(perso, this);// Liste des tours
             SocketManager.GAME_SEND_GAMETURNSTART_PACKET(perso, current.getId(), (int) (System.currentTimeMillis() - launchTime), turns);
-               // SocketManager.GAME_SEND_GTM_PACKET(perso, this);
+            SocketManager.GAME_SEND_GTM_PACKET(perso, this);// Etat des combattants
             if ((getType() == Constant.FIGHT_TYPE_PVM || getType() == Constant.FIGHT_TYPE_DOPEUL)
                     && (getAllChallenges().size() > 0)) {
                 for (Entry<Integer, Challenge> c : getAllChallenges().entrySet()) {
@@ -3766,7 +3880,7 @@ public class Fight {
             }
         }
 
-        if ((team0 || team1 || verifyStillInFight()) && !finish) {
+        if ((team0 || team1 || this.scheduler.isAbandoned(this)) && !finish) {
             this.finish = true;
 
             final Map<Integer, Fighter> copyTeam0 = new HashMap<>();
@@ -3968,6 +4082,7 @@ public class Fight {
                         final int id = fighter.getPrism().getId();
                         subarea.setPrismId(0);
                         subarea.setAlignement(0);
+                        World.world.markConquestSent();
                         this.getMapOld().RemoveNpc(id);
                         SocketManager.GAME_SEND_ERASE_ON_MAP_TO_MAP(getMapOld(), id);
                         World.world.removePrisme(id);
@@ -4048,8 +4163,8 @@ public class Fight {
 
         GameObject weapon = player.getObjetByPos(Constant.ITEM_POS_ARME);
         if (weapon != null) {
-            if (weapon.getTxtStat().containsKey(Constant.STATS_RESIST)) {
-                int statNew = Integer.parseInt(weapon.getTxtStat().get(Constant.STATS_RESIST), 16) - 1;
+            if (weapon.viewTxtStat().containsKey(Constant.STATS_RESIST)) {
+                int statNew = Integer.parseInt(weapon.viewTxtStat().get(Constant.STATS_RESIST), 16) - 1;
                 if (statNew <= 0) {
                     SocketManager.send(player, "Im160");
                     player.removeItem(weapon.getGuid(), 1, true, true);
@@ -4116,8 +4231,8 @@ public class Fight {
         GameObject arme = player.getObjetByPos(Constant.ITEM_POS_ARME);
 
         if (arme != null) {
-            if (arme.getTxtStat().containsKey(Constant.STATS_RESIST)) {
-                int statNew = Integer.parseInt(arme.getTxtStat().get(Constant.STATS_RESIST), 16) - 1;
+            if (arme.viewTxtStat().containsKey(Constant.STATS_RESIST)) {
+                int statNew = Integer.parseInt(arme.viewTxtStat().get(Constant.STATS_RESIST), 16) - 1;
                 if (statNew <= 0) {
                     SocketManager.send(player, "Im160");
                     player.removeItem(arme.getGuid(), 1, true, true);
@@ -4236,7 +4351,7 @@ public class Fight {
 
             final StringBuilder packet = new StringBuilder();
 
-            packet.append("GE").append(System.currentTimeMillis() - getStartTime());
+            packet.append("GE").append(this.scheduler.currentTimeMillis() - getStartTime());
             if (getType() == Constant.FIGHT_TYPE_PVM && getMobGroup() != null)
                 packet.append(';').append(getMobGroup().getStarBonus());
             packet.append("|").append(this.getInit0().getId()).append("|").append(type).append("|");
@@ -4252,6 +4367,7 @@ public class Fight {
                 if(fighter.isInvocation() && fighter.getMob() != null && fighter.getMob().getTemplate().getId() != 285) iterator.remove();
                 if(fighter.isDouble()) iterator.remove();
             }
+            this.invalidateFighters();
 
             if (win == 1) {
                 winners.addAll(this.getTeam0().values());
@@ -4264,7 +4380,7 @@ public class Fight {
             //region Gladitroll
             if (ingladiatroll) {
                 try {
-                    long time = System.currentTimeMillis() - getStartTime();
+                    long time = this.scheduler.currentTimeMillis() - getStartTime();
                     int initGUID = getInit0().getId();
                     StringBuilder Packet = new StringBuilder();
                     Packet.append("GE").append(time);
@@ -4410,23 +4526,26 @@ public class Fight {
                     if (player == null) continue;
 
                     if (!player.getQuestPerso().isEmpty()) {
+                        Set<Quest> quests = new LinkedHashSet<>();
+
                         for (Fighter ennemy : loosers) {
                             if (ennemy.getMob() == null) continue;
                             if (ennemy.getMob().getTemplate() == null) continue;
 
-                            for (Quest.QuestPlayer questP : player.getQuestPerso().values()) {
-                                if(questP == null) continue;
-                                Quest quest = questP.getQuest();
-                                if(quest == null) continue;
-                                quest.getQuestEtapeList().stream().filter(qEtape -> !questP.isQuestEtapeIsValidate(qEtape) && (qEtape.getType() == 0 || qEtape.getType() == 6)).filter(qEtape -> qEtape.getMonsterId() == ennemy.getMob().getTemplate().getId()).forEach(qEtape -> {
-                                    try {
-                                        player.getQuestPersoByQuest(qEtape.getQuestData()).getMonsterKill().put(ennemy.getMob().getTemplate().getId(), (short) 1);
-                                        qEtape.getQuestData().updateQuestData(player, false, 2);
-                                    } catch(Exception e) {
-                                        e.printStackTrace();
-                                        player.sendMessage("Report to Locos : " + e.getMessage());
-                                    }
-                                });
+                            int monsterId = ennemy.getMob().getTemplate().getId();
+                            for (Couple<Quest.QuestPlayer, Quest_Etape> couple : player.getQuestEtapesByMonster(monsterId)) {
+                                if (couple.first.isQuestEtapeIsValidate(couple.second)) continue;
+                                couple.first.getMonsterKill().put(monsterId, (short) 1);
+                                quests.add(couple.second.getQuestData());
+                            }
+                        }
+
+                        for (Quest quest : quests) {
+                            try {
+                                quest.updateQuestData(player, false, 2);
+                            } catch(Exception e) {
+                                e.printStackTrace();
+                                player.sendMessage("Report to Locos : " + e.getMessage());
                             }
                         }
                     }
@@ -4803,7 +4922,7 @@ public class Fight {
                     if (this.getType() == Constant.FIGHT_TYPE_PVT && win == 1 && dropsCollector != null) {
                         int objectPerPlayer = (int) Math.floor(dropsCollector.size() / winners.size()), counter = 0;
                         ArrayList<GameObject> temporary2 = new ArrayList<>(dropsCollector);
-                        Collections.shuffle(temporary2);
+                        this.random.shuffle(temporary2);
 
                         for (GameObject object : temporary2) {
                             if (counter <= objectPerPlayer) {
@@ -4817,14 +4936,14 @@ public class Fight {
                         ArrayList<Drop> temporary3 = new ArrayList<>(dropsPlayers);
                         temporary3.addAll(World.world.getEtherealWeapons(i.isInvocation() ? i.getInvocator().getLvl() : i.getLvl()).stream().map(objectTemplate ->
                               new Drop(objectTemplate.getId(), 0.001, 0)).collect(Collectors.toList()));
-                        Collections.shuffle(temporary3);
+                        this.random.shuffle(temporary3);
 
                         for (Drop drop : temporary3) {
                             double prospecting = i.getPros() / 100.0;
                             if (prospecting < 1) prospecting = 1;
 
 
-                            final double jet = Double.parseDouble(formatter.format(Math.random() * 100).replace(',', '.')),
+                            final double jet = Double.parseDouble(formatter.format(this.random.nextDouble() * 100).replace(',', '.')),
                                     chance = Double.parseDouble(formatter.format(drop.getLocalPercent() * prospecting * World.world.getConquestBonus(player) * challengeFactor * starFactor * Config.getInstance().rateDrop).replace(',', '.'));
                             boolean ok = false;
 
@@ -4949,14 +5068,14 @@ public class Fight {
                         /** Drop Chasseur **/
                         if (player != null) {
                             ArrayList<Drop> temporary = new ArrayList<>(dropsMeats);
-                            Collections.shuffle(temporary);
+                            this.random.shuffle(temporary);
 
                             GameObject weapon = player.getObjetByPos(Constant.ITEM_POS_ARME);
-                            boolean ok = weapon != null && weapon.getStats().getEffect(795) == 1;
+                            boolean ok = weapon != null && weapon.viewStats().getEffect(795) == 1;
 
                             if(ok) {
                                 for (Drop drop : temporary) {
-                                    final double jet = Double.parseDouble(formatter.format(Math.random() * 100).replace(',', '.')),
+                                    final double jet = Double.parseDouble(formatter.format(this.random.nextDouble() * 100).replace(',', '.')),
                                             chance = Double.parseDouble(formatter.format(drop.getLocalPercent() * (i.getPros() / 100.0)).replace(',', '.'));
 
                                     if (jet < chance) {
@@ -5488,7 +5607,7 @@ public class Fight {
                 }
             }
 
-            Collections.shuffle(winners);
+            this.random.shuffle(winners);
             Map<Integer, Integer> invoks = new HashMap<>();
 
             winners.stream().filter(i -> i.isInvocation() && i.getMob() != null).filter(i -> i.getMob().getTemplate().getId() == 285).forEach(i -> invoks.put(i.getId(), i.getInvocator().getId()));
@@ -5619,12 +5738,12 @@ public class Fight {
 
                 String drops = "";
                 ArrayList<Drop> temporary = new ArrayList<>(dropsPlayers);
-                Collections.shuffle(temporary);
+                this.random.shuffle(temporary);
                 Map<Integer, Integer> objectsWon = new HashMap<>();
 
                 if (collector.getPodsTotal() < collector.getMaxPod()) {
                     for (Drop drop : temporary) {
-                        final double jet = Double.parseDouble(formatter.format(Math.random() * 100).replace(',', '.')),
+                        final double jet = Double.parseDouble(formatter.format(this.random.nextDouble() * 100).replace(',', '.')),
                                 chance = (int) (drop.getLocalPercent() * (World.world.getGuild(collector.getGuildId()).getStats(Constant.STATS_ADD_PROS) / 100.0));
 
                         if (jet < chance) {
@@ -5896,7 +6015,7 @@ public class Fight {
     }
 
     public void cast(Fighter fighter, Runnable runnable) {
-        if(this.turn != null && System.currentTimeMillis() - this.turn.getStartTime() >= 30000) return;
+        if(this.turn != null && this.scheduler.currentTimeMillis() - this.turn.getStartTime() >= 30000) return;
         SocketManager.GAME_SEND_GAS_PACKET_TO_FIGHT(this, 7, fighter.getId());
         try { runnable.run(); } catch(Exception e) { e.printStackTrace(); }
         SocketManager.GAME_SEND_GAF_PACKET_TO_FIGHT(this, 7, 0, fighter.getId());
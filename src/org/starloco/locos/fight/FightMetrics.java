@@ -0,0 +1,125 @@
+package org.starloco.locos.fight;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Temps CPU et allocations consommés par tour de combat. Le travail d'un combat est réparti entre les workers
+ * de paquets, les timers et le thread de l'IA : chacun de ces points d'entrée mesure ce qu'il exécute sur son
+ * propre thread et l'impute au tour en cours, clos à chaque changement de combattant.
+ */
+public class FightMetrics {
+
+    private final static ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final static com.sun.management.ThreadMXBean allocations = threads instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) threads : null;
+    private final static boolean cpuSupported = threads.isCurrentThreadCpuTimeSupported();
+    private final static Total[] totals = new Total[8]; // Par type de combat (Constant.FIGHT_TYPE_*)
+
+    static {
+        for (int i = 0; i < totals.length; i++)
+            totals[i] = new Total(i);
+    }
+
+    private final Fight fight;
+    private final AtomicLong cpu = new AtomicLong(), allocated = new AtomicLong();
+    private volatile TurnRecorder recorder; // Banc de test : relevé de chaque tour du combat
+
+    interface TurnRecorder {
+        void record(long cpu, long allocated);
+    }
+
+    FightMetrics(Fight fight) {
+        this.fight = fight;
+    }
+
+    public static class Total {
+        private final int type;
+        private final LongAdder turns = new LongAdder(), cpu = new LongAdder(), allocated = new LongAdder();
+        private final LongAccumulator maxCpu = new LongAccumulator(Math::max, 0);
+
+        private Total(int type) {
+            this.type = type;
+        }
+
+        public long getTurns() {
+            return this.turns.sum();
+        }
+
+        @Override
+        public String toString() {
+            long turns = Math.max(1, this.getTurns());
+            return "type " + this.type + " : " + this.getTurns() + " turns, avg " + (this.cpu.sum() / turns / 1000) + "us cpu, max "
+                    + (this.maxCpu.get() / 1000) + "us cpu, avg " + (this.allocated.sum() / turns / 1024) + " KB allocated";
+        }
+    }
+
+    public static long getCpu() {
+        return cpuSupported ? threads.getCurrentThreadCpuTime() : 0;
+    }
+
+    public static long getAllocated() {
+        return allocations != null ? allocations.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    /** Impute au tour en cours ce qu'a consommé le thread courant depuis les relevés cpu et allocated. */
+    public void add(long cpu, long allocated) {
+        this.cpu.addAndGet(getCpu() - cpu);
+        this.allocated.addAndGet(getAllocated() - allocated);
+    }
+
+    /** La tâche, mesurée à chacune de ses exécutions. */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            long cpu = getCpu(), allocated = getAllocated();
+            try {
+                task.run();
+            } finally {
+                this.add(cpu, allocated);
+            }
+        };
+    }
+
+    void setRecorder(TurnRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /** Clôt le tour en cours et l'ajoute aux totaux du type de combat. */
+    void endTurn() {
+        long cpu = this.cpu.getAndSet(0), allocated = this.allocated.getAndSet(0);
+        TurnRecorder recorder = this.recorder;
+        if (recorder != null)
+            recorder.record(cpu, allocated);
+        int type = this.fight.getType();
+        if (type < 0 || type >= totals.length)
+            return;
+        Total total = totals[type];
+        total.turns.increment();
+        total.cpu.add(cpu);
+        total.allocated.add(allocated);
+        total.maxCpu.accumulate(cpu);
+    }
+
+    public static List<Total> getTotals() {
+        List<Total> list = new ArrayList<>();
+        for (Total total : totals)
+            if (total.getTurns() > 0) list.add(total);
+        return list;
+    }
+
+    public static long getTurns() {
+        long turns = 0;
+        for (Total total : totals) turns += total.getTurns();
+        return turns;
+    }
+
+    public static long getAverageCpu() {
+        long cpu = 0;
+        for (Total total : totals) cpu += total.cpu.sum();
+        return cpu / Math.max(1, getTurns());
+    }
+}
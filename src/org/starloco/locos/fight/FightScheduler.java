@@ -0,0 +1,92 @@
+package org.starloco.locos.fight;
+
+import org.starloco.locos.fight.ia.AbstractIA;
+import org.starloco.locos.fight.ia.IAHandler;
+import org.starloco.locos.util.RandomService;
+import org.starloco.locos.util.TimerWaiter;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temps, tâches différées et tours sans joueur d'un combat. En jeu ({@link #REAL}) : l'horloge système, les timers de
+ * {@link TimerWaiter}, de vraies pauses et l'IA des monstres ; le banc de test installe une horloge virtuelle, sans
+ * attente ni thread, et peut jouer certains tours lui-même.
+ */
+public interface FightScheduler {
+
+    long currentTimeMillis();
+
+    void schedule(Runnable task, long delay, TimeUnit unit);
+
+    /** Attente du thread courant, le temps que le client joue l'animation d'une action. */
+    void pause(long millis);
+
+    /** File d'exécution d'une IA : ses actions s'y enchaînent une à une jusqu'à {@link Lane#shutdown()}. */
+    Lane newLane();
+
+    interface Lane {
+        void schedule(Runnable task, long millis);
+
+        void shutdown();
+    }
+
+    default void schedule(Runnable task, long millis) {
+        this.schedule(task, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Graine des tirages du combat : aléatoire en jeu, fixée pour rejouer un combat à l'identique. */
+    default long newSeed() {
+        return RandomService.newSeed();
+    }
+
+    /** Tour d'un combattant que ne joue aucun joueur : monstre, double ou percepteur. */
+    default void playTurn(Fight fight, Fighter fighter) {
+        IAHandler.select(fight, fighter);
+    }
+
+    /** Vrai si plus aucun joueur n'est dans le combat, qui se termine alors. */
+    default boolean isAbandoned(Fight fight) {
+        return fight.verifyStillInFight();
+    }
+
+    FightScheduler REAL = new FightScheduler() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public void schedule(Runnable task, long delay, TimeUnit unit) {
+            TimerWaiter.addNext(task, delay, unit, TimerWaiter.DataType.FIGHT);
+        }
+
+        @Override
+        public void pause(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException ignored) {} // Fin de tour de l'IA : sa file est arrêtée
+        }
+
+        @Override
+        public Lane newLane() { // Un thread par IA : ses actions bloquent le temps des animations
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r);
+                thread.setName(AbstractIA.class.getName());
+                return thread;
+            });
+            return new Lane() {
+                @Override
+                public void schedule(Runnable task, long millis) {
+                    executor.schedule(task, millis, TimeUnit.MILLISECONDS);
+                }
+
+                @Override
+                public void shutdown() {
+                    executor.shutdownNow();
+                }
+            };
+        }
+    };
+}
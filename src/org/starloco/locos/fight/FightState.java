@@ -0,0 +1,103 @@
+package org.starloco.locos.fight;
+
+import org.starloco.locos.client.other.Stats;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * État des combattants envoyé à tout le combat par les paquets GTM (vie, PA, PM, cellule) et GIC (cellules).
+ * Le client lit GTM comme la liste complète des combattants : chaque envoi les contient donc tous, mais l'entrée d'un
+ * combattant n'est recalculée (statistiques totales comprises) que s'il a été marqué comme modifié
+ * ({@link Fighter#setTurnChanged()}) ; les autres reprennent leur dernière entrée.
+ */
+public class FightState {
+
+    private final Supplier<? extends Collection<Fighter>> fighters;
+    private final Map<Integer, String> entries = new HashMap<>(); // Dernière entrée calculée de chaque combattant
+    private final Map<Integer, Integer> cells = new HashMap<>();
+
+    /** @param fighters tous les combattants, équipes et invocations comprises (Fight.getFighters(3)) */
+    FightState(Supplier<? extends Collection<Fighter>> fighters) {
+        this.fighters = fighters;
+    }
+
+    /** Paquet GTM de tous les combattants, construit une fois pour tous les destinataires ; null s'il n'y en a aucun. */
+    public synchronized String getTurnPacket() {
+        StringBuilder packet = new StringBuilder("GTM");
+        int count = 0;
+
+        for (Fighter fighter : this.fighters.get()) {
+            packet.append('|').append(this.getTurnEntry(fighter));
+            count++;
+        }
+
+        if (this.entries.size() > count) { // Combattants partis : leurs entrées ne servent plus
+            Set<Integer> ids = new HashSet<>();
+            for (Fighter fighter : this.fighters.get())
+                ids.add(fighter.getId());
+            this.entries.keySet().retainAll(ids);
+        }
+        return count == 0 ? null : packet.toString();
+    }
+
+    /** Entrée en cache du combattant, recalculée s'il a changé depuis. */
+    private String getTurnEntry(Fighter fighter) {
+        String entry = this.entries.get(fighter.getId());
+        if (fighter.pollTurnChanged() || entry == null) {
+            entry = buildTurnEntry(fighter);
+            this.entries.put(fighter.getId(), entry);
+        }
+        return entry;
+    }
+
+    /** Paquet GIC des combattants dont la cellule a changé depuis le dernier GIC, null s'il n'y en a aucun. */
+    public synchronized String getCellDelta() {
+        StringBuilder packet = new StringBuilder("GIC|");
+        for (Fighter fighter : this.fighters.get()) {
+            if (fighter.getCell() == null)
+                continue;
+            Integer cell = fighter.getCell().getId(), previous = this.cells.put(fighter.getId(), cell);
+            if (!cell.equals(previous))
+                appendCell(packet, fighter.getId(), cell);
+        }
+        return packet.length() == 4 ? null : packet.toString();
+    }
+
+    /** Paquet GIC complet des dernières cellules envoyées. */
+    public synchronized String getCellSnapshot() {
+        StringBuilder packet = new StringBuilder("GIC|");
+        for (Fighter fighter : this.fighters.get()) {
+            Integer cell = this.cells.get(fighter.getId());
+            if (cell != null)
+                appendCell(packet, fighter.getId(), cell);
+        }
+        return packet.toString();
+    }
+
+    /** Paquet GIC d'un seul combattant, retenu comme envoyé. */
+    public synchronized String getCell(Fighter fighter) {
+        this.cells.put(fighter.getId(), fighter.getCell().getId());
+        return appendCell(new StringBuilder("GIC|"), fighter.getId(), fighter.getCell().getId()).toString();
+    }
+
+    private static StringBuilder appendCell(StringBuilder packet, int id, int cell) {
+        return packet.append(id).append(';').append(cell).append(";1|");
+    }
+
+    static String buildTurnEntry(Fighter fighter) {
+        StringBuilder entry = new StringBuilder().append(fighter.getId()).append(';');
+        if (fighter.isDead())
+            return entry.append('1').toString();
+
+        Stats stats = fighter.getTotalStats();
+        entry.append("0;").append(fighter.getPdv()).append(';').append(fighter.getPa(stats)).append(';').append(fighter.getPm(stats)).append(';');
+        entry.append(fighter.isHide() ? -1 : fighter.getCell().getId()).append(';');//On envoie pas la cell d'un invisible :p
+        entry.append(';');//??
+        return entry.append(fighter.getPdvMax()).toString();
+    }
+}
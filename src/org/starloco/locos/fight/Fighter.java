@@ -62,6 +62,7 @@ public class Fighter implements Comparable<Fighter> {
     public World.Couple<Byte, Long> killedBy;
     private boolean hadSober=false;
 	private boolean alreadyPlayed;
+    private volatile boolean turnChanged = true; // Vie, PA/PM, cellule ou buffs modifiés depuis le dernier calcul de l'entrée GTM
 	
 
     public Fighter(Fight f, Monster.MobGrade mob) {
@@ -122,6 +123,20 @@ public class Fighter implements Comparable<Fighter> {
 
     public void setId(int id) {
         this.id = id;
+        this.turnChanged = true;
+    }
+
+    /** Marque l'entrée GTM du combattant comme à recalculer. */
+    public void setTurnChanged() {
+        this.turnChanged = true;
+    }
+
+    /** Vrai si l'entrée GTM est à recalculer ; remis à faux avant le calcul, une modification concurrente le remet à vrai. */
+    boolean pollTurnChanged() {
+        if (!this.turnChanged)
+            return false;
+        this.turnChanged = false;
+        return true;
     }
 
     public boolean canPlay() {
@@ -218,6 +233,7 @@ public class Fighter implements Comparable<Fighter> {
 
     public void setCell(GameCase cell) {
         this.cell = cell;
+        this.turnChanged = true;
     }
 
     public int getPdvMax() {
@@ -228,6 +244,7 @@ public class Fighter implements Comparable<Fighter> {
         this.pdvMax = this.pdvMax - pdv;
         if (this.pdv > this.pdvMax)
             this.pdv = this.pdvMax;
+        this.turnChanged = true;
     }
 
     public int getPdv() {
@@ -236,22 +253,26 @@ public class Fighter implements Comparable<Fighter> {
 
     public void setPdvMax(int pdvMax) {
         this.pdvMax = pdvMax;
+        this.turnChanged = true;
     }
 
     public void setPdv(int pdv) {
         this.pdv = pdv;
         if(this.pdv > this.pdvMax)
             this.pdv = this.pdvMax;
+        this.turnChanged = true;
     }
 
     public void removePdv(Fighter caster, int pdv) {
         if (pdv > 0)
             this.getFight().getAllChallenges().values().stream().filter(challenge -> challenge != null).forEach(challenge -> challenge.onFighterAttacked(caster, this));
         this.pdv -= pdv;
+        this.turnChanged = true;
     }
 
     public void fullPdv() {
         this.pdv = this.pdvMax;
+        this.turnChanged = true;
     }
 
     public boolean isFullPdv() {
@@ -264,6 +285,7 @@ public class Fighter implements Comparable<Fighter> {
 
     public void setIsDead(boolean isDead) {
         this.isDead = isDead;
+        this.turnChanged = true;
     }
 
     public boolean hasLeft() {
@@ -433,10 +455,16 @@ public class Fighter implements Comparable<Fighter> {
         return i;
     }
 
+    /** Liste modifiable des buffs : l'appelant peut en retirer, l'entrée GTM est donc à recalculer. */
     public ArrayList<SpellEffect> getFightBuff() {
+        this.turnChanged = true;
         return this.fightBuffs;
     }
 
+    public List<SpellEffect> viewFightBuff() {
+        return Collections.unmodifiableList(this.fightBuffs);
+    }
+
     private Stats getFightBuffStats() {
         Stats stats = new Stats();
         for (SpellEffect entry : this.fightBuffs)
@@ -512,6 +540,7 @@ public class Fighter implements Comparable<Fighter> {
 
         //Si c'est le jouer actif qui s'autoBuff, on ajoute 1 a la durée
         this.fightBuffs.add(new SpellEffect(effectID, val ,(this.canPlay ? duration + 1 : duration), turns, debuff, caster, args, spellID));
+        this.turnChanged = true;
         if(Main.modDebug)
             System.out.println("- Ajout du Buff "+ effectID +" sur le personnage fighter ("+ this.getId() +") val : "+val+" duration : "+duration+" turns : "+turns+" debuff : "+debuff+" spellid : "+spellID+" args : "+args+" !");
 
@@ -635,10 +664,12 @@ public class Fighter implements Comparable<Fighter> {
             it.remove(effect);
         }
         this.fightBuffs = it;
+        this.turnChanged = true;
         if (this.perso != null && !this.hasLeft) // Envoie les stats au joueurs
             SocketManager.GAME_SEND_STATS_PACKET(this.perso);
     }
     public void debuff() {
+        this.turnChanged = true;
         Iterator<SpellEffect> it = this.fightBuffs.iterator();
         while (it.hasNext()) {
             SpellEffect spellEffect = it.next();
@@ -685,15 +716,16 @@ public class Fighter implements Comparable<Fighter> {
             SocketManager.GAME_SEND_STATS_PACKET(this.perso);
         
         // On re donne aux Fighters les buff car le debuff retire tout dans le client
-        TimerWaiter.addNext(()->{
+        TimerWaiter.addNext(this.fight.wrap(()->{
             for(final SpellEffect spellEffect : this.fightBuffs)
                 sendGIE(spellEffect.getArgs(), spellEffect.getSpell(), spellEffect.getEffectID(), spellEffect.getValue(), spellEffect.getDuration());
-        }, 2500, DataType.FIGHT);
+        }), 2500, DataType.FIGHT);
         
     }
 
     public void refreshEndTurnBuff()
     {
+      this.turnChanged=true;// Durées décrémentées, buffs expirés
       Iterator<SpellEffect> it=this.fightBuffs.iterator();
       while(it.hasNext())
       {
@@ -757,6 +789,7 @@ public class Fighter implements Comparable<Fighter> {
     public void initBuffStats() {
         if (this.type == 1)
             this.fightBuffs.addAll(new ArrayList<>(this.perso.get_buff().values()));
+        this.turnChanged = true;
     }
 
     public void applyBeginningTurnBuff(Fight fight) {
@@ -878,34 +911,43 @@ public class Fighter implements Comparable<Fighter> {
     }
 
     public int getPa() {
+        return this.getPa(this.getTotalStats());
+    }
+
+    /** PA à partir des statistiques totales, pour ne les calculer qu'une fois quand on a aussi besoin des PM. */
+    int getPa(Stats stats) {
         switch (this.type) {
             case 1:
-                return getTotalStats().getEffect(Constant.STATS_ADD_PA);
+                return stats.getEffect(Constant.STATS_ADD_PA);
             case 2:
-                return getTotalStats().getEffect(Constant.STATS_ADD_PA);
+                return stats.getEffect(Constant.STATS_ADD_PA);
 //                        + this.mob.getPa();
             case 5:
-                return getTotalStats().getEffect(Constant.STATS_ADD_PM) + 6;
+                return stats.getEffect(Constant.STATS_ADD_PM) + 6;
             case 7:
-                return getTotalStats().getEffect(Constant.STATS_ADD_PM) + 6;
+                return stats.getEffect(Constant.STATS_ADD_PM) + 6;
             case 10:
-                return getTotalStats().getEffect(Constant.STATS_ADD_PA);
+                return stats.getEffect(Constant.STATS_ADD_PA);
         }
         return 0;
     }
 
     public int getPm() {
+        return this.getPm(this.getTotalStats());
+    }
+
+    int getPm(Stats stats) {
         switch (this.type) {
             case 1: // personnage
-                return getTotalStats().getEffect(Constant.STATS_ADD_PM);
+                return stats.getEffect(Constant.STATS_ADD_PM);
             case 2: // mob
-                return getTotalStats().getEffect(Constant.STATS_ADD_PM);// + this.mob.getPm();
+                return stats.getEffect(Constant.STATS_ADD_PM);// + this.mob.getPm();
             case 5: // perco
-                return getTotalStats().getEffect(Constant.STATS_ADD_PM) + 4;
+                return stats.getEffect(Constant.STATS_ADD_PM) + 4;
             case 7: // prisme
-                return getTotalStats().getEffect(Constant.STATS_ADD_PM);
+                return stats.getEffect(Constant.STATS_ADD_PM);
             case 10: // clone
-                return getTotalStats().getEffect(Constant.STATS_ADD_PM);
+                return stats.getEffect(Constant.STATS_ADD_PM);
         }
         return 0;
     }
@@ -958,7 +1000,7 @@ public class Fighter implements Comparable<Fighter> {
             }
         }
         ArrayList<SpellEffect> buffs = new ArrayList<SpellEffect>();
-        buffs.addAll(getFightBuff());
+        buffs.addAll(viewFightBuff());
         for (SpellEffect SE : buffs) {
             if (SE.getEffectID() == 150)
                 getFightBuff().remove(SE);
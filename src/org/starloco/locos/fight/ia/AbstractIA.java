@@ -1,17 +1,15 @@
 package org.starloco.locos.fight.ia;
 
 import org.starloco.locos.fight.Fight;
+import org.starloco.locos.fight.FightScheduler;
 import org.starloco.locos.fight.Fighter;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Created by Locos on 18/09/2015.
  */
 public abstract class AbstractIA implements IA {
 
-    private final ScheduledExecutorService executor;
+    private final FightScheduler.Lane lane;
 
     protected Fight fight;
     protected Fighter fighter;
@@ -22,11 +20,7 @@ public abstract class AbstractIA implements IA {
         this.fight = fight;
         this.fighter = fighter;
         this.count = count;
-        this.executor = Executors.newSingleThreadScheduledExecutor( r -> {
-            Thread thread = new Thread(r);
-            thread.setName(AbstractIA.class.getName());
-            return thread;
-        });
+        this.lane = fight.getScheduler().newLane();
     }
 
     public Fight getFight() {
@@ -50,17 +44,17 @@ public abstract class AbstractIA implements IA {
             if (this.fighter.haveInvocation()) {
                 this.addNext(() -> {
                     this.fight.endTurn(false, this.fighter);
-                    this.executor.shutdownNow();
+                    this.lane.shutdown();
                 }, 0); // 1000 to 0 by coding mestre (vérifier si à induit des bugs)
             } else {
                 this.fight.endTurn(false, this.fighter);
-                this.executor.shutdownNow();
+                this.lane.shutdown();
             }
         } else {
             if(!this.fight.isFinish())
-                this.addNext(this::endTurn, 0); // 500 to 0 by coding mestre (vérifier si à induit des bugs)
+                this.addNext(this::endTurn, 20); // 500 to 0 by coding mestre, puis 20 : à 0, le thread de l'IA tournait à vide jusqu'à sa prochaine action
             else
-                this.executor.shutdownNow();
+                this.lane.shutdown();
         }
     }
 
@@ -70,11 +64,10 @@ public abstract class AbstractIA implements IA {
     }
 
     public void addNext(Runnable runnable, Integer time) {
-    	while(this.fight.isCurAction() || this.fight.isTraped())
-			try {
-				time -= 20;
-				Thread.sleep(20);
-			} catch (InterruptedException e) {}
-        executor.schedule(runnable,time < 0 ? 0 : time,TimeUnit.MILLISECONDS);
+        if (this.fight.isCurAction() || this.fight.isTraped()) { // Action en cours : nouvel essai dans 20ms, sans bloquer le thread
+            this.lane.schedule(() -> this.addNext(runnable, time - 20), 20);
+            return;
+        }
+        this.lane.schedule(this.fight.wrap(runnable), time < 0 ? 0 : time);
     }
 }
@@ -47,7 +47,7 @@ public class IA2 extends AbstractNeedSpell
       if(dispellTarget!=null)
       {
         ArrayList<SpellEffect> buffs=new ArrayList<SpellEffect>();
-        buffs.addAll(dispellTarget.getFightBuff());
+        buffs.addAll(dispellTarget.viewFightBuff());
         for(SpellEffect SE : buffs)
           enemyBuffInfluence+=Function.getInstance().calculInfluence(SE,this.fighter,dispellTarget);
       }
@@ -56,7 +56,7 @@ public class IA2 extends AbstractNeedSpell
       if(A!=null)
       {
         ArrayList<SpellEffect> buffs=new ArrayList<SpellEffect>();
-        buffs.addAll(A.getFightBuff());
+        buffs.addAll(A.viewFightBuff());
         for(SpellEffect SE : buffs)
           summonerBuffInfluence+=Function.getInstance().calculInfluence(SE,this.fighter,A);
       }
@@ -6,6 +6,7 @@ import org.starloco.locos.fight.ia.AbstractNeedSpell;
 import org.starloco.locos.fight.ia.util.Function;
 import org.starloco.locos.fight.spells.Spell.SortStats;
 import org.starloco.locos.kernel.Config;
+import org.starloco.locos.util.RandomService;
 
 /**
  * Created by Locos on 04/10/2015.
@@ -85,7 +86,7 @@ public class IA78 extends AbstractNeedSpell
 
       if(this.fighter.getCurPm(this.fight)>0&&!action&&!action2)
       {
-        int rng=(int)Math.rint(Math.random()*2);
+        int rng=(int)Math.rint(RandomService.nextDouble()*2);
         if(rng==0)
         {
           this.action2=true;
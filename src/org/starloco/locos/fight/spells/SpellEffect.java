@@ -20,7 +20,6 @@ import org.starloco.locos.game.GameServer;
 import org.starloco.locos.game.world.World;
 import org.starloco.locos.kernel.Constant;
 import org.starloco.locos.area.map.GameCase;
-import org.starloco.locos.util.TimerWaiter;
 
 public class SpellEffect {
 
@@ -4153,12 +4152,8 @@ public class SpellEffect {
 		fight.addFighterInTeam(F, caster.getTeam());
 		String gm = F.getGmPacket('+', true).substring(3);
 		String gtl = fight.getGTL();
-		try {
-			if (this.caster.getMob() != null)
-				Thread.sleep(1000);
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		if (this.caster.getMob() != null)
+			fight.getScheduler().pause(1000);
 
 		SocketManager.GAME_SEND_GA_PACKET_TO_FIGHT(fight, 7, 181, caster.getId() + "", gm);
 		SocketManager.GAME_SEND_GA_PACKET_TO_FIGHT(fight, 7, 999, caster.getId() + "", gtl);
@@ -4907,7 +4902,7 @@ public class SpellEffect {
 	private void applyEffect_784(ArrayList<Fighter> cibles, Fight fight) {
 		Map<Integer, GameCase> origPos = fight.getRholBack(); // les positions de début de combat
 
-		ArrayList<Fighter> list = fight.getFighters(3); // on copie la liste des fighters
+		ArrayList<Fighter> list = new ArrayList<>(fight.getFighters(3)); // on copie la liste des fighters
 		for (int i = 1; i < list.size(); i++)   // on boucle si tout le monde est à la place
 			if (!list.isEmpty())                 // d'un autre
 				for (Fighter F : list) {
@@ -5450,10 +5445,10 @@ public class SpellEffect {
 		// Il est dans un reseau
 		fight.setTraped(true);
 		
-		TimerWaiter.addNext(() -> {
+		fight.getScheduler().schedule(fight.wrap(() -> {
 			Trap.doTraps(fight, fighter);
 			fight.removeTraped();
-		}, time, TimerWaiter.DataType.FIGHT);
+		}), time);
 	}
 
 	private int applyFinalDamage(Fighter caster, int damage){
@@ -3,10 +3,8 @@ package org.starloco.locos.fight.turn;
 import org.starloco.locos.fight.Fight;
 import org.starloco.locos.fight.Fighter;
 import org.starloco.locos.kernel.Constant;
-import org.starloco.locos.util.TimerWaiter;
 
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 public class Turn implements Runnable {
 
@@ -18,8 +16,8 @@ public class Turn implements Runnable {
     public Turn(Fight fight, Fighter fighter) {
         this.fight = fight;
         this.fighter = fighter;
-        TimerWaiter.addNext(this, Constant.TIME_BY_TURN + 2000, TimeUnit.MILLISECONDS, TimerWaiter.DataType.FIGHT);
-        this.start = System.currentTimeMillis();
+        fight.getScheduler().schedule(fight.wrap(this), Constant.TIME_BY_TURN + 2000);
+        this.start = fight.getScheduler().currentTimeMillis();
     }
 
     public long getStartTime() {
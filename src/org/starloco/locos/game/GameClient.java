@@ -3,6 +3,7 @@ package org.starloco.locos.game;
 import org.apache.mina.core.session.IoSession;
 import org.starloco.locos.area.map.GameCase;
 import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.area.map.MapEntryCache;
 import org.starloco.locos.area.map.entity.*;
 import org.starloco.locos.client.Account;
 import org.starloco.locos.client.Player;
@@ -27,11 +28,13 @@ import org.starloco.locos.entity.npc.NpcTemplate;
 import org.starloco.locos.entity.pet.Pet;
 import org.starloco.locos.entity.pet.PetEntry;
 import org.starloco.locos.fight.Fight;
+import org.starloco.locos.fight.FightMetrics;
 import org.starloco.locos.fight.Fighter;
 import org.starloco.locos.fight.spells.GladiatroolSpells;
 import org.starloco.locos.fight.spells.Spell;
 import org.starloco.locos.game.action.ExchangeAction;
 import org.starloco.locos.game.action.GameAction;
+import org.starloco.locos.game.filter.IPInstance;
 import org.starloco.locos.game.world.World;
 import org.starloco.locos.game.world.World.Couple;
 import org.starloco.locos.heros.HeroManager;
@@ -58,6 +61,7 @@ import org.starloco.locos.other.Guild;
 import org.starloco.locos.quest.Quest;
 import org.starloco.locos.quest.Quest_Etape;
 import org.starloco.locos.util.NameGenerator;
+import org.starloco.locos.util.RandomService;
 import org.starloco.locos.util.TimerWaiter;
 import org.starloco.locos.util.lang.Lang;
 
@@ -68,6 +72,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.HashMap;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
@@ -125,12 +130,15 @@ public class GameClient {
     public void parsePacket(String packet) throws InterruptedException {
         this.lastPacketTime = System.currentTimeMillis();
 
-        if (packet.length() > 3 && packet.substring(0, 4).equalsIgnoreCase("ping")) {
+        if (packet.isEmpty())
+            return;
+
+        if (packet.regionMatches(true, 0, "ping", 0, 4)) {
             SocketManager.GAME_SEND_PONG(this);
             return;
         }
 
-        if (packet.length() > 4 && packet.substring(0, 5).equalsIgnoreCase("qping")) {
+        if (packet.regionMatches(true, 0, "qping", 0, 5)) {
             SocketManager.GAME_SEND_QPONG(this);
             return;
         }
@@ -151,91 +159,180 @@ public class GameClient {
                 return;
             }
 
-        
-        switch (packet.charAt(0)) {
-            case 'A':
-                parseAccountPacket(packet);
-                break;
-            case 'B':
-                parseBasicsPacket(packet);
-                break;
-            case 'C':
-                parseConquestPacket(packet);
-                break;
-            case 'c':
-                parseChanelPacket(packet);
-                break;
-            case 'D':
-                parseDialogPacket(packet);
-                break;
-            case 'd':
-                parseDocumentPacket(packet);
-                break;
-            case 'E':
-                parseExchangePacket(packet);
-                break;
-            case 'e':
-                parseEnvironementPacket(packet);
-                break;
-            case 'F':
-                parseFrienDDacket(packet);
-                break;
-            case 'f':
-                parseFightPacket(packet);
-                break;
-            case 'G':
-                parseGamePacket(packet);
-                break;
-            case 'g':
-                parseGuildPacket(packet);
-                break;
-            case 'h':
-                parseHousePacket(packet);
-                break;
-            case 'H':
-                parseDeconnectionPacket(packet);
-                break;
-            case 'i':
-                parseEnemyPacket(packet);
-                break;
-            case 'J':
-                parseJobOption(packet);
-                break;
-            case 'K':
-                parseHouseKodePacket(packet);
-                break;
-            case 'O':
-                parseObjectPacket(packet);
-                break;
-            case 'P':
-                parseGroupPacket(packet);
-                break;
-            case 'R':
-                parseMountPacket(packet);
-                break;
-            case 'Q':
-                parseQuestData(packet);
-                break;
-            case 'S':
-                parseSpellPacket(packet);
-                break;
-            case 'T':
-                parseFoireTroll(packet);
-                break;
-            case 'W':
-                parseWaypointPacket(packet);
-                break;
-            case 'w':
-                parseGladiatroolPacket(packet);
-                break;
-            case 'x': //Equipement rapide
-                parseQuickSetPacket(packet);
-                break;
-           default:
-                break;
+        Route route = getRoute(packet);
+        if (route == null)
+            return;
+
+        Fight fight = this.player != null ? this.player.getFight() : null;
+        long start = System.nanoTime(), cpu = fight != null ? FightMetrics.getCpu() : 0, allocated = fight != null ? FightMetrics.getAllocated() : 0;
+        RandomService.Generator random = fight != null ? RandomService.enter(fight.getRandom()) : null;// Tirages faits avec le générateur du combat
+        boolean failed = true;
+        try {
+            route.handler.handle(this, packet);
+            failed = false;
+        } finally {
+            PacketStats.record(route.stat, System.nanoTime() - start, failed);
+            if (fight != null) {
+                RandomService.exit(random);
+                fight.getMetrics().add(cpu, allocated);// Actions des joueurs imputées au tour en cours
+            }
         }
     }
 
+    /** Traitement d'un opcode : famille (premier caractère), ou opcode complet de deux ou trois caractères. */
+    private interface PacketHandler {
+        void handle(GameClient client, String packet) throws InterruptedException;
+    }
+
+    /** Handler d'un opcode enregistré, avec les statistiques des paquets qu'il traite. */
+    private static class Route {
+        private final PacketHandler handler;
+        private final PacketStats.Stat stat;
+
+        private Route(String opcode, PacketHandler handler) {
+            this.handler = handler;
+            this.stat = PacketStats.getStat(opcode);
+        }
+    }
+
+    private final static Route[] families = new Route[128];
+    private final static Route[] opcodes = new Route[128 * 128];
+    private final static Route[][] subOpcodes = new Route[128 * 128][]; // Troisième caractère
+
+    static {
+        register("AA", GameClient::addCharacter);
+        register("AB", GameClient::boost);
+        register("AD", GameClient::deleteCharacter);
+        register("Af", (client, packet) -> client.getQueuePosition());
+        register("Ag", (client, packet) -> client.getGifts(packet.substring(2)));
+        register("AG", (client, packet) -> client.attributeGiftToCharacter(packet.substring(2)));
+        register("Ai", GameClient::sendIdentity);
+        register("AL", (client, packet) -> client.getCharacters(/*(packet.length() == 2)*/));
+        register("AR", (client, packet) -> client.retry(Integer.parseInt(packet.substring(2))));
+        register("AS", GameClient::setCharacter);
+        register("AT", GameClient::sendTicket);
+        register("AV", (client, packet) -> client.requestRegionalVersion());
+        register("AP", (client, packet) -> client.generateName());
+        register("AE", GameClient::mimibiote);
+        register("B", GameClient::parseBasicsPacket);
+        register("C", GameClient::parseConquestPacket);
+        register("c", GameClient::parseChanelPacket);
+        register("D", GameClient::parseDialogPacket);
+        register("d", GameClient::parseDocumentPacket);
+        register("EA", exchange((client, packet) -> client.accept()));//Accepter demande d'échange
+        register("EB", exchange(GameClient::buy));//Achat
+        register("EH", exchange(GameClient::bigStore));//Demande prix moyen + catégorie
+        register("EK", exchange((client, packet) -> client.ready()));//Ok
+        register("EL", exchange((client, packet) -> client.replayCraft()));//jobAction : Refaire le craft précedent
+        register("EM", exchange(GameClient::movementItemOrKamas));//Move (Ajouter/retirer un objet a l'échange)
+        register("EP", exchange((client, packet) -> client.movementItemOrKamasDons(packet.substring(2))));
+        register("Eq", exchange((client, packet) -> client.askOfflineExchange()));//Mode marchand (demande de la taxe)
+        register("EQ", exchange((client, packet) -> client.offlineExchange()));//Mode marchand (Si valider après la taxe)
+        register("Er", exchange(GameClient::putInInventory));//Rides => Monture
+        register("Ef", exchange(GameClient::putInMountPark));//Etable => Enclos
+        register("ER", exchange(GameClient::request));//liste d'achat NPC
+        register("ES", exchange(GameClient::sell));//Vente
+        register("EJ", exchange(GameClient::bookOfArtisant));//Livre artisant
+        register("EW", exchange(GameClient::setPublicMode));//Metier public
+        register("EV", exchange((client, packet) -> GameClient.leaveExchange(client.player)));//Fin de l'échange
+        register("e", GameClient::parseEnvironementPacket);
+        register("F", GameClient::parseFrienDDacket);
+        register("f", GameClient::parseFightPacket);
+        register("G", (client, packet) -> { // Pour éviter map noir client > 1.34
+            if (packet.length() > 1 && packet.charAt(1) == 1030) client.getExtraInformations();
+        });
+        register("GA", (client, packet) -> {
+            if (client.player != null) client.sendActions(packet);
+        });
+        register("GC", (client, packet) -> {
+            if (client.player != null) client.player.sendGameCreate();
+        });
+        register("Gd", GameClient::showMonsterTarget);
+        register("Gf", GameClient::setFlag);
+        register("GF", (client, packet) -> client.player.setGhost());
+        register("GI", (client, packet) -> client.getExtraInformations());
+        register("GK", GameClient::actionAck);
+        register("GP", (client, packet) -> client.player.toggleWings(packet.charAt(2)));//PvP Toogle
+        register("Gp", GameClient::setPlayerPosition);
+        register("GQ", GameClient::leaveFight);
+        register("GR", GameClient::readyFight);
+        register("Gt", (client, packet) -> {
+            if (client.player.getFight() != null) client.player.getFight().playerPass(client.player);
+        });
+        register("g", GameClient::parseGuildPacket);
+        register("h", GameClient::parseHousePacket);
+        register("H", GameClient::parseDeconnectionPacket);
+        register("i", GameClient::parseEnemyPacket);
+        register("J", GameClient::parseJobOption);
+        register("K", GameClient::parseHouseKodePacket);
+        register("Od", GameClient::destroyObject);
+        register("OD", GameClient::dropObject);
+        register("OM", GameClient::movementObject);
+        register("OU", GameClient::useObject);
+        register("Ox", GameClient::dissociateObvi);
+        register("Of", GameClient::feedObvi);
+        register("Os", GameClient::setSkinObvi);
+        register("OrA", (client, packet) -> client.addToShortcutObject(packet.substring(3)));
+        register("OrM", (client, packet) -> client.moveShortcutObject(packet.substring(3)));//ShortcutMove
+        register("OrR", (client, packet) -> client.deleteShortcutObject(packet.substring(3)));//ShortcutDelete
+        register("P", GameClient::parseGroupPacket);
+        register("R", GameClient::parseMountPacket);
+        register("Q", GameClient::parseQuestData);
+        register("S", GameClient::parseSpellPacket);
+        register("T", GameClient::parseFoireTroll);
+        register("W", GameClient::parseWaypointPacket);
+        register("w", GameClient::parseGladiatroolPacket);
+        register("x", GameClient::parseQuickSetPacket); // Equipement rapide
+    }
+
+    private static void register(String opcode, PacketHandler handler) {
+        Route route = new Route(opcode, handler);
+        if (opcode.length() == 1) {
+            families[opcode.charAt(0)] = route;
+        } else if (opcode.length() == 2) {
+            opcodes[opcode.charAt(0) * 128 + opcode.charAt(1)] = route;
+        } else {
+            int index = opcode.charAt(0) * 128 + opcode.charAt(1);
+            if (subOpcodes[index] == null)
+                subOpcodes[index] = new Route[128];
+            subOpcodes[index][opcode.charAt(2)] = route;
+        }
+    }
+
+    /** Opcode le plus long enregistré pour ce paquet, null s'il n'y en a aucun. */
+    private static Route getRoute(String packet) {
+        char family = packet.charAt(0);
+        if (family >= 128)
+            return null;
+        if (packet.length() > 1 && packet.charAt(1) < 128) {
+            int index = family * 128 + packet.charAt(1);
+            Route[] sub = subOpcodes[index];
+            if (sub != null && packet.length() > 2 && packet.charAt(2) < 128 && sub[packet.charAt(2)] != null)
+                return sub[packet.charAt(2)];
+            if (opcodes[index] != null)
+                return opcodes[index];
+        }
+        return families[family];
+    }
+
+    /** Les paquets d'échange d'un client sont traités un à un, et jamais pour un personnage mort. */
+    private static PacketHandler exchange(PacketHandler handler) {
+        return (client, packet) -> {
+            synchronized (client) {
+                if (client.player.isDead() != 1)
+                    handler.handle(client, packet);
+            }
+        };
+    }
+
+    private void generateName() {
+        String name = NameGenerator.nameGenerator
+                .compose((int)(
+                        Math.random() * 3 +
+                                Formulas.getRandomValue(1, 5)));
+        SocketManager.send(this, "APK" + name);
+    }
+
     // Equipement rapide
     private void parseQuickSetPacket(String packet) {
         System.out.println(packet);
@@ -459,59 +556,6 @@ public class GameClient {
     /**
      * AccountPacket *
      */
-    private void parseAccountPacket(String packet) {
-        switch (packet.charAt(1)) {
-            case 'A':
-                addCharacter(packet);
-                break;
-            case 'B':
-                boost(packet);
-                break;
-            case 'D':
-                deleteCharacter(packet);
-                break;
-            case 'f':
-                getQueuePosition();
-                break;
-            case 'g':
-                getGifts(packet.substring(2));
-                break;
-            case 'G':
-                attributeGiftToCharacter(packet.substring(2));
-                break;
-            case 'i':
-                sendIdentity(packet);
-                break;
-            case 'k':
-                //setKeyIndex(Byte.parseByte(packet.substring(2), 16));
-                break;
-            case 'L':
-                getCharacters(/*(packet.length() == 2)*/);
-                break;
-            case 'R':
-                retry(Integer.parseInt(packet.substring(2)));
-                break;
-            case 'S':
-                setCharacter(packet);
-                break;
-            case 'T':
-                sendTicket(packet);
-                break;
-            case 'V':
-                requestRegionalVersion();
-                break;
-            case 'P':
-                String name = NameGenerator.nameGenerator
-                        .compose((int)(
-                                Math.random() * 3 +
-                                        Formulas.getRandomValue(1, 5)));
-                SocketManager.send(this, "APK" + name);
-                break;
-            case 'E':
-            	mimibiote(packet);
-            	break;
-        }
-    }
     
     private void mimibiote(String packet) {
     	switch (packet.charAt(2)) {
@@ -606,7 +650,7 @@ public class GameClient {
     	if(!item.isMimibiote()) return;
     	
     	final GameObject mimibiote = World.world.getObjTemplate(Constant.ID_TEMPLATE_MIMIBIOTE).createNewItem(1, false);
-    	final int idApparat = Integer.parseInt(item.getTxtStat().get(Constant.STATS_MIMIBIOTE).split(";")[0], 16);
+    	final int idApparat = Integer.parseInt(item.viewTxtStat().get(Constant.STATS_MIMIBIOTE).split(";")[0], 16);
     	final GameObject apparat = World.world.getGameObject(idApparat);
     	
     	if(apparat == null)
@@ -901,17 +945,11 @@ public class GameClient {
                     return;
                 }
 
+                IPInstance instance = IPInstance.of(this.session);
                 if(Main.serverId == 37 && !this.account.isSubscribeWithoutCondition()) {
-                    byte i = 0;
-                    for(GameClient client : Main.gameServer.getClients()) {
-                        if(client.getAccount() != null && client.getAccount().getCurrentIp() != null)
-                        if (client.getAccount().getCurrentIp().equals(ip)) {
-                            i++;
-                            if( i == 2) {
-                                this.kick();
-                                return;
-                            }
-                        }
+                    if(instance != null && instance.getAccounts() >= 2) {
+                        this.kick();
+                        return;
                     }
                 }
 
@@ -920,6 +958,7 @@ public class GameClient {
 
                 this.account.setGameClient(this);
                 this.account.setCurrentIp(ip);
+                if(instance != null) instance.authenticate(this.session);
                 Database.getStatics().getAccountData().setLogged(this.account.getId(), 1);
 
                 if (Logging.USE_LOG) Logging.getInstance().write("AccountIpConnect", this.account.getName() + " > " + ip);
@@ -940,7 +979,7 @@ public class GameClient {
     private static String generateKey() {
         String key = "";
         for (int i = 0; i < 32; i++)
-            key = key.concat(String.valueOf(CryptManager.HASH[Formulas.random.nextInt(CryptManager.HASH.length - 1)]));
+            key = key.concat(String.valueOf(CryptManager.HASH[RandomService.nextInt(CryptManager.HASH.length - 1)]));
         return key;
     }
     /** Fin Account Packet **/
@@ -1708,7 +1747,7 @@ public class GameClient {
             if (answerId == 6604 || answerId == 6605) {
                 String stats = "", statsReplace = "";
                 if (this.player.hasItemTemplate(10207, 1))
-                    stats = this.player.getItemTemplate(10207).getTxtStat().get(Constant.STATS_NAME_DJ);
+                    stats = this.player.getItemTemplate(10207).viewTxtStat().get(Constant.STATS_NAME_DJ);
                 try {
                     for(String answer0 : question.getAnwsers().split(";")) {
                         for (Action action : World.world.getNpcAnswer(Integer.parseInt(answer0)).getActions()) {
@@ -1741,7 +1780,7 @@ public class GameClient {
                 SocketManager.GAME_SEND_UPDATE_ITEM(this.player, this.player.getItemTemplate(10207));
             } else if (answerId == 4628) {
                 if (this.player.hasItemTemplate(9487, 1)) {
-                    String date = this.player.getItemTemplate(9487, 1).getTxtStat().get(Constant.STATS_DATE);
+                    String date = this.player.getItemTemplate(9487, 1).viewTxtStat().get(Constant.STATS_DATE);
                     long timeStamp = Long.parseLong(date);
                     if (System.currentTimeMillis() - timeStamp <= 1209600000) {
                         new Action(1, "5522", "", World.world.getMap((short) 10255)).apply(this.player, null, -1, -1);
@@ -1799,61 +1838,6 @@ public class GameClient {
     /**
      * Exchange Packet *
      */
-    private synchronized void parseExchangePacket(String packet) {
-        if (this.player.isDead() == 1)
-            return;
-        switch (packet.charAt(1)) {
-            case 'A'://Accepter demande d'échange
-                accept();
-                break;
-            case 'B'://Achat
-                buy(packet);
-                break;
-            case 'H'://Demande prix moyen + catégorie
-                bigStore(packet);
-                break;
-            case 'K'://Ok
-                ready();
-                break;
-            case 'L'://jobAction : Refaire le craft précedent
-                replayCraft();
-                break;
-            case 'M'://Move (Ajthiser//retirer un objet a l'échange)
-                movementItemOrKamas(packet);
-                break;
-            case 'P':
-                movementItemOrKamasDons(packet.substring(2));
-                break;
-            case 'q'://Mode marchand (demande de la taxe)
-                askOfflineExchange();
-                break;
-            case 'Q'://Mode marchand (Si valider après la taxe)
-                offlineExchange();
-                break;
-            case 'r'://Rides => Monture
-                putInInventory(packet);
-                break;
-            case 'f'://Etable => Enclos
-                putInMountPark(packet);
-                break;
-            case 'R'://liste d'achat NPC
-                request(packet);
-                break;
-            case 'S'://Vente
-                sell(packet);
-                break;
-            case 'J'://Livre artisant
-                bookOfArtisant(packet);
-                break;
-            case 'W'://Metier public
-                setPublicMode(packet);
-                break;
-            case 'V'://Fin de l'échange
-                leaveExchange(this.player);
-                break;
-        }
-    }
-
     private void accept() {
         ExchangeAction<?> checkExchangeAction = this.player.getExchangeAction();
 
@@ -2258,7 +2242,7 @@ public class GameClient {
                     int type = object.getTemplate().getType();
                     if (type > 11 && type < 16 && type > 23 && type != 81 && type != 82)
                         continue;
-                    for (Map.Entry<Integer, Integer> entry1 : object.getStats().getMap().entrySet()) {
+                    for (Map.Entry<Integer, Integer> entry1 : object.viewStats().getMap().entrySet()) {
                         int jet = entry1.getValue();
                         for (Rune rune : Rune.runes) {
                             if (entry1.getKey() == rune.getCharacteristic()) {
@@ -2991,8 +2975,8 @@ public class GameClient {
                             case '-'://Retirer de la banque
                                 GameObject object = World.world.getGameObject(guid);
                                 if(object != null) {
-                                    if (object.getTxtStat().containsKey(Constant.STATS_OWNER_1)) {
-                                        Player player = World.world.getPlayerByName(object.getTxtStat().get(Constant.STATS_OWNER_1));
+                                    if (object.viewTxtStat().containsKey(Constant.STATS_OWNER_1)) {
+                                        Player player = World.world.getPlayerByName(object.viewTxtStat().get(Constant.STATS_OWNER_1));
                                         if (player != null) {
                                             if (!player.getName().equals(this.player.getName()))
                                                 return;
@@ -3259,7 +3243,7 @@ public class GameClient {
                     }
 
                     GameObject object = World.world.getGameObject(id);
-                    Mount mount = World.world.getMountById(- object.getStats().getEffect(995));
+                    Mount mount = World.world.getMountById(- object.viewStats().getEffect(995));
 
                     if(mount == null)
                         return;
@@ -3911,7 +3895,7 @@ public class GameClient {
                 player.send("EV");
                 ArrayList<GameObject> objects = new ArrayList<>();
                 for(GameObject object : player.getItems().values()) {
-                    Mount mount = World.world.getMountById(- object.getStats().getEffect(995));
+                    Mount mount = World.world.getMountById(- object.viewStats().getEffect(995));
 
                     if(mount == null && object.getTemplate().getType() == Constant.ITEM_TYPE_CERTIF_MONTURE)
                         objects.add(object);
@@ -4270,55 +4254,6 @@ public class GameClient {
     /**
      * Game Packet *
      */
-    private void parseGamePacket(String packet) {
-        switch (packet.charAt(1)) {
-            case 'A':
-                if (this.player != null)
-                    sendActions(packet);
-                break;
-            case 'C':
-                if (this.player != null)
-                    this.player.sendGameCreate();
-                break;
-            case 'd':
-                showMonsterTarget(packet);
-                break;
-            case 'f':
-                setFlag(packet);
-                break;
-            case 'F':
-                this.player.setGhost();
-                break;
-            case 'I':
-                getExtraInformations();
-                break;
-            case 'K':
-                actionAck(packet);
-                break;
-            case 'P'://PvP Toogle
-                this.player.toggleWings(packet.charAt(2));
-                break;
-            case 'p':
-                setPlayerPosition(packet);
-                break;
-            case 'Q':
-                leaveFight(packet);
-                break;
-            case 'R':
-                readyFight(packet);
-                break;
-            case 't':
-                if (this.player.getFight() != null)
-                    this.player.getFight().playerPass(this.player);
-                break;
-                // Pour éviter map noir client > 1.34
-            default:
-                if((int)packet.charAt(1) == 1030) getExtraInformations();
-                break;
-             // Pour éviter map noir client > 1.34
-        }
-    }
-
     private synchronized void sendActions(String packet) {
         if (this.player.getDoAction()) { // Évite l'empilement d'actions si une animation est encore en cours
             SocketManager.GAME_SEND_GA_PACKET(this, "", "0", "", "");
@@ -4985,6 +4920,8 @@ public class GameClient {
             InteractiveDoor.show(this.player);
             //Prisme
             World.world.showPrismes(this.player);
+            MapEntryCache.onEntry();
+            Set<Integer> templates = this.player.getCurMap().getInteractiveTemplates();
             for (Player player : this.player.getCurMap().getPlayers()) {
                 ArrayList<Job> jobs = player.getJobs();
 
@@ -5002,19 +4939,14 @@ public class GameClient {
                         if (!job.isValidTool(object.getTemplate().getId()))
                             continue;
 
-                        for (GameCase cell : this.player.getCurMap().getCases()) {
-                            if (cell.getObject() != null) {
-                                if (cell.getObject().getTemplate() != null) {
-                                    int io = cell.getObject().getTemplate().getId();
-                                    ArrayList<Integer> skills = job.getSkills().get(io);
-
-                                    if (skills != null)
-                                        for (int skill : skills)
-                                            if (!data.contains(String.valueOf(skill)))
-                                                data += (data.isEmpty() ? skill : ";"
-                                                        + skill);
-                                }
-                            }
+                        for (int io : templates) {
+                            ArrayList<Integer> skills = job.getSkills().get(io);
+
+                            if (skills != null)
+                                for (int skill : skills)
+                                    if (!data.contains(String.valueOf(skill)))
+                                        data += (data.isEmpty() ? skill : ";"
+                                                + skill);
                         }
 
                         if (!data.isEmpty())
@@ -6066,49 +5998,6 @@ public class GameClient {
     /**
      * Object Packet *
      */
-    private void parseObjectPacket(String packet) {
-        switch (packet.charAt(1)) {
-            case 'd':
-                destroyObject(packet);
-                break;
-            case 'D':
-                dropObject(packet);
-                break;
-            case 'M':
-                movementObject(packet);
-                break;
-            case 'U':
-                useObject(packet);
-                break;
-            case 'x':
-                dissociateObvi(packet);
-                break;
-            case 'f':
-                feedObvi(packet);
-                break;
-            case 's':
-                setSkinObvi(packet);
-                break;
-            case 'r':
-                switch (packet.charAt(2)) {
-                    case 'A':
-                        addToShortcutObject(packet.substring(3));
-                        break;
-                    case 'M':
-                        //ShortcutMove
-                        moveShortcutObject(packet.substring(3));
-                        break;
-                    case 'R':
-                        //ShortcutDelete
-                        deleteShortcutObject(packet.substring(3));
-                        break;
-                    default:
-                        break;
-                }
-                break;
-        }
-    }
-
     private void deleteShortcutObject(String packet){
         int position = Integer.parseInt(packet);
         Shortcuts shortcut = World.world.getShortcutsFromPlayerByPosition(getPlayer(), position);
@@ -6287,11 +6176,13 @@ public class GameClient {
         if (qua >= obj.getQuantity()) {
             this.player.removeItem(guid);
             this.player.getCurMap().getCase(cellPosition).addDroppedItem(obj);
+            this.player.getCurMap().invalidateEntryCache(MapEntryCache.Section.FLOOR);
             SocketManager.GAME_SEND_REMOVE_ITEM_PACKET(this.player, guid);
         } else {
             obj.setQuantity(obj.getQuantity() - qua);
             GameObject obj2 = GameObject.getCloneObjet(obj, qua);
             this.player.getCurMap().getCase(cellPosition).addDroppedItem(obj2);
+            this.player.getCurMap().invalidateEntryCache(MapEntryCache.Section.FLOOR);
             SocketManager.GAME_SEND_OBJECT_QUANTITY_PACKET(this.player, obj);
         }
         if (Logging.USE_LOG)
@@ -6389,11 +6280,11 @@ public class GameClient {
     {
     	
     	final ObjectTemplate objTemplate = object.getTemplate();
-    	if(object.getSortStats().isEmpty()) return;
+    	if(object.viewSortStats().isEmpty()) return;
     	
     	
     	if (position != Constant.ITEM_POS_NO_EQUIPED) {
-            for (final String stat : object.getSortStats()) {
+            for (final String stat : object.viewSortStats()) {
                 final String[] val = stat.split("#");
                 final int effect = Integer.parseInt(val[0], 16);
                 final int spell = Integer.parseInt(val[1], 16);
@@ -6405,7 +6296,7 @@ public class GameClient {
             this.player.addItemClasse(objTemplate.getId());
         }
     	else{
-            for (final String stat : object.getSortStats()) {
+            for (final String stat : object.viewSortStats()) {
                 final String[] val = stat.split("#");
                 final String modifi = Integer.parseInt(val[0], 16) + ";" + Integer.parseInt(val[1], 16) + ";0";
                 SocketManager.SEND_SB_SPELL_BOOST(this.player, modifi);
@@ -20,21 +20,15 @@ public class GameHandler implements IoHandler {
     @Override
     public void messageReceived(IoSession ioSession, Object response) throws Exception {
         GameClient client = (GameClient) ioSession.getAttribute("client");
-        String packet = (String) response;
-        String[] s = packet.split("\n");
+        String packet = (String) response; // Un seul paquet, déjà découpé par GameCodecFactory
 
-        int i = 0;
-        do {
-
-            if(s[i].contains("ù")){
-                s[i] = s[i].split("ù")[2];
-            }
+        if(packet.indexOf('ù') != -1) {
+            packet = packet.split("ù")[2];
+        }
 
-            client.parsePacket(s[i]);
-            if (Main.modDebug)
-                World.world.logger.trace((client.getPlayer() == null ? "" : client.getPlayer().getName()) + " <-- " + s[i]);
-            i++;
-        } while (i == s.length - 1);
+        client.parsePacket(packet);
+        if (Main.modDebug)
+            World.world.logger.trace((client.getPlayer() == null ? "" : client.getPlayer().getName()) + " <-- " + packet);
     }
 
 
@@ -1,20 +1,23 @@
 package org.starloco.locos.game;
 
 import org.apache.mina.core.session.IdleStatus;
+import org.apache.mina.core.session.IoSession;
 import org.starloco.locos.client.Account;
 import org.starloco.locos.client.Player;
+import org.starloco.locos.game.filter.GameCodecFactory;
+import org.starloco.locos.game.filter.IPFilter;
+import org.starloco.locos.game.filter.IPInstance;
+import org.starloco.locos.game.filter.SessionExecutorFilter;
 import org.starloco.locos.game.world.World;
+import org.starloco.locos.kernel.Config;
 import org.starloco.locos.kernel.Main;
 import org.apache.mina.core.service.IoAcceptor;
 import org.apache.mina.filter.codec.ProtocolCodecFilter;
-import org.apache.mina.filter.codec.textline.LineDelimiter;
-import org.apache.mina.filter.codec.textline.TextLineCodecFactory;
 import org.apache.mina.transport.socket.nio.NioSocketAcceptor;
 
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.stream.Collectors;
@@ -29,7 +32,11 @@ public class GameServer {
     public GameServer() {
         Main.gameServer = this;
         this.acceptor = new NioSocketAcceptor();
-        this.acceptor.getFilterChain().addLast("codec", new ProtocolCodecFilter(new TextLineCodecFactory(Charset.forName("UTF8"), LineDelimiter.NUL, new LineDelimiter("\n\0"))));
+        this.acceptor.getFilterChain().addLast("ip", new IPFilter());
+        this.acceptor.getFilterChain().addLast("codec", new ProtocolCodecFilter(new GameCodecFactory()));
+        Config config = Config.getInstance();
+        if (config.gameWorkers > 0 || config.gameVirtualThreads)
+            this.acceptor.getFilterChain().addLast("executor", new SessionExecutorFilter(Math.max(1, config.gameWorkers), config.gameVirtualThreads, config.sessionQueueLimit, config.sessionFloodKick));
         this.acceptor.getSessionConfig().setIdleTime(IdleStatus.BOTH_IDLE, 60 * 10 /*10 Minutes*/);
         this.acceptor.setHandler(new GameHandler());
     }
@@ -63,13 +70,16 @@ public class GameServer {
         return acceptor.getManagedSessions().values().stream().filter(session -> session.getAttribute("client") != null).map(session -> (GameClient) session.getAttribute("client")).collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /** Plus longue file de paquets en attente parmi les sessions connectées. */
+    public int getDeepestSessionQueue() {
+        int deepest = 0;
+        for (IoSession session : this.acceptor.getManagedSessions().values())
+            deepest = Math.max(deepest, SessionExecutorFilter.getQueueDepth(session));
+        return deepest;
+    }
+
     public int getPlayersNumberByIp() {
-        ArrayList<String> IPS = new ArrayList<>();
-        this.getClients().stream().filter(client -> client != null && client.getAccount() != null).forEach(client -> {
-            String IP = client.getAccount().getCurrentIp();
-            if (!IP.equalsIgnoreCase("") && !IPS.contains(IP)) IPS.add(IP);
-        });
-        return IPS.size();
+        return IPInstance.getAuthenticatedIps();
     }
 
     public static String getServerTime() {
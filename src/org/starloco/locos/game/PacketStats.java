@@ -0,0 +1,107 @@
+package org.starloco.locos.game;
+
+import org.starloco.locos.game.scheduler.Updatable;
+import org.starloco.locos.game.world.World;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistiques des paquets reçus, par opcode traité (famille d'un caractère, ou opcode de deux ou trois caractères) :
+ * nombre, erreurs et histogramme de latence. Le compteur de chaque opcode est obtenu une fois, à l'enregistrement de
+ * son handler : l'enregistrement d'un paquet n'alloue rien.
+ */
+public class PacketStats {
+
+    private final static int BUCKETS = 24; // Puissances de 2 en microsecondes : < 1µs ... >= 2^22µs (~4s)
+    private final static Map<String, Stat> stats = new ConcurrentHashMap<>();
+
+    public final static Updatable updatable = new Updatable(600000) {
+        @Override
+        public void update() {
+            if (this.verify()) {
+                List<Stat> top = PacketStats.getSlowest(10);
+                if (!top.isEmpty()) {
+                    World.world.logger.info("Slowest packets (by total time) :");
+                    for (Stat stat : top)
+                        World.world.logger.info("  " + stat);
+                }
+            }
+        }
+
+        @Override
+        public Object get() {
+            return null;
+        }
+    };
+
+    public static class Stat {
+        private final String opcode;
+        private final LongAdder count = new LongAdder(), errors = new LongAdder(), nanos = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        private Stat(String opcode) {
+            this.opcode = opcode;
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        public long getErrors() {
+            return this.errors.sum();
+        }
+
+        public long getTotalMicros() {
+            return this.nanos.sum() / 1000;
+        }
+
+        /** Borne haute, en microsecondes, du seau contenant le percentile demandé. */
+        public long getPercentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) total += this.histogram.get(i);
+            long rank = (long) Math.ceil(total * percentile), seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += this.histogram.get(i);
+                if (seen >= rank && seen > 0)
+                    return 1L << i;
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            long count = this.getCount();
+            return this.opcode + " : " + count + " packets, " + this.getErrors() + " errors, avg " + (this.getTotalMicros() / Math.max(1, count))
+                    + "us, p50 <" + this.getPercentile(0.5) + "us, p99 <" + this.getPercentile(0.99) + "us, total " + (this.getTotalMicros() / 1000) + "ms";
+        }
+    }
+
+    /** Compteurs de l'opcode, créés au premier appel. */
+    public static Stat getStat(String opcode) {
+        return stats.computeIfAbsent(opcode, Stat::new);
+    }
+
+    public static void record(Stat stat, long nanos, boolean failed) {
+        stat.count.increment();
+        stat.nanos.add(nanos);
+        if (failed) stat.errors.increment();
+
+        long micros = nanos / 1000;
+        int bucket = micros == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        stat.histogram.incrementAndGet(bucket);
+    }
+
+    public static List<Stat> getSlowest(int limit) {
+        List<Stat> list = new ArrayList<>();
+        for (Stat stat : stats.values())
+            if (stat.getCount() > 0) list.add(stat);
+        list.sort(Comparator.comparingLong(Stat::getTotalMicros).reversed());
+        return list.size() > limit ? new ArrayList<>(list.subList(0, limit)) : list;
+    }
+}
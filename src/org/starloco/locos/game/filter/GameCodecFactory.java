@@ -0,0 +1,84 @@
+package org.starloco.locos.game.filter;
+
+import org.apache.mina.core.buffer.IoBuffer;
+import org.apache.mina.core.session.IoSession;
+import org.apache.mina.filter.codec.*;
+import org.apache.mina.filter.codec.textline.LineDelimiter;
+import org.apache.mina.filter.codec.textline.TextLineEncoder;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codec du serveur de jeu : les paquets sortants sont terminés par NUL, les paquets entrants par "\n\0"
+ * et peuvent en regrouper plusieurs séparés par "\n". Chaque paquet est remis au handler séparément, dans l'ordre.
+ */
+public class GameCodecFactory implements ProtocolCodecFactory {
+
+    public final static int MAX_PACKET_LENGTH = 1024;
+
+    private final ProtocolEncoder encoder = new TextLineEncoder(StandardCharsets.UTF_8, LineDelimiter.NUL);
+    private final ProtocolDecoder decoder = new Decoder();
+
+    @Override
+    public ProtocolEncoder getEncoder(IoSession session) {
+        return encoder;
+    }
+
+    @Override
+    public ProtocolDecoder getDecoder(IoSession session) {
+        return decoder;
+    }
+
+    /**
+     * Les octets reçus sont cumulés par MINA dans un tampon propre à la session et réutilisé ;
+     * on y cherche directement le NUL final sans passer par une chaîne intermédiaire.
+     */
+    private static class Decoder extends CumulativeProtocolDecoder {
+
+        @Override
+        protected boolean doDecode(IoSession session, IoBuffer in, ProtocolDecoderOutput out) throws Exception {
+            int start = in.position(), limit = in.limit(), end = -1;
+
+            for (int i = start; i < limit; i++) {
+                if (in.get(i) == 0) {
+                    end = i;
+                    break;
+                }
+            }
+
+            if (end == -1) {
+                if (limit - start > MAX_PACKET_LENGTH)
+                    throw new ProtocolDecoderException("Packet too long (" + (limit - start) + " bytes without delimiter)");
+                return false;
+            }
+
+            // Un "\n\0" final ou plusieurs paquets séparés par "\n" : on découpe sur '\n' en ignorant les segments vides
+            int from = start;
+            for (int i = start; i <= end; i++) {
+                if (i == end || in.get(i) == '\n') {
+                    if (i > from) {
+                        if (i - from > MAX_PACKET_LENGTH)
+                            throw new ProtocolDecoderException("Packet too long (" + (i - from) + " bytes)");
+                        out.write(decode(in, from, i - from));
+                    }
+                    from = i + 1;
+                }
+            }
+
+            in.position(end + 1);
+            return true;
+        }
+
+        private static String decode(IoBuffer in, int offset, int length) {
+            if (in.hasArray())
+                return new String(in.array(), in.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+
+            byte[] bytes = new byte[length];
+            int position = in.position();
+            in.position(offset);
+            in.get(bytes, 0, length);
+            in.position(position);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.starloco.locos.game.filter;
+
+import org.apache.mina.core.buffer.IoBuffer;
+import org.apache.mina.core.filterchain.IoFilterAdapter;
+import org.apache.mina.core.session.IoSession;
+import org.starloco.locos.game.world.World;
+import org.starloco.locos.kernel.Config;
+import org.starloco.locos.util.TimerWaiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Premier filtre du serveur de jeu, avant le décodage : refuse les connexions d'une adresse trop insistante
+ * et ralentit la lecture des sessions dont l'adresse dépasse son débit de paquets.
+ */
+public class IPFilter extends IoFilterAdapter {
+
+    private final static int KICK_SECONDS = 5; // Découvert, en secondes de débit, au-delà duquel la session est fermée
+    private final static AtomicLong rejected = new AtomicLong(), throttled = new AtomicLong(), kicked = new AtomicLong();
+    private final AtomicInteger created = new AtomicInteger();
+
+    @Override
+    public void sessionCreated(NextFilter nextFilter, IoSession session) throws Exception {
+        Config config = Config.getInstance();
+        if ((this.created.incrementAndGet() & 255) == 0)
+            IPInstance.purge();
+
+        if (!IPInstance.open(session, config.ipConnectionsPerMinute, config.ipPacketsPerSecond, config.ipMaxConnections)) {
+            rejected.incrementAndGet();
+            session.closeNow();
+            return;
+        }
+        nextFilter.sessionCreated(session);
+    }
+
+    @Override
+    public void messageReceived(NextFilter nextFilter, IoSession session, Object message) throws Exception {
+        IPInstance instance = IPInstance.of(session);
+        if (instance == null) // Connexion refusée, en cours de fermeture
+            return;
+
+        if (message instanceof IoBuffer) {
+            IoBuffer buffer = (IoBuffer) message;
+            int packets = 0;
+            for (int i = buffer.position(); i < buffer.limit(); i++)
+                if (buffer.get(i) == 0) packets++;
+
+            double balance = instance.takePackets(packets);
+            if (balance < 0) {
+                double rate = instance.getPacketRate();
+                if (-balance > rate * KICK_SECONDS) {
+                    kicked.incrementAndGet();
+                    World.world.logger.info("Session " + session.getId() + " (" + instance.getIp() + ") kicked : packet flood.");
+                    session.closeNow();
+                    return;
+                }
+                // On cesse de lire la socket le temps de rembourser le découvert : le client est freiné par TCP
+                throttled.incrementAndGet();
+                session.suspendRead();
+                TimerWaiter.addNext(session::resumeRead, (long) (-balance / rate * 1000) + 1, TimerWaiter.DataType.CLIENT);
+            }
+        }
+        nextFilter.messageReceived(session, message);
+    }
+
+    @Override
+    public void sessionClosed(NextFilter nextFilter, IoSession session) throws Exception {
+        IPInstance instance = IPInstance.of(session);
+        if (instance != null)
+            instance.close(session);
+        nextFilter.sessionClosed(session);
+    }
+
+    public static long getRejected() {
+        return rejected.get();
+    }
+
+    public static long getThrottled() {
+        return throttled.get();
+    }
+
+    public static long getKicked() {
+        return kicked.get();
+    }
+}
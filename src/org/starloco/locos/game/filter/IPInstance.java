@@ -1,7 +1,154 @@
 package org.starloco.locos.game.filter;
 
+import org.apache.mina.core.session.IoSession;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Created by Locos on 08/05/2016.
+ *
+ * État d'une adresse IP : connexions ouvertes, comptes authentifiés et seaux à jetons
+ * limitant le rythme des connexions et des paquets. Tenu à jour par {@link IPFilter}.
  */
 public class IPInstance {
+
+    private final static String ATTRIBUTE = "ip.instance", AUTHENTICATED = "ip.authenticated";
+    private final static Map<String, IPInstance> instances = new ConcurrentHashMap<>();
+
+    private final String ip;
+    private final boolean local;
+    private final Bucket connectionBucket, packetBucket;
+    private int connections = 0, accounts = 0;
+
+    private IPInstance(String ip, int connectionsPerMinute, int packetsPerSecond) {
+        this.ip = ip;
+        this.local = ip.equals("127.0.0.1") || ip.equals("0:0:0:0:0:0:0:1");
+        this.connectionBucket = new Bucket(connectionsPerMinute / 60.0, Math.max(1, connectionsPerMinute / 6));
+        this.packetBucket = new Bucket(packetsPerSecond, packetsPerSecond * 2);
+    }
+
+    /** Seau à jetons : capacity jetons au plus, rechargé de rate jetons par seconde. Un débit nul désactive la limite. */
+    private static class Bucket {
+        private final double rate, capacity;
+        private double tokens;
+        private long last = System.nanoTime();
+
+        private Bucket(double rate, double capacity) {
+            this.rate = rate;
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        /** Retire count jetons et renvoie le solde, négatif si le seau est à découvert. */
+        private synchronized double take(int count) {
+            if (this.rate <= 0)
+                return this.capacity;
+            long now = System.nanoTime();
+            this.tokens = Math.min(this.capacity, this.tokens + (now - this.last) / 1e9 * this.rate);
+            this.last = now;
+            this.tokens -= count;
+            return this.tokens;
+        }
+
+        private synchronized boolean isFull() {
+            return this.rate <= 0 || this.tokens + (System.nanoTime() - this.last) / 1e9 * this.rate >= this.capacity;
+        }
+
+        private double getRate() {
+            return this.rate;
+        }
+    }
+
+    public static String getIp(IoSession session) {
+        if (session.getRemoteAddress() instanceof InetSocketAddress)
+            return ((InetSocketAddress) session.getRemoteAddress()).getAddress().getHostAddress();
+        return String.valueOf(session.getRemoteAddress());
+    }
+
+    /**
+     * Enregistre la session auprès de son adresse si celle-ci n'a dépassé ni le rythme de connexion
+     * ni le nombre de connexions simultanées. Fait sous le verrou de la table pour ne pas croiser {@link #purge()}.
+     */
+    static boolean open(IoSession session, int connectionsPerMinute, int packetsPerSecond, int maxConnections) {
+        boolean[] accepted = new boolean[1];
+        instances.compute(getIp(session), (ip, instance) -> {
+            if (instance == null)
+                instance = new IPInstance(ip, connectionsPerMinute, packetsPerSecond);
+            accepted[0] = instance.open(session, maxConnections);
+            return instance;
+        });
+        return accepted[0];
+    }
+
+    public static IPInstance of(IoSession session) {
+        return (IPInstance) session.getAttribute(ATTRIBUTE);
+    }
+
+    /** Retire les adresses sans connexion dont les seaux sont pleins, c'est-à-dire inactives. */
+    static void purge() {
+        for (String ip : instances.keySet())
+            instances.computeIfPresent(ip, (key, instance) -> instance.isIdle() ? null : instance);
+    }
+
+    public static int getAuthenticatedIps() {
+        int count = 0;
+        for (IPInstance instance : instances.values())
+            if (instance.getAccounts() > 0) count++;
+        return count;
+    }
+
+    public static int size() {
+        return instances.size();
+    }
+
+    private synchronized boolean open(IoSession session, int maxConnections) {
+        if (!this.local) {
+            if (maxConnections > 0 && this.connections >= maxConnections)
+                return false;
+            if (this.connectionBucket.take(1) < 0)
+                return false;
+        }
+        this.connections++;
+        session.setAttribute(ATTRIBUTE, this);
+        return true;
+    }
+
+    synchronized void close(IoSession session) {
+        this.connections--;
+        if (session.removeAttribute(AUTHENTICATED) != null)
+            this.accounts--;
+    }
+
+    /** Compte la session parmi les comptes connectés depuis cette adresse (une seule fois par session). */
+    public synchronized void authenticate(IoSession session) {
+        if (session.setAttributeIfAbsent(AUTHENTICATED, Boolean.TRUE) == null)
+            this.accounts++;
+    }
+
+    private synchronized boolean isIdle() {
+        return this.connections <= 0 && this.connectionBucket.isFull() && this.packetBucket.isFull();
+    }
+
+    /** Solde du seau de paquets après en avoir retiré count. */
+    double takePackets(int count) {
+        return this.local ? 0 : this.packetBucket.take(count);
+    }
+
+    double getPacketRate() {
+        return this.packetBucket.getRate();
+    }
+
+    public String getIp() {
+        return this.ip;
+    }
+
+    public synchronized int getConnections() {
+        return this.connections;
+    }
+
+    public synchronized int getAccounts() {
+        return this.accounts;
+    }
 }
@@ -0,0 +1,147 @@
+package org.starloco.locos.game.filter;
+
+import org.apache.mina.core.filterchain.IoFilterAdapter;
+import org.apache.mina.core.session.IoSession;
+import org.starloco.locos.game.world.World;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sort la logique de jeu des threads d'IO de MINA : les évènements d'une session sont mis en file
+ * et exécutés dans l'ordre sur un pool de workers, une seule tâche active par session à la fois.
+ * Une session dont la file dépasse la limite voit ses paquets ignorés ou est déconnectée.
+ */
+public class SessionExecutorFilter extends IoFilterAdapter {
+
+    private final static String QUEUE = "executor.queue";
+    private final static AtomicLong dropped = new AtomicLong(), kicked = new AtomicLong();
+
+    private final ExecutorService executor;
+    private final int limit;
+    private final boolean kick;
+
+    public SessionExecutorFilter(int workers, boolean virtual, int limit, boolean kick) {
+        this.executor = virtual ? newVirtualExecutor(workers) : newPool(workers);
+        this.limit = limit;
+        this.kick = kick;
+    }
+
+    private static ExecutorService newPool(int workers) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "GameWorker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static ExecutorService newVirtualExecutor(int workers) {
+        try { // Java 21+ : résolu par réflexion pour compiler et tourner sur les JDK plus anciens
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            World.world.logger.error("Virtual threads are not available on this JVM, using " + workers + " workers.");
+            return newPool(workers);
+        }
+    }
+
+    /** File d'une session : les évènements sont exécutés un par un, dans l'ordre d'arrivée. */
+    private final class SessionQueue implements Runnable {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean running = false;
+
+        private boolean offer(Runnable task, boolean force) {
+            synchronized (this) {
+                if (!force && tasks.size() >= limit)
+                    return false;
+                tasks.add(task);
+                if (running)
+                    return true;
+                running = true;
+            }
+            executor.execute(this);
+            return true;
+        }
+
+        private synchronized int size() {
+            return tasks.size();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private SessionQueue getQueue(IoSession session) {
+        SessionQueue queue = (SessionQueue) session.getAttribute(QUEUE);
+        if (queue == null) {
+            SessionQueue created = new SessionQueue();
+            queue = (SessionQueue) session.setAttributeIfAbsent(QUEUE, created);
+            if (queue == null) queue = created;
+        }
+        return queue;
+    }
+
+    @Override
+    public void messageReceived(NextFilter nextFilter, IoSession session, Object message) {
+        if (!this.getQueue(session).offer(() -> nextFilter.messageReceived(session, message), false)) {
+            if (this.kick) {
+                if (!session.isClosing()) {
+                    kicked.incrementAndGet();
+                    World.world.logger.info("Session " + session.getId() + " kicked : more than " + this.limit + " packets waiting.");
+                    session.closeNow();
+                }
+            } else {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    // Les évènements de fin de session passent par la même file pour rester derrière les paquets déjà reçus
+
+    @Override
+    public void sessionClosed(NextFilter nextFilter, IoSession session) {
+        this.getQueue(session).offer(() -> nextFilter.sessionClosed(session), true);
+    }
+
+    @Override
+    public void inputClosed(NextFilter nextFilter, IoSession session) {
+        this.getQueue(session).offer(() -> nextFilter.inputClosed(session), true);
+    }
+
+    @Override
+    public void exceptionCaught(NextFilter nextFilter, IoSession session, Throwable cause) {
+        this.getQueue(session).offer(() -> nextFilter.exceptionCaught(session, cause), true);
+    }
+
+    public static int getQueueDepth(IoSession session) {
+        Object queue = session.getAttribute(QUEUE);
+        return queue == null ? 0 : ((SessionQueue) queue).size();
+    }
+
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    public static long getKicked() {
+        return kicked.get();
+    }
+}
@@ -1,5 +1,6 @@
 package org.starloco.locos.game.scheduler.entity;
 
+import org.starloco.locos.area.map.CellDataCache;
 import org.starloco.locos.area.map.GameMap;
 import org.starloco.locos.client.Player;
 import org.starloco.locos.common.SocketManager;
@@ -110,6 +111,8 @@ public class WorldSave extends Updatable {
                             .forEach(group -> Database.getDynamics().getHeroicMobsGroups().update(map.getId(), group));
                 Database.getDynamics().getHeroicMobsGroups().updateFix();
             }
+            World.world.logger.info("-> of map cells cache.");
+            CellDataCache.save();
             /* end save of data */
 
             World.world.logger.debug("The save has been doing successfully !");
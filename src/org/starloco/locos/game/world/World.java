@@ -28,6 +28,7 @@ import org.starloco.locos.entity.pet.PetEntry;
 import org.starloco.locos.fight.spells.GladiatroolSpells;
 import org.starloco.locos.fight.spells.Spell;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.starloco.locos.hdv.Hdv;
 import org.starloco.locos.hdv.HdvEntry;
 import org.starloco.locos.job.Job;
@@ -41,6 +42,7 @@ import org.starloco.locos.object.ObjectTemplate;
 import org.starloco.locos.object.entity.Fragment;
 import org.starloco.locos.object.entity.SoulStone;
 import org.starloco.locos.area.map.GameMap;
+import org.starloco.locos.area.map.MapEntryCache;
 import ch.qos.logback.classic.Logger;
 
 import org.starloco.locos.common.CryptManager;
@@ -78,17 +80,20 @@ public class World {
     private Map<Integer, Mount> Dragodindes = new HashMap<>();
     private Map<Integer, Area> areas = new HashMap<>();
     private Map<Integer, SubArea> subAreas = new HashMap<>();
+    private final AtomicInteger conquestVersion = new AtomicInteger();
+    private volatile Couple<Integer, String> conquestPacket; //Version, paquets am concaténés
     private Map<Integer, Job> Jobs = new HashMap<>();
     private Map<Integer, ArrayList<Couple<Integer, Integer>>> Crafts = new HashMap<>();
     private Map<Integer, ObjectSet> ItemSets = new HashMap<>();
     private Map<Integer, Guild> Guildes = new HashMap<>();
     private Map<Integer, Hdv> Hdvs = new HashMap<>();
-    private Map<Integer, Map<Integer, ArrayList<HdvEntry>>> hdvsItems = new HashMap<>();
+    private Map<Integer, Map<Integer, List<HdvEntry>>> hdvsItems = new ConcurrentHashMap<>(); //<CompteID,<HdvID,Items>>
     private Map<Integer, Animation> Animations = new HashMap<>();
     private Map<Short, org.starloco.locos.area.map.entity.MountPark> MountPark = new HashMap<>();
     private Map<Integer, Trunk> Trunks = new HashMap<>();
     private Map<Integer, Collector> collectors = new HashMap<>();
     private Map<Integer, House> Houses = new HashMap<>();
+    private Map<Short, List<House>> housesByMap = new HashMap<>();
     private Map<Short, Collection<Integer>> Seller = new HashMap<>();
     private StringBuilder Challenges = new StringBuilder();
     private Map<Integer, Prism> Prismes = new HashMap<>();
@@ -280,6 +285,11 @@ public class World {
         return Houses;
     }
 
+    public List<House> getHousesByMap(short mapId) {
+        List<House> houses = housesByMap.get(mapId);
+        return houses == null ? Collections.emptyList() : houses;
+    }
+
     public Map<Integer, Prism> getPrisms() {
         return Prismes;
     }
@@ -1166,29 +1176,16 @@ public class World {
         return fullmorphs.get(morphID);
     }
 
-    public int getObjectByIngredientForJob(ArrayList<Integer> list,
-                                                  Map<Integer, Integer> ingredients) {
-        if (list == null)
-            return -1;
-        for (int tID : list) {
-            ArrayList<Couple<Integer, Integer>> craft = getCraft(tID);
-            if (craft == null)
-                continue;
-            if (craft.size() != ingredients.size())
-                continue;
-            boolean ok = true;
-            for (Couple<Integer, Integer> c : craft) {
-                if (!((ingredients.get(c.first) + " ").equals(c.second + " "))) //si ingredient non présent ou mauvaise quantité
-                    ok = false;
-            }
-            if (ok)
-                return tID;
-        }
-        return -1;
+    /**
+     * Clé canonique d'un ensemble d'ingrédients : templateId*quantité trié par template.
+     */
+    public static String getIngredientsKey(Map<Integer, Integer> ingredients) {
+        StringBuilder key = new StringBuilder();
+        for (Entry<Integer, Integer> entry : new TreeMap<>(ingredients).entrySet())
+            key.append(entry.getKey()).append('*').append(entry.getValue()).append(';');
+        return key.toString();
     }
 
-
-
     public void addItemSet(ObjectSet itemSet) {
         ItemSets.put(itemSet.getId(), itemSet);
     }
@@ -1372,26 +1369,21 @@ public class World {
     }
 
     public void addHdvItem(int compteID, int hdvID, HdvEntry toAdd) {
-        if (hdvsItems.get(compteID) == null) //Si le compte n'est pas dans la memoire
-            hdvsItems.put(compteID, new HashMap<>()); //Ajout du compte clé:compteID et un nouveau Map<hdvID,items<>>
-        if (hdvsItems.get(compteID).get(hdvID) == null)
-            hdvsItems.get(compteID).put(hdvID, new ArrayList<>());
-        hdvsItems.get(compteID).get(hdvID).add(toAdd);
+        getMyItems(compteID).computeIfAbsent(hdvID, k -> new CopyOnWriteArrayList<>()).add(toAdd);
     }
 
     public void removeHdvItem(int compteID, int hdvID, HdvEntry toDel) {
-        hdvsItems.get(compteID).get(hdvID).remove(toDel);
+        List<HdvEntry> entries = getMyItems(compteID).get(hdvID);
+        if (entries != null)
+            entries.remove(toDel);
     }
 
     public void addHdv(Hdv toAdd) {
         Hdvs.put(toAdd.getHdvId(), toAdd);
     }
 
-    public Map<Integer, ArrayList<HdvEntry>> getMyItems(
-            int compteID) {
-        if (hdvsItems.get(compteID) == null)//Si le compte n'est pas dans la memoire
-            hdvsItems.put(compteID, new HashMap<>());//Ajout du compte clé:compteID et un nouveau Map<hdvID,items
-        return hdvsItems.get(compteID);
+    public Map<Integer, List<HdvEntry>> getMyItems(int compteID) {
+        return hdvsItems.computeIfAbsent(compteID, k -> new ConcurrentHashMap<>());//Ajout du compte clé:compteID et un nouveau Map<hdvID,items
     }
 
     public Collection<ObjectTemplate> getObjTemplates() {
@@ -1440,15 +1432,19 @@ public class World {
     }
 
     public void addHouse(House house) {
-        Houses.put(house.getId(), house);
+        House old = Houses.put(house.getId(), house);
+        if (old != null && housesByMap.get(old.getMapId()) != null)
+            housesByMap.get(old.getMapId()).remove(old);
+        housesByMap.computeIfAbsent(house.getMapId(), k -> new ArrayList<>()).add(house);
     }
 
     public House getHouse(int id) {
         return Houses.get(id);
     }
 
-    public void addCollector(Collector Collector) {
-        collectors.put(Collector.getId(), Collector);
+    public void addCollector(Collector collector) {
+        collectors.put(collector.getId(), collector);
+        Collector.invalidate(collector.getMap());
     }
 
     public Collector getCollector(int CollectorID) {
@@ -1519,6 +1515,7 @@ public class World {
 
     public synchronized void addPrisme(Prism Prisme) {
         Prismes.put(Prisme.getId(), Prisme);
+        Prisme.invalidate();
     }
 
     public Prism getPrisme(int id) {
@@ -1526,7 +1523,9 @@ public class World {
     }
 
     public void removePrisme(int id) {
-        Prismes.remove(id);
+        Prism prism = Prismes.remove(id);
+        if (prism != null)
+            prism.invalidate();
     }
 
     public Collection<Prism> AllPrisme() {
@@ -1582,13 +1581,52 @@ public class World {
         return str;
     }
 
+    /**
+     * Envoie en un seul paquet l'alignement de toutes les sous-zones conquises,
+     * seulement si le joueur n'a pas déjà reçu la version courante.
+     */
     public void showPrismes(Player perso) {
-        for (SubArea subarea : subAreas.values()) {
-            if (subarea.getAlignement() == 0)
-                continue;
-            SocketManager.GAME_SEND_am_ALIGN_PACKET_TO_SUBAREA(perso, subarea.getId()
-                    + "|" + subarea.getAlignement() + "|1");
+        int version = conquestVersion.get();
+        if (perso.getConquestVersion() == version)
+            return;
+
+        Couple<Integer, String> cached = conquestPacket;
+        String packet;
+        if (cached != null && cached.first == version) {
+            packet = cached.second;
+        } else {
+            StringBuilder builder = new StringBuilder();
+            for (SubArea subarea : subAreas.values()) {
+                if (subarea.getAlignement() == 0)
+                    continue;
+                if (builder.length() > 0)
+                    builder.append('\u0000');
+                builder.append("am").append(subarea.getId()).append("|").append(subarea.getAlignement()).append("|1");
+            }
+            packet = builder.toString();
+            conquestPacket = new Couple<>(version, packet);
         }
+
+        if (!packet.isEmpty())
+            SocketManager.GAME_SEND_am_ALIGN_PACKETS(perso, packet);
+        perso.setConquestVersion(version);
+    }
+
+    /**
+     * Appelé à chaque changement d'alignement d'une sous-zone.
+     */
+    public void refreshConquest() {
+        conquestVersion.incrementAndGet();
+    }
+
+    /**
+     * Les joueurs connectés viennent de recevoir le delta d'une sous-zone : ils sont à jour.
+     */
+    public void markConquestSent() {
+        int version = conquestVersion.get();
+        for (Player player : getOnlinePlayers())
+            if (player != null)
+                player.setConquestVersion(version);
     }
 
     public synchronized int getNextIDPrisme() {
@@ -1898,6 +1936,7 @@ public class World {
 
     public void reloadHouses() {
         Houses.clear();
+        housesByMap.clear();
         Database.getStatics().getHouseData().load();
         Database.getDynamics().getHouseData().load();
     }
@@ -1954,6 +1993,7 @@ public class World {
             Seller.remove(map);
             Seller.put(map, players);
         }
+        player.getCurMap().invalidateEntryCache(MapEntryCache.Section.MERCHANTS);
     }
 
     public Collection<Integer> getSeller(short map) {
@@ -1963,6 +2003,8 @@ public class World {
     public void removeSeller(int player, short map) {
         if(getSeller(map) != null)
             Seller.get(map).remove(player);
+        if(getMap(map) != null)
+            getMap(map).invalidateEntryCache(MapEntryCache.Section.MERCHANTS);
     }
 
     public static double getPwrPerEffet(int effect) {
@@ -5,7 +5,6 @@ import org.starloco.locos.client.Player;
 import org.starloco.locos.common.SocketManager;
 import org.starloco.locos.database.Database;
 import org.starloco.locos.game.world.World;
-import org.starloco.locos.game.world.World.Couple;
 import org.starloco.locos.kernel.Constant;
 import org.starloco.locos.kernel.Logging;
 import org.starloco.locos.object.ObjectTemplate;
@@ -14,6 +13,7 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Hdv {
 
@@ -25,7 +25,7 @@ public class Hdv {
     private short lvlMax;
 
     private Map<Integer, HdvCategory> categorys = new HashMap<Integer, HdvCategory>();
-    private Map<Integer, Couple<Integer, Integer>> path = new HashMap<Integer, Couple<Integer, Integer>>(); //<LigneID,<CategID,TemplateID>>
+    private Map<Integer, HdvLine> lines = new ConcurrentHashMap<Integer, HdvLine>(); //<LigneID,Ligne>
 
     private DecimalFormat pattern = new DecimalFormat("0.0");
 
@@ -76,16 +76,7 @@ public class Hdv {
     }
 
     public HdvLine getLine(int lineId) {
-        if (this.path == null)
-            return null;
-        try {
-            int categoryId = this.path.get(lineId).first;
-            int templateId = this.path.get(lineId).second;
-            return this.getCategorys().get(categoryId).getTemplate(templateId).getLine(lineId);
-        } catch (NullPointerException e) {
-            e.printStackTrace();
-            return null;
-        }
+        return this.lines.get(lineId);
     }
 
     public void addEntry(HdvEntry toAdd, boolean load) {
@@ -95,7 +86,7 @@ public class Hdv {
         if (this.getCategorys().get(categoryId) == null)
             return;
         this.getCategorys().get(categoryId).addEntry(toAdd);
-        this.path.put(toAdd.getLineId(), new Couple<Integer, Integer>(categoryId, templateId));
+        this.lines.put(toAdd.getLineId(), this.getCategorys().get(categoryId).getTemplate(templateId).getLine(toAdd.getLineId()));
         if (!load) {
             Database.getDynamics().getHdvObjectData().add(toAdd);
         }
@@ -104,10 +95,11 @@ public class Hdv {
 
     public boolean delEntry(HdvEntry toDel) {
         boolean toReturn = this.getCategorys().get(toDel.getGameObject().getTemplate().getType()).delEntry(toDel);
-        if (toReturn) {
-            this.path.remove(toDel.getLineId());
+        HdvLine line = this.lines.get(toDel.getLineId());
+        if (line != null && line.isEmpty())
+            this.lines.remove(toDel.getLineId());
+        if (toReturn)
             World.world.removeHdvItem(toDel.getOwner(), toDel.getHdvId(), toDel);
-        }
         return toReturn;
     }
 
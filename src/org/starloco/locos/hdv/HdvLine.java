@@ -1,13 +1,14 @@
 package org.starloco.locos.hdv;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.TreeMap;
 
 public class HdvLine {
 
     private int lineId;
     private int templateId;
-    private ArrayList<ArrayList<HdvEntry>> entries = new ArrayList<ArrayList<HdvEntry>>(3);    //La première ArrayList est un tableau de 3 (0=1 1=10 2=100 de quantité)
+    private ArrayList<TreeMap<Integer, ArrayList<HdvEntry>>> entries = new ArrayList<TreeMap<Integer, ArrayList<HdvEntry>>>(3);    //La première ArrayList est un tableau de 3 (0=1 1=10 2=100 de quantité), chaque lot étant rangé par prix
+    private int[] firsts = new int[3];    //Prix le plus bas de chaque quantité, 0 si vide
     private String strStats;
 
     public HdvLine(int lineId, HdvEntry toAdd) {
@@ -15,8 +16,8 @@ public class HdvLine {
         this.templateId = toAdd.getGameObject().getTemplate().getId();
         this.strStats = toAdd.getGameObject().parseStatsString();
         for (int i = 0; i < 3; i++)
-            //Boucle 3 fois pour ajouter 3 List vide dans la SuperList
-            this.getEntries().add(new ArrayList<HdvEntry>());
+            //Boucle 3 fois pour ajouter 3 Map vide dans la SuperList
+            this.getEntries().add(new TreeMap<Integer, ArrayList<HdvEntry>>());
         addEntry(toAdd);
     }
 
@@ -28,7 +29,7 @@ public class HdvLine {
         return templateId;
     }
 
-    public ArrayList<ArrayList<HdvEntry>> getEntries() {
+    public ArrayList<TreeMap<Integer, ArrayList<HdvEntry>>> getEntries() {
         return entries;
     }
 
@@ -41,8 +42,9 @@ public class HdvLine {
                 && toAdd.getGameObject().getTemplate().getType() != 85;//Récupère les stats de l'objet et compare avec ceux de la ligne
     }
 
-    public void sort(byte index) {
-        Collections.sort(this.getEntries().get(index));
+    private void refreshFirst(byte index) {
+        TreeMap<Integer, ArrayList<HdvEntry>> prices = this.getEntries().get(index);
+        this.firsts[index] = prices.isEmpty() ? 0 : prices.firstKey();
     }
 
     public boolean addEntry(HdvEntry toAdd) {
@@ -51,64 +53,48 @@ public class HdvLine {
 
         toAdd.setLineId(this.getLineId());
         byte index = (byte) (toAdd.getAmount(false) - 1);
-        this.getEntries().get(index).add(toAdd);
-        this.sort(index);
+        this.getEntries().get(index).computeIfAbsent(toAdd.getPrice(), price -> new ArrayList<HdvEntry>(1)).add(toAdd);
+        this.refreshFirst(index);
         return true;//Anonce que l'objet à été accepté
     }
 
     public boolean delEntry(HdvEntry toDel) {
         byte index = (byte) (toDel.getAmount(false) - 1);
-        boolean toReturn = this.getEntries().get(index).remove(toDel);
-        this.sort(index);
+        TreeMap<Integer, ArrayList<HdvEntry>> prices = this.getEntries().get(index);
+        ArrayList<HdvEntry> entries = prices.get(toDel.getPrice());
+        if (entries == null)
+            return false;
+
+        boolean toReturn = entries.remove(toDel);
+        if (entries.isEmpty())
+            prices.remove(toDel.getPrice());
+        this.refreshFirst(index);
         return toReturn;
     }
 
     public HdvEntry doYouHave(int amount, int price) {
-        int index = amount - 1;
-        for (int i = 0; i < this.getEntries().get(index).size(); i++)
-            if (this.getEntries().get(index).get(i).getPrice() == price)
-                return this.getEntries().get(index).get(i);
-        return null;
+        ArrayList<HdvEntry> entries = this.getEntries().get(amount - 1).get(price);
+        return entries == null || entries.isEmpty() ? null : entries.get(0);
     }
 
     public int[] getFirsts() {
-        int[] toReturn = new int[3];
-        for (int i = 0; i < this.getEntries().size(); i++) {
-            try {
-                toReturn[i] = this.getEntries().get(i).get(0).getPrice();//Récupère le premier objet de chaque liste
-            } catch (IndexOutOfBoundsException e) {
-                // ok
-                toReturn[i] = 0;
-            }
-        }
-        return toReturn;
+        return this.firsts.clone();
     }
 
     public ArrayList<HdvEntry> getAll() {
-        int totalSize = this.getEntries().get(0).size()
-                + this.getEntries().get(1).size()
-                + this.getEntries().get(2).size();//Additionne le nombre d'objet de chaque quantité
-        ArrayList<HdvEntry> toReturn = new ArrayList<HdvEntry>(totalSize);
-
-        for (int qte = 0; qte < this.getEntries().size(); qte++)
-            //Boucler dans les quantité
-            toReturn.addAll(this.getEntries().get(qte));
+        ArrayList<HdvEntry> toReturn = new ArrayList<HdvEntry>();
+
+        for (TreeMap<Integer, ArrayList<HdvEntry>> prices : this.getEntries())
+            //Boucler dans les quantité, par prix croissant
+            for (ArrayList<HdvEntry> entries : prices.values())
+                toReturn.addAll(entries);
         return toReturn;
     }
 
     public boolean isEmpty() {
-        if (this.getEntries().isEmpty())
-            return true;
-        for (int i = 0; i < this.getEntries().size(); i++) {
-            try {
-                if (this.getEntries().get(i).isEmpty())
-                    continue;
-                if (this.getEntries().get(i).get(0) != null)//Vérifie s'il existe un objet dans chacune des 3 quantité
-                    return false;
-            } catch (IndexOutOfBoundsException e) {
-                e.printStackTrace();
-            }
-        }
+        for (TreeMap<Integer, ArrayList<HdvEntry>> prices : this.getEntries())
+            if (!prices.isEmpty())//Vérifie s'il existe un objet dans chacune des 3 quantité
+                return false;
         return true;
     }
 
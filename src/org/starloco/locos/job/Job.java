@@ -15,6 +15,7 @@ public class Job {
     private ArrayList<Integer> tools = new ArrayList<>();
     private Map<Integer, ArrayList<Integer>> crafts = new HashMap<>();
     private Map<Integer, ArrayList<Integer>> skills = new HashMap<>();
+    private Map<Integer, Map<String, Integer>> recipes = new HashMap<>(); //Skill, (Ingrédients, Template)
 
     public Job(int id, String tools, String crafts, String skills) {
         this.id = id;
@@ -35,6 +36,7 @@ public class Job {
                     for (String str2 : str.split(";")[1].split(","))
                         list.add(Integer.parseInt(str2));
                     this.crafts.put(skID, list);
+                    this.recipes.put(skID, Job.indexRecipes(list));
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
@@ -73,6 +75,34 @@ public class Job {
         return this.crafts.get(skill);
     }
 
+    /**
+     * Retourne le template craftable par ce skill avec exactement ces ingrédients, -1 sinon.
+     */
+    public int getCraftByIngredients(int skill, Map<Integer, Integer> ingredients) {
+        Map<String, Integer> recipes = this.recipes.get(skill);
+        if (recipes == null || ingredients.isEmpty())
+            return -1;
+        return recipes.getOrDefault(World.getIngredientsKey(ingredients), -1);
+    }
+
+    private static Map<String, Integer> indexRecipes(ArrayList<Integer> templates) {
+        Map<String, Integer> recipes = new HashMap<>();
+        for (int template : templates) {
+            ArrayList<World.Couple<Integer, Integer>> craft = World.world.getCraft(template);
+            if (craft == null)
+                continue;
+
+            Map<Integer, Integer> ingredients = new HashMap<>();
+            for (World.Couple<Integer, Integer> couple : craft)
+                ingredients.put(couple.first, couple.second);
+            if (ingredients.size() != craft.size()) //Ingrédient en double, recette impossible à reproduire
+                continue;
+
+            recipes.putIfAbsent(World.getIngredientsKey(ingredients), template);
+        }
+        return recipes;
+    }
+
     public boolean canCraft(int skill, int template) {
         if (this.crafts.get(skill) != null)
             for (int id : this.crafts.get(skill))
@@ -107,7 +137,7 @@ public class Job {
     
     
     public static int getActualJet(GameObject obj, String statsModif) {
-        for (Entry<Integer, Integer> entry : obj.getStats().getMap().entrySet()) {
+        for (Entry<Integer, Integer> entry : obj.viewStats().getMap().entrySet()) {
             if (Integer.toHexString(entry.getKey()).compareTo(statsModif) > 0)//Effets inutiles
             {
                 continue;
@@ -124,7 +154,7 @@ public class Job {
     public static byte viewActualStatsItem(GameObject obj, String stats)//retourne vrai si le stats est actuellement sur l'item
     {
         if (!obj.parseStatsString().isEmpty()) {
-            for (Entry<Integer, Integer> entry : obj.getStats().getMap().entrySet()) {
+            for (Entry<Integer, Integer> entry : obj.viewStats().getMap().entrySet()) {
                 if (Integer.toHexString(entry.getKey()).compareTo(stats) > 0)//Effets inutiles
                 {
                     if (Integer.toHexString(entry.getKey()).compareTo("98") == 0
@@ -263,7 +263,7 @@ public class JobAction {
 
         if (!isUnjobSkill) {
             JobStat SM = this.player.getMetierBySkill(this.id);
-            int templateId = World.world.getObjectByIngredientForJob(SM.getTemplate().getListBySkill(this.id), items);
+            int templateId = SM.getTemplate().getCraftByIngredients(this.id, items);
             //Recette non existante ou pas adapté au métier
             if (templateId == -1 || !SM.getTemplate().canCraft(this.id, templateId)) {
                 SocketManager.GAME_SEND_Ec_PACKET(this.player, "EI");
@@ -315,7 +315,7 @@ public class JobAction {
                 SocketManager.GAME_SEND_JX_PACKET(this.player, SMs);
             }
         } else {
-            int templateId = World.world.getObjectByIngredientForJob(World.world.getMetier(this.id).getListBySkill(this.id), items);
+            int templateId = World.world.getMetier(this.id).getCraftByIngredients(this.id, items);
 
             if (templateId == -1 || !World.world.getMetier(this.id).canCraft(this.id, templateId)) {
                 SocketManager.GAME_SEND_Ec_PACKET(this.player, "EI");
@@ -406,7 +406,7 @@ public class JobAction {
                 signed = true;
         items.remove(7508);
 
-        int template = World.world.getObjectByIngredientForJob(SM.getTemplate().getListBySkill(this.id), items);
+        int template = SM.getTemplate().getCraftByIngredients(this.id, items);
 
         if (template == -1 || !SM.getTemplate().canCraft(this.id, template)) {
             SocketManager.GAME_SEND_Ec_PACKET(this.player, "EI");
@@ -494,6 +494,10 @@ public class JobAction {
     }
 
     public void resetCraft() {
+        if (this.jobCraft != null)
+            this.jobCraft.cancel();
+        if (this.oldJobCraft != null)
+            this.oldJobCraft.cancel();
         this.ingredients.clear();
         this.lastCraft.clear();
         this.oldJobCraft = null;
@@ -2574,7 +2578,7 @@ public class JobAction {
     }
       
     public static int getActualJet(GameObject obj, String statsModif) {
-        for (Entry<Integer, Integer> entry : obj.getStats().getMap().entrySet()) {
+        for (Entry<Integer, Integer> entry : obj.viewStats().getMap().entrySet()) {
         	//World.world.logger.trace(Integer.toHexString(entry.getKey())+" / "+statsModif);
 
             if (Integer.toHexString(entry.getKey()).compareTo(statsModif) > 0)//Effets inutiles
@@ -2593,7 +2597,7 @@ public class JobAction {
     public static byte viewActualStatsItem(GameObject obj, String stats)//retourne vrai si le stats est actuellement sur l'item
     {
         if (!obj.parseStatsString().isEmpty()) { // si l'obj est pas vide
-            for (Entry<Integer, Integer> entry : obj.getStats().getMap().entrySet()) { // Toutes les entrées
+            for (Entry<Integer, Integer> entry : obj.viewStats().getMap().entrySet()) { // Toutes les entrées
                 if (Integer.toHexString(entry.getKey()).compareTo(stats) > 0)//Effets inutiles
                 {
                     if (Integer.toHexString(entry.getKey()).compareTo("98") == 0  // C'est un cas négatif
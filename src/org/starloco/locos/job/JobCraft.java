@@ -2,28 +2,51 @@ package org.starloco.locos.job;
 
 import org.starloco.locos.client.Player;
 import org.starloco.locos.common.SocketManager;
-import org.starloco.locos.kernel.Main;
+import org.starloco.locos.kernel.Config;
 import org.starloco.locos.util.TimerWaiter;
 
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 public class JobCraft {
 
+    private final static int DELAY = 1200;
+    private final static AtomicInteger sessions = new AtomicInteger();
+    private final static AtomicLong crafts = new AtomicLong();
+
     public Player player;
-    public Thread thread;
     public JobAction jobAction;
     private int time = 0;
     private boolean itsOk = true;
+    private volatile boolean cancelled = false;
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+    private ScheduledFuture<?> next;
 
     public JobCraft(JobAction jobAction, Player player) {
         this.jobAction = jobAction;
         this.player = player;
+        JobCraft.sessions.incrementAndGet();
 
-        this.thread = new Thread(() -> {
-            try { Thread.sleep(1200); } catch(Exception ignored) { }
-            if (itsOk) jobAction.craft(false, -1);
-            try { Thread.sleep(1200); } catch(Exception ignored) { }
-            if (!itsOk) repeat(time, time, player);
+        this.schedule(() -> {
+            if (itsOk) {
+                jobAction.craft(false, -1);
+                JobCraft.crafts.incrementAndGet();
+            }
+            this.schedule(() -> {
+                if (!itsOk) repeat(time, time, player);
+                else this.finish();
+            });
         });
-        this.thread.start();
+    }
+
+    public static int getSessions() {
+        return sessions.get();
+    }
+
+    public static long getCrafts() {
+        return crafts.get();
     }
 
     public void setAction(int time) {
@@ -32,27 +55,40 @@ public class JobCraft {
         this.itsOk = false;
     }
 
+    /**
+     * Lance une itération de craft répété toutes les 1200ms sur le scheduler client.
+     * Chaque itération enchaîne jusqu'à CRAFT_BATCH crafts avant de se replanifier.
+     */
     public void repeat(final int time1, final int time2, final Player player) {
-        final int j = time1 - time2;
+        int time = time2;
         this.jobAction.player = player;
         this.jobAction.isRepeat = true;
-        if (this.jobAction.broke || this.jobAction.broken || player.getExchangeAction() == null || !player.isOnline()) {
-            if (player.getExchangeAction() == null)
-                this.jobAction.broken = true;
-            if (player.isOnline())
-                SocketManager.GAME_SEND_Ea_PACKET(this.jobAction.player, this.jobAction.broken ? "2" : "4");
-            this.end();
-            return;
-        } else {
-            SocketManager.GAME_SEND_EA_PACKET(this.jobAction.player, time2 + "");
-            this.jobAction.craft(this.jobAction.isRepeat, j);
-        }
 
-        if (time2 <= 0) this.end();
-        else {
-            try { Thread.sleep(1200); } catch(Exception ignored) { }
-            this.repeat(time1, (time2 - 1), player);
+        for (int i = 0, batch = Math.max(1, Config.getInstance().craftBatch); i < batch; i++) {
+            if (this.cancelled)
+                return;
+            if (this.jobAction.broke || this.jobAction.broken || player.getExchangeAction() == null || !player.isOnline()) {
+                if (player.getExchangeAction() == null)
+                    this.jobAction.broken = true;
+                if (player.isOnline())
+                    SocketManager.GAME_SEND_Ea_PACKET(this.jobAction.player, this.jobAction.broken ? "2" : "4");
+                this.end();
+                return;
+            }
+
+            if (i == 0) SocketManager.GAME_SEND_EA_PACKET(this.jobAction.player, time + "");
+            this.jobAction.craft(this.jobAction.isRepeat, time1 - time);
+            JobCraft.crafts.incrementAndGet();
+
+            if (time <= 0) {
+                this.end();
+                return;
+            }
+            time--;
         }
+
+        final int remaining = time;
+        this.schedule(() -> this.repeat(time1, remaining, player));
     }
 
     public void end() {
@@ -62,6 +98,36 @@ public class JobCraft {
        // this.jobAction.ingredients.clear();
         this.jobAction.isRepeat = false;
         this.jobAction.setJobCraft(null);
-        this.thread.interrupt();
+        this.finish();
+    }
+
+    /**
+     * Annule les crafts encore planifiés, appelé à la fermeture de l'échange.
+     */
+    public void cancel() {
+        this.cancelled = true;
+        if (this.next != null)
+            this.next.cancel(false);
+        this.finish();
+    }
+
+    private void schedule(Runnable runnable) {
+        if (this.cancelled)
+            return;
+        this.next = TimerWaiter.addNext(() -> {
+            if (this.cancelled)
+                return;
+            try {
+                runnable.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+                this.finish();
+            }
+        }, DELAY, TimerWaiter.DataType.CLIENT);
+    }
+
+    private void finish() {
+        if (this.finished.compareAndSet(false, true))
+            JobCraft.sessions.decrementAndGet();
     }
-}
\ No newline at end of file
+}
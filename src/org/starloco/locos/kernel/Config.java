@@ -26,6 +26,14 @@ public class Config {
     public static int[] START_ITEM = new int[0];
     
     public int AIDelay=100, AIMovementCellDelay=180, AIMovementFlatDelay=700; //delay in ms
+    public int craftBatch = 1; //crafts per repeat tick
+    public boolean mapLazyLoad = true; //cells decoded on first access
+    public int mapDehydrateDelay = 0; //minutes before an idle map drops its cells, 0 = never
+    public int gameWorkers = 16; //threads running game packets, 0 = MINA IO threads
+    public boolean gameVirtualThreads = false; //one virtual thread per task (Java 21+)
+    public int sessionQueueLimit = 200; //packets waiting per session before the flood policy applies
+    public boolean sessionFloodKick = true; //kick flooding sessions instead of dropping their packets
+    public int ipMaxConnections = 8, ipConnectionsPerMinute = 30, ipPacketsPerSecond = 100; //per IP, 0 = no limit
 
 
     public static Config getInstance() {
@@ -194,6 +202,38 @@ public class Config {
                     case "RATE_FM":
                         this.rateFm = Integer.parseInt(value);
                         break;
+
+                    // PERFORMANCE
+                    case "CRAFT_BATCH":
+                        this.craftBatch = Integer.parseInt(value);
+                        break;
+                    case "MAP_LAZY_LOAD":
+                        this.mapLazyLoad = value.equalsIgnoreCase("true");
+                        break;
+                    case "MAP_DEHYDRATE_DELAY":
+                        this.mapDehydrateDelay = Integer.parseInt(value);
+                        break;
+                    case "GAME_WORKERS":
+                        this.gameWorkers = Integer.parseInt(value);
+                        break;
+                    case "GAME_VIRTUAL_THREADS":
+                        this.gameVirtualThreads = value.equalsIgnoreCase("true");
+                        break;
+                    case "SESSION_QUEUE_LIMIT":
+                        this.sessionQueueLimit = Integer.parseInt(value);
+                        break;
+                    case "SESSION_FLOOD_KICK":
+                        this.sessionFloodKick = value.equalsIgnoreCase("true");
+                        break;
+                    case "IP_MAX_CONNECTIONS":
+                        this.ipMaxConnections = Integer.parseInt(value);
+                        break;
+                    case "IP_CONNECTIONS_PER_MINUTE":
+                        this.ipConnectionsPerMinute = Integer.parseInt(value);
+                        break;
+                    case "IP_PACKETS_PER_SECOND":
+                        this.ipPacketsPerSecond = Integer.parseInt(value);
+                        break;
                 }
             }
         } catch (Exception e) {
@@ -11,6 +11,7 @@ import org.starloco.locos.database.Database;
 import org.starloco.locos.entity.mount.Mount;
 import org.starloco.locos.exchange.ExchangeClient;
 import org.starloco.locos.game.GameServer;
+import org.starloco.locos.game.PacketStats;
 import org.starloco.locos.game.scheduler.entity.WorldPub;
 import org.starloco.locos.game.scheduler.entity.WorldPlayerOption;
 import org.starloco.locos.game.scheduler.entity.WorldSave;
@@ -111,6 +112,7 @@ public class Main {
                     Mount.updatable.update();
                     WorldPlayerOption.updatable.update();
                     WorldPub.updatable.update();
+                    PacketStats.updatable.update();
 
                     if(!Main.runnables.isEmpty()) {
                         for (Runnable runnable : new LinkedList<>(Main.runnables)) {
@@ -0,0 +1,215 @@
+package org.starloco.locos.loadtest;
+
+import org.apache.mina.core.session.IoSession;
+import org.starloco.locos.common.CryptManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Client de jeu simulé. Se connecte avec le ticket émis par {@link LoginStub}, choisit le premier personnage
+ * du compte puis, une fois sur la carte, joue les actions tirées par {@link LoadTest} en mesurant le délai
+ * entre chaque requête et sa réponse. Une seule requête de chaque sorte est en attente à la fois.
+ */
+class Bot {
+
+    private final static long TIMEOUT = 10_000_000_000L; // 10s sans réponse : requête comptée en échec
+
+    private final LoadTest test;
+    private final int account;
+    private IoSession session;
+    private int id = -1, cell = -1, fightTurns = 0;
+    private boolean inGame = false, inFight = false;
+    private final List<Integer> players = new ArrayList<>(); // Autres joueurs visibles sur la carte
+    private final Map<String, Long> pending = new HashMap<>(); // Opcode -> instant d'envoi
+
+    Bot(LoadTest test, int account) {
+        this.test = test;
+        this.account = account;
+    }
+
+    int getAccount() {
+        return this.account;
+    }
+
+    synchronized void open(IoSession session) {
+        this.session = session;
+    }
+
+    synchronized boolean isInGame() {
+        return this.inGame;
+    }
+
+    synchronized void closed() {
+        this.inGame = false;
+        this.session = null;
+        this.pending.clear();
+    }
+
+    /** Requête dont on attend la réponse : chronométrée sous l'opcode donné. */
+    private void request(String opcode, String packet) {
+        this.pending.put(opcode, System.nanoTime());
+        this.send(packet);
+    }
+
+    private void send(String packet) {
+        if (this.session != null && this.session.isConnected()) {
+            this.session.write(packet);
+            this.test.sent.increment();
+        }
+    }
+
+    private void answer(String opcode, boolean failed) {
+        Long start = this.pending.remove(opcode);
+        if (start != null)
+            this.test.latency.record(opcode, System.nanoTime() - start, failed);
+    }
+
+    synchronized void receive(String packet) {
+        this.test.received.increment();
+
+        if (packet.equals("HG")) {
+            this.request("AT", "AT" + this.account);
+        } else if (packet.startsWith("ATK")) {
+            this.answer("AT", false);
+            this.request("AL", "AL");
+        } else if (packet.startsWith("ATE")) {
+            this.answer("AT", true);
+            this.session.closeNow();
+        } else if (packet.startsWith("ALK")) {
+            this.answer("AL", false);
+            String[] split = packet.split("\\|");
+            if (split.length > 2) {
+                this.request("AS", "AS" + split[2].split(";")[0]);
+            } else {
+                LoadTest.logger.error("Account " + this.account + " has no character.");
+                this.session.closeNow();
+            }
+        } else if (packet.startsWith("ASK")) {
+            this.answer("AS", false);
+            this.id = Integer.parseInt(packet.split("\\|")[1]);
+            this.request("GC", "GC1");
+        } else if (packet.startsWith("ASE")) {
+            this.answer("AS", true);
+            this.session.closeNow();
+        } else if (packet.startsWith("GCK")) {
+            this.answer("GC", false);
+            this.request("GI", "GI");
+        } else if (packet.startsWith("GDK")) {
+            this.answer("GI", false);
+            this.inGame = true;
+        } else if (packet.startsWith("GM|")) {
+            this.parseMovements(packet);
+        } else if (packet.startsWith("GA;0")) {
+            this.answer("GA", true);
+        } else if (packet.startsWith("GA;900;")) {
+            String[] split = packet.split(";");
+            if (split.length > 3 && split[2].equals(String.valueOf(this.id)))
+                this.answer("GA900", false);
+            else if (split.length > 3 && split[3].equals(String.valueOf(this.id)))
+                this.send("GA901" + split[2]); // Défi reçu : accepté
+        } else if (packet.startsWith("GA;")) {
+            String[] split = packet.split(";"); // GA;<action>;1;<joueur>;<chemin>
+            if (split.length > 4 && split[2].equals("1") && split[3].equals(String.valueOf(this.id))) {
+                this.answer("GA", false);
+                this.cell = CryptManager.cellCode_To_ID(split[4].substring(split[4].length() - 2));
+                this.send("GKK" + split[1]); // Fin du déplacement : le serveur retrouve l'action par son identifiant
+            }
+        } else if (packet.startsWith("cMK") && packet.contains("|" + this.id + "|")) {
+            this.answer("BM", false);
+        } else if (packet.startsWith("ERK")) {
+            if (packet.startsWith("ERK" + this.id + "|")) {
+                this.answer("ER", false);
+                this.request("EV", "EV");
+            }
+        } else if (packet.startsWith("ERE")) {
+            this.answer("ER", true);
+        } else if (packet.startsWith("EV")) {
+            this.answer("EV", false);
+        } else if (packet.startsWith("GJK")) {
+            this.inFight = true;
+            this.fightTurns = 0;
+            this.send("GR1");
+        } else if (packet.startsWith("GTS" + this.id + "|")) {
+            if (this.inFight)
+                this.send(++this.fightTurns > this.test.fightTurns ? "GQ" : "Gt");
+        } else if (packet.startsWith("GE")) {
+            this.inFight = false;
+            this.inGame = false;
+            this.request("GC", "GC1");
+        } else if (packet.equals("qpong")) {
+            this.answer("qping", false);
+        }
+    }
+
+    /** Suit les joueurs présents sur la carte et la cellule du bot. */
+    private void parseMovements(String packet) {
+        for (String entry : packet.substring(3).split("\\|")) {
+            if (entry.isEmpty())
+                continue;
+            try {
+                if (entry.charAt(0) == '+') {
+                    String[] infos = entry.substring(1).split(";");
+                    if (infos.length < 4) continue;
+                    int id = Integer.parseInt(infos[3]);
+                    if (id == this.id)
+                        this.cell = Integer.parseInt(infos[0]);
+                    else if (id > 0 && !this.players.contains(id))
+                        this.players.add(id);
+                } else if (entry.charAt(0) == '-') {
+                    this.players.remove((Integer) Integer.parseInt(entry.substring(1)));
+                }
+            } catch (NumberFormatException ignored) {}
+        }
+    }
+
+    /** Un pas du scénario : expire les requêtes restées sans réponse puis joue l'action tirée. */
+    synchronized void tick(LoadTest.Action action) {
+        long now = System.nanoTime();
+        for (Iterator<Map.Entry<String, Long>> iterator = this.pending.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (now - entry.getValue() > TIMEOUT) {
+                this.test.latency.record(entry.getKey(), now - entry.getValue(), true);
+                this.test.timeouts.increment();
+                iterator.remove();
+            }
+        }
+
+        if (!this.inGame || this.inFight || action == null)
+            return;
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer target = this.players.isEmpty() ? null : this.players.get(random.nextInt(this.players.size()));
+
+        switch (action) {
+            case MOVE:
+                if (this.cell < 0 || this.pending.containsKey("GA")) return;
+                // Une case voisine sur une carte de 15 de large ; le serveur refuse les cases non marchables (GA;0)
+                int[] offsets = {1, 15, 29, 14, -1, -15, -29, -14};
+                int direction = random.nextInt(offsets.length), cell = this.cell + offsets[direction];
+                if (cell < 0) return;
+                this.request("GA", "GA001" + CryptManager.HASH[direction] + CryptManager.HASH[cell / 64] + CryptManager.HASH[cell % 64]);
+                break;
+            case CHAT:
+                if (this.pending.containsKey("BM")) return;
+                this.request("BM", "BM*|load test " + random.nextInt(1000) + "|");
+                break;
+            case EXCHANGE:
+                if (target == null || this.pending.containsKey("ER") || this.pending.containsKey("EV")) return;
+                this.request("ER", "ER1|" + target);
+                break;
+            case DUEL:
+                if (target == null || this.pending.containsKey("GA900")) return;
+                this.request("GA900", "GA900" + target);
+                break;
+            case PING:
+                if (this.pending.containsKey("qping")) return;
+                this.request("qping", "qping");
+                break;
+        }
+    }
+}
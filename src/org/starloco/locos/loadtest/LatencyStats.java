@@ -0,0 +1,61 @@
+package org.starloco.locos.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Délais de réponse mesurés par les bots, par opcode de requête. Même histogramme en puissances de 2 que
+ * {@link org.starloco.locos.game.PacketStats} côté serveur, pour pouvoir comparer les deux.
+ */
+class LatencyStats {
+
+    private final static int BUCKETS = 24;
+
+    private final Map<String, Stat> stats = new ConcurrentHashMap<>();
+
+    private static class Stat {
+        private final LongAdder count = new LongAdder(), failed = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        private long getPercentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) total += this.histogram.get(i);
+            long rank = (long) Math.ceil(total * percentile), seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += this.histogram.get(i);
+                if (seen >= rank && seen > 0)
+                    return 1L << i;
+            }
+            return 0;
+        }
+    }
+
+    void record(String opcode, long nanos, boolean failed) {
+        Stat stat = this.stats.computeIfAbsent(opcode, key -> new Stat());
+        stat.count.increment();
+        if (failed) stat.failed.increment();
+
+        long micros = nanos / 1000;
+        stat.histogram.incrementAndGet(micros == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+    }
+
+    long getCount() {
+        long count = 0;
+        for (Stat stat : this.stats.values()) count += stat.count.sum();
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Stat> entry : new TreeMap<>(this.stats).entrySet()) {
+            Stat stat = entry.getValue();
+            builder.append(String.format("  %-6s %8d responses, %6d failed, p50 <%dus, p99 <%dus%n", entry.getKey(),
+                    stat.count.sum(), stat.failed.sum(), stat.getPercentile(0.5), stat.getPercentile(0.99)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,187 @@
+package org.starloco.locos.loadtest;
+
+import ch.qos.logback.classic.Logger;
+import org.apache.mina.core.service.IoHandlerAdapter;
+import org.apache.mina.core.session.IoSession;
+import org.apache.mina.filter.codec.ProtocolCodecFilter;
+import org.apache.mina.filter.codec.textline.LineDelimiter;
+import org.apache.mina.filter.codec.textline.TextLineCodecFactory;
+import org.apache.mina.transport.socket.nio.NioSocketConnector;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Injecteur de charge : des milliers de clients simulés ({@link Bot}) jouent contre un serveur de jeu local,
+ * qui doit être configuré pour se connecter à {@link LoginStub} sur le port d'échange. Les comptes
+ * firstAccount .. firstAccount + clients - 1 doivent exister en base avec au moins un personnage.
+ *
+ * Arguments, tous facultatifs, sous la forme nom=valeur :
+ * host, port (jeu), exchangePort, key, clients, firstAccount, ramp (connexions par seconde), rate (actions par
+ * seconde et par bot), mix (poids des actions, ex. move=5,chat=2,exchange=1,duel=1,ping=1), fightTurns,
+ * report (secondes entre deux rapports), duration (secondes, 0 = sans fin).
+ */
+public class LoadTest extends IoHandlerAdapter {
+
+    public static Logger logger = (Logger) LoggerFactory.getLogger(LoadTest.class);
+
+    enum Action {MOVE, CHAT, EXCHANGE, DUEL, PING}
+
+    final LatencyStats latency = new LatencyStats();
+    final LongAdder sent = new LongAdder(), received = new LongAdder(), timeouts = new LongAdder();
+    final int fightTurns;
+
+    private final Map<String, String> options;
+    private final List<Bot> bots = new CopyOnWriteArrayList<>();
+    private final Queue<Bot> connecting = new ConcurrentLinkedQueue<>();
+    private final Action[] mix;
+    private final LoginStub login;
+    private final NioSocketConnector connector = new NioSocketConnector();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "LoadTest");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.fightTurns = this.getInt("fightTurns", 3);
+        this.mix = parseMix(options.getOrDefault("mix", "move=5,chat=2,exchange=1,duel=1,ping=1"));
+        this.login = new LoginStub(options.getOrDefault("key", "jiva"));
+        this.connector.getFilterChain().addLast("codec", new ProtocolCodecFilter(new TextLineCodecFactory(StandardCharsets.UTF_8, new LineDelimiter("\n\0"), LineDelimiter.NUL)));
+        this.connector.setHandler(this);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (index > 0) options.put(arg.substring(0, index), arg.substring(index + 1));
+        }
+        new LoadTest(options).run();
+    }
+
+    private int getInt(String name, int value) {
+        return this.options.containsKey(name) ? Integer.parseInt(this.options.get(name)) : value;
+    }
+
+    /** Tableau où chaque action apparaît autant de fois que son poids : un tirage uniforme respecte le mélange. */
+    private static Action[] parseMix(String mix) {
+        List<Action> actions = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] split = entry.split("=");
+            Action action = Action.valueOf(split[0].trim().toUpperCase());
+            int weight = split.length > 1 ? Integer.parseInt(split[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) actions.add(action);
+        }
+        return actions.toArray(new Action[0]);
+    }
+
+    private void run() throws Exception {
+        String host = this.options.getOrDefault("host", "127.0.0.1");
+        int port = this.getInt("port", 5555), clients = this.getInt("clients", 100), firstAccount = this.getInt("firstAccount", 1);
+        int ramp = Math.max(1, this.getInt("ramp", 50)), rate = Math.max(1, this.getInt("rate", 1));
+        int report = Math.max(1, this.getInt("report", 10)), duration = this.getInt("duration", 0);
+
+        this.login.bind(this.getInt("exchangePort", 666));
+        logger.info("Waiting for the game server on the exchange port..");
+        while (!this.login.isReady())
+            Thread.sleep(500);
+
+        this.scheduler.scheduleAtFixedRate(this::tick, 1000, 1000 / rate, TimeUnit.MILLISECONDS);
+        this.scheduler.scheduleAtFixedRate(new Reporter(), report, report, TimeUnit.SECONDS);
+        long start = System.currentTimeMillis();
+
+        for (int i = 0; i < clients; i++) {
+            Bot bot = new Bot(this, firstAccount + i);
+            this.bots.add(bot);
+            this.login.ticket(bot.getAccount());
+            this.connecting.add(bot);
+            this.connector.connect(new InetSocketAddress(host, port));
+            Thread.sleep(1000 / ramp);
+        }
+        logger.info(clients + " clients launched in " + (System.currentTimeMillis() - start) / 1000 + "s.");
+
+        if (duration > 0) {
+            Thread.sleep(Math.max(0, duration * 1000L - (System.currentTimeMillis() - start)));
+            this.scheduler.shutdownNow();
+            new Reporter().run();
+            for (IoSession session : this.connector.getManagedSessions().values())
+                session.closeNow();
+            this.connector.dispose();
+            this.login.close();
+            System.exit(0);
+        }
+    }
+
+    private void tick() {
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (Bot bot : this.bots)
+                bot.tick(this.mix.length == 0 ? null : this.mix[random.nextInt(this.mix.length)]);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private class Reporter implements Runnable {
+        private long lastTime = System.currentTimeMillis(), lastSent = 0, lastReceived = 0, lastAnswers = 0;
+
+        @Override
+        public void run() {
+            long now = System.currentTimeMillis(), sent = LoadTest.this.sent.sum(), received = LoadTest.this.received.sum(), answers = latency.getCount();
+            double seconds = Math.max(1, now - this.lastTime) / 1000.0;
+            int inGame = 0;
+            for (Bot bot : bots)
+                if (bot.isInGame()) inGame++;
+
+            logger.info(String.format("%d connected, %d in game : %.0f packets/s sent, %.0f/s received, %.0f responses/s, %d timeouts ; server queues (deepest;dropped;kicked;online) %s%n%s",
+                    connector.getManagedSessionCount(), inGame, (sent - this.lastSent) / seconds, (received - this.lastReceived) / seconds,
+                    (answers - this.lastAnswers) / seconds, timeouts.sum(), login.getQueues(), latency));
+
+            this.lastTime = now;
+            this.lastSent = sent;
+            this.lastReceived = received;
+            this.lastAnswers = answers;
+            login.requestQueues(); // Réponse affichée au prochain rapport
+        }
+    }
+
+    @Override
+    public void sessionCreated(IoSession session) {
+        Bot bot = this.connecting.poll(); // Les tickets sont émis avant la connexion : n'importe quel bot en attente convient
+        if (bot == null) {
+            session.closeNow();
+            return;
+        }
+        session.setAttribute("bot", bot);
+        bot.open(session);
+    }
+
+    @Override
+    public void messageReceived(IoSession session, Object message) {
+        Bot bot = (Bot) session.getAttribute("bot");
+        if (bot != null)
+            bot.receive((String) message);
+    }
+
+    @Override
+    public void sessionClosed(IoSession session) {
+        Bot bot = (Bot) session.getAttribute("bot");
+        if (bot != null)
+            bot.closed();
+    }
+
+    @Override
+    public void exceptionCaught(IoSession session, Throwable cause) {
+        logger.error("Session " + session.getId() + " : " + cause.getMessage());
+    }
+}
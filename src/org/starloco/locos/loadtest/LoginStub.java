@@ -0,0 +1,99 @@
+package org.starloco.locos.loadtest;
+
+import org.apache.mina.core.service.IoAcceptor;
+import org.apache.mina.core.service.IoHandlerAdapter;
+import org.apache.mina.core.session.IoSession;
+import org.apache.mina.transport.socket.nio.NioSocketAcceptor;
+import org.starloco.locos.exchange.ExchangeClient;
+import org.starloco.locos.exchange.ExchangeHandler;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Remplace le serveur de connexion auprès du serveur de jeu : accepte sa connexion d'échange (SK/SH),
+ * émet les tickets WA des comptes des bots et relève la profondeur des files de paquets (DQ).
+ * Le serveur de jeu doit pointer sur ce port (exchange port de sa configuration).
+ */
+class LoginStub extends IoHandlerAdapter {
+
+    private final IoAcceptor acceptor = new NioSocketAcceptor();
+    private final String key;
+    private volatile IoSession game;
+    private volatile String queues = "?";
+
+    LoginStub(String key) {
+        this.key = key;
+        this.acceptor.setHandler(this);
+    }
+
+    void bind(int port) throws IOException {
+        this.acceptor.bind(new InetSocketAddress(port));
+    }
+
+    void close() {
+        this.acceptor.unbind();
+        this.acceptor.dispose();
+    }
+
+    boolean isReady() {
+        return this.game != null;
+    }
+
+    /** Autorise le compte à se connecter au serveur de jeu avec le ticket AT&lt;id&gt;. */
+    void ticket(int account) {
+        this.send("WA" + account + ";1.29.1");
+    }
+
+    /** Demande l'état des files ; la réponse arrive de façon asynchrone dans {@link #getQueues()}. */
+    void requestQueues() {
+        this.send("DQ?");
+    }
+
+    /** Dernière réponse DQ : file la plus longue ; paquets ignorés ; sessions coupées ; joueurs en ligne. */
+    String getQueues() {
+        return this.queues;
+    }
+
+    private void send(String packet) {
+        IoSession session = this.game;
+        if (session != null && session.isConnected())
+            session.write(ExchangeClient.StringToIoBuffer(packet + "#"));
+    }
+
+    @Override
+    public void sessionOpened(IoSession session) {
+        session.write(ExchangeClient.StringToIoBuffer("SK?#"));
+    }
+
+    @Override
+    public void messageReceived(IoSession session, Object message) {
+        String packet = ExchangeHandler.ioBufferToString(message);
+
+        if (packet.startsWith("SK")) {
+            String[] infos = packet.substring(2).split(";");
+            boolean accepted = infos.length > 1 && infos[1].equals(this.key);
+            session.write(ExchangeClient.StringToIoBuffer(accepted ? "SKK#" : "SKR#"));
+            if (!accepted) LoadTest.logger.error("Game server refused : wrong exchange key.");
+        } else if (packet.startsWith("SH")) {
+            session.write(ExchangeClient.StringToIoBuffer("SHK#"));
+            this.game = session;
+            LoadTest.logger.info("Game server connected : " + packet.substring(2));
+        } else if (packet.contains("DQ")) { // Les envois du serveur de jeu ne sont pas délimités : DQ peut suivre un autre paquet
+            this.queues = packet.substring(packet.indexOf("DQ") + 2).trim();
+        }
+    }
+
+    @Override
+    public void sessionClosed(IoSession session) {
+        if (session == this.game) {
+            this.game = null;
+            LoadTest.logger.error("Game server disconnected.");
+        }
+    }
+
+    @Override
+    public void exceptionCaught(IoSession session, Throwable cause) {
+        cause.printStackTrace();
+    }
+}
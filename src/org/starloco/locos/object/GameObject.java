@@ -14,14 +14,17 @@ import org.starloco.locos.job.JobAction;
 import org.starloco.locos.kernel.Constant;
 import org.starloco.locos.kernel.Logging;
 import org.starloco.locos.object.entity.Fragment;
+import org.starloco.locos.object.entity.SoulStone;
 
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GameObject {
 
@@ -33,13 +36,21 @@ public class GameObject {
     protected int obvijevanLook;
     protected int puit;
     private int mimibioteApparence = 0;
-    private Stats Stats = new Stats();
-    private ArrayList<SpellEffect> Effects = new ArrayList<>();
-    private ArrayList<String> SortStats = new ArrayList<>();
-    private Map<Integer, String> txtStats = new HashMap<>();
-    private Map<Integer, Integer> SoulStats = new HashMap<>();
+    private Stats Stats;
+    private ArrayList<SpellEffect> Effects;
+    private ArrayList<String> SortStats;
+    private Map<Integer, String> txtStats;
+    private Map<Integer, Integer> SoulStats;
+    //Vrai tant que les stats pointent sur un profil partagé entre objets identiques : toute modification passe par own()
+    private volatile boolean shared = false;
 
     public byte modification = -1;
+    //Incrémentées à chaque modification possible des stats (own() et mutateurs), ou de la ligne d'inventaire
+    private volatile int statsVersion = 0, itemVersion = 0;
+    //Derniers parseStatsString et parseItem, avec la version à laquelle ils ont été construits
+    private volatile Couple<Integer, String> statsString, itemString;
+    //Stats brutes chargées depuis la base, décodées au premier accès (null une fois décodées)
+    private volatile String rawStats;
 
     public GameObject(int Guid, int template, int qua, int pos, String strStats, int puit) {
         this.guid = Guid;
@@ -48,11 +59,143 @@ public class GameObject {
         this.position = pos;
         this.puit = puit;
 
-        Stats = new Stats();
-        this.parseStringToStats(strStats, false, false);
-        
-        if(getTxtStat().get(Constant.STATS_MIMIBIOTE) != null)
-        	this.setMimibioteApparence(Integer.parseInt(getTxtStat().get(Constant.STATS_MIMIBIOTE).split(";")[1], 16));
+        this.share(Profile.EMPTY);
+        this.rawStats = strStats == null ? "" : strStats;
+    }
+
+    private GameObject(ObjectTemplate template) {
+        this.template = template;
+        this.Stats = new Stats();
+        this.Effects = new ArrayList<>();
+        this.SortStats = new ArrayList<>();
+        this.txtStats = new HashMap<>();
+        this.SoulStats = new HashMap<>();
+        this.shared = false;
+    }
+
+    /**
+     * Décode les stats brutes au premier accès : la plupart des objets chargés
+     * (banques, coffres, HDV) ne sont jamais lus avant la prochaine sauvegarde.
+     */
+    private void decode() {
+        if (this.rawStats == null)
+            return;
+        synchronized (this) {
+            String raw = this.rawStats;
+            if (raw == null)
+                return;
+            this.share(Profile.get(this.template, raw));
+
+            if(txtStats.get(Constant.STATS_MIMIBIOTE) != null)
+                this.mimibioteApparence = Integer.parseInt(txtStats.get(Constant.STATS_MIMIBIOTE).split(";")[1], 16);
+            this.rawStats = null;
+        }
+    }
+
+    private void share(Profile profile) {
+        this.Stats = profile.stats;
+        this.Effects = profile.effects;
+        this.SortStats = profile.sortStats;
+        this.txtStats = profile.txtStats;
+        this.SoulStats = profile.soulStats;
+        this.shared = profile.interned;
+    }
+
+    /**
+     * Copie les stats partagées avant toute modification, ou avant de les exposer via un getter modifiable.
+     * Les lectures passent par les accesseurs view*, qui laissent le profil partagé.
+     */
+    private void own() {
+        this.decode();
+        this.invalidateStats();
+        if (!this.shared)
+            return;
+        synchronized (this) {
+            if (!this.shared)
+                return;
+            ArrayList<SpellEffect> effects = new ArrayList<>();
+            for (SpellEffect SE : this.Effects)
+                effects.add(new SpellEffect(SE.getEffectID(), SE.getArgs(), 0, -1));
+            this.Stats = new Stats(new LinkedHashMap<>(this.Stats.getMap()));
+            this.Effects = effects;
+            this.SortStats = new ArrayList<>(this.SortStats);
+            this.txtStats = new HashMap<>(this.txtStats);
+            this.SoulStats = new HashMap<>(this.SoulStats);
+            this.shared = false;
+        }
+    }
+
+    /**
+     * Invalide parseStatsString et parseItem : appelé par own(), donc par tout mutateur et tout getter modifiable.
+     */
+    private void invalidateStats() {
+        this.statsVersion++;
+        this.itemVersion++;
+    }
+
+    private void invalidateItem() {
+        this.itemVersion++;
+    }
+
+    /**
+     * Stats décodées d'un couple (template, stats brutes). Les ressources, consommables, runes et objets
+     * sans stats ont le plus souvent des stats identiques : leur profil est partagé entre tous ces objets.
+     */
+    private static class Profile {
+        private final static Map<String, Profile> profiles = new ConcurrentHashMap<>();
+        private final static Profile EMPTY = new Profile(new GameObject((ObjectTemplate) null), true);
+
+        private final Stats stats;
+        private final ArrayList<SpellEffect> effects;
+        private final ArrayList<String> sortStats;
+        private final Map<Integer, String> txtStats;
+        private final Map<Integer, Integer> soulStats;
+        private final boolean interned;
+
+        private Profile(GameObject model, boolean interned) {
+            this.stats = model.Stats;
+            this.effects = model.Effects;
+            this.sortStats = model.SortStats;
+            this.txtStats = model.txtStats;
+            this.soulStats = model.SoulStats;
+            this.interned = interned;
+        }
+
+        private static Profile get(ObjectTemplate template, String raw) {
+            if (template == null || raw.isEmpty())
+                return EMPTY;
+
+            String key = template.getId() + ":" + raw;
+            Profile profile = profiles.get(key);
+            if (profile != null)
+                return profile;
+
+            GameObject model = new GameObject(template);
+            model.decodeStats(raw, false);
+            if (!model.txtStats.isEmpty() || !model.SoulStats.isEmpty() || !isShareable(template))
+                return new Profile(model, false);
+
+            profile = new Profile(model, true);
+            Profile old = profiles.putIfAbsent(key, profile);
+            return old == null ? profile : old;
+        }
+
+        private static boolean isShareable(ObjectTemplate template) {
+            switch (template.getType()) {
+                case Constant.ITEM_TYPE_RESSOURCE:
+                case Constant.ITEM_TYPE_RUNE_FORGEMAGIE:
+                    return true;
+            }
+            return Constant.isAValidConsumableItem(template);
+        }
+
+        private static int size() {
+            return profiles.size();
+        }
+    }
+
+    public static int getSharedProfiles() {
+        return Profile.size();
     }
 
     public GameObject(int Guid) {
@@ -61,6 +204,7 @@ public class GameObject {
         this.quantity = 1;
         this.position = -1;
         this.puit = 0;
+        this.share(Profile.EMPTY);
     }
 
     public GameObject(int Guid, int template, int qua, int pos, Stats stats, ArrayList<SpellEffect> effects, Map<Integer, Integer> _SoulStat, Map<Integer, String> _txtStats, int puit) {
@@ -70,8 +214,10 @@ public class GameObject {
         this.position = pos;
         this.Stats = stats;
         this.Effects = effects;
+        this.SortStats = new ArrayList<>();
         this.SoulStats = _SoulStat;
         this.txtStats = _txtStats;
+        this.shared = false;
         this.obvijevanPos = 0;
         this.obvijevanLook = 0;
         this.puit = puit;
@@ -90,11 +236,24 @@ public class GameObject {
     }
 
     public static GameObject getCloneObjet(GameObject obj, int qua) {
+        obj.decode();
+        if (obj.shared) { //Profil partagé : le clone le partage aussi
+            GameObject ob = new GameObject(Database.getDynamics().getWorldEntityData().getNextObjectId(), obj.getTemplate().getId(), qua, Constant.ITEM_POS_NO_EQUIPED, "", obj.getPuit());
+            ob.rawStats = null;
+            ob.Stats = obj.Stats;
+            ob.Effects = obj.Effects;
+            ob.SortStats = obj.SortStats;
+            ob.txtStats = obj.txtStats;
+            ob.SoulStats = obj.SoulStats;
+            ob.modification = 0;
+            return ob;
+        }
+
         Map<Integer, Integer> maps = new LinkedHashMap<>();
-        maps.putAll(obj.getStats().getMap());
+        maps.putAll(obj.viewStats().getMap());
         Stats newStats = new Stats(maps);
 
-        GameObject ob = new GameObject(Database.getDynamics().getWorldEntityData().getNextObjectId(), obj.getTemplate().getId(), qua, Constant.ITEM_POS_NO_EQUIPED, newStats, new ArrayList<SpellEffect>(obj.getEffects()), new HashMap<Integer, Integer>(obj.getSoulStat()), new HashMap<Integer, String>(obj.getTxtStat()), obj.getPuit());
+        GameObject ob = new GameObject(Database.getDynamics().getWorldEntityData().getNextObjectId(), obj.getTemplate().getId(), qua, Constant.ITEM_POS_NO_EQUIPED, newStats, new ArrayList<SpellEffect>(obj.viewEffects()), new HashMap<Integer, Integer>(obj.viewSoulStat()), new HashMap<Integer, String>(obj.viewTxtStat()), obj.getPuit());
         ob.modification = 0;
         if(obj.isMimibiote())
         	ob.setMimibioteApparence(obj.getOATemplateApparence());
@@ -103,6 +262,7 @@ public class GameObject {
 
     public int setId() {
         this.guid = Database.getDynamics().getWorldEntityData().getNextObjectId();
+        this.invalidateItem();
         return this.getGuid();
     }
 
@@ -138,6 +298,13 @@ public class GameObject {
     }
 
     public void parseStringToStats(final String strStats, final boolean save, final boolean isForFm) {
+        this.own();
+        this.decodeStats(strStats, isForFm);
+        if(save)
+            this.setModification();
+    }
+
+    private void decodeStats(final String strStats, final boolean isForFm) {
         if(this.template != null & this.template.getId() == 7010) return;
         
         final StringBuilder statsToOrder = new StringBuilder(); // for fm
@@ -293,29 +460,30 @@ public class GameObject {
         		Stats.addOneStat(id, value);
         	}
         }
-        
-        if(save)
-            this.setModification();
     }
 
     
     
     public void addTxtStat(int i, String s) {
+        this.own();
         txtStats.put(i, s);
         this.setModification();
     }
     
     public void removeTxtStat(int i) {
+        this.own();
         txtStats.remove(i);
         this.setModification();
     }
     
     public void addOneStats(int i, int val) {
+        this.own();
         Stats.addOneStat(i, val);
         this.setModification();
     }
 
     public String getTraquedName() {
+        this.decode();
         for (Entry<Integer, String> entry : txtStats.entrySet()) {
             if (Integer.toHexString(entry.getKey()).compareTo("3dd") == 0) {
                 return entry.getValue();
@@ -325,10 +493,29 @@ public class GameObject {
     }
 
     public Stats getStats() {
+        this.own();
         return Stats;
     }
 
+    /** Stats en lecture seule : getStats() si elles doivent être modifiées. */
+    public Stats viewStats() {
+        this.decode();
+        return new Stats(Collections.unmodifiableMap(Stats.getMap()));
+    }
+
+    public boolean hasSameStats(GameObject other) {
+        this.decode();
+        other.decode();
+        return this.Stats == other.Stats || this.Stats.isSameStats(other.Stats);
+    }
+
+    public boolean hasTxtStat(int id) {
+        this.decode();
+        return this.txtStats.get(id) != null;
+    }
+
     public void setStats(Stats SS) {
+        this.own();
         Stats = SS;
         this.setModification();
     }
@@ -345,6 +532,7 @@ public class GameObject {
                 Logging.getInstance().write("Object", "Faille : Objet guid : " + guid + " a dépassé 100 000 qua (" + quantity + ") avec comme template : " + template.getName() + " (" + template.getId() + ")");
 
         this.quantity = quantity;
+        this.invalidateItem();
         this.setModification();
     }
 
@@ -355,6 +543,7 @@ public class GameObject {
     public void setPosition(int position) {
         this.setModification();
         this.position = position;
+        this.invalidateItem();
     }
 
     public ObjectTemplate getTemplate() {
@@ -364,6 +553,7 @@ public class GameObject {
     public void setTemplate(int Tid) {
         this.setModification();
         this.template = World.world.getObjTemplate(Tid);
+        this.invalidateStats();
     }
 
     public int getGuid() {
@@ -371,13 +561,25 @@ public class GameObject {
     }
 
     public Map<Integer, Integer> getSoulStat() {
+        this.own();
         return SoulStats;
     }
 
+    public Map<Integer, Integer> viewSoulStat() {
+        this.decode();
+        return Collections.unmodifiableMap(SoulStats);
+    }
+
     public Map<Integer, String> getTxtStat() {
+        this.own();
         return txtStats;
     }
 
+    public Map<Integer, String> viewTxtStat() {
+        this.decode();
+        return Collections.unmodifiableMap(txtStats);
+    }
+
     public void setExchangeIn(Player player) {
 
         this.setModification();
@@ -400,10 +602,10 @@ public class GameObject {
     }
 
     public boolean isAttach() {
-        boolean ok = this.getTxtStat().containsKey(Constant.STATS_OWNER_1);
+        boolean ok = this.viewTxtStat().containsKey(Constant.STATS_OWNER_1);
 
         if(ok) {
-            Player player = World.world.getPlayerByName(this.getTxtStat().get(Constant.STATS_OWNER_1));
+            Player player = World.world.getPlayerByName(this.viewTxtStat().get(Constant.STATS_OWNER_1));
             if(player != null) player.send("BN");
         }
 
@@ -411,16 +613,53 @@ public class GameObject {
     }
 
     public String parseItem() {
+        int version = this.itemVersion;
+        Couple<Integer, String> cached = this.itemString;
+        if (cached != null && cached.first == version)
+            return cached.second;
+
         String posi = position == Constant.ITEM_POS_NO_EQUIPED ? "" : Integer.toHexString(position)+"";
-        return Integer.toHexString(guid) + "~"
+        String item = Integer.toHexString(guid) + "~"
                 + Integer.toHexString(template.getId()) + "~"
                 + Integer.toHexString(quantity) + "~" + posi + "~"
                 + parseStatsString() + ";";
+        if (this.isStatsStringCacheable())
+            this.itemString = new Couple<>(version, item);
+        return item;
     }
 
     public String parseStatsString() {
         if (getTemplate().getType() == 83) //Si c'est une pierre d'âme vide
             return getTemplate().getStrTemplate();
+        this.decode();
+
+        // Les mutateurs et les getters modifiables passent tous par own(), qui change la version :
+        // le cache est valide tant que la version n'a pas bougé depuis sa construction.
+        int version = this.statsVersion;
+        Couple<Integer, String> cached = this.statsString;
+        if (cached != null && cached.first == version)
+            return cached.second;
+
+        String stats = this.buildStatsString();
+        if (this.isStatsStringCacheable())
+            this.statsString = new Couple<>(version, stats);
+        return stats;
+    }
+
+    /**
+     * Faux si le résultat dépend d'un état extérieur à l'objet (familier, pierre d'âme) : il n'est pas mis en cache.
+     */
+    private boolean isStatsStringCacheable() {
+        if (this instanceof SoulStone || template.getType() == 83)
+            return false;
+        this.decode();
+        if (template.getType() == 77 || template.getType() == 90)
+            return true;
+        return !txtStats.containsKey(Constant.STATS_PETS_PDV) && !txtStats.containsKey(Constant.STATS_PETS_POIDS)
+                && !txtStats.containsKey(Constant.STATS_PETS_DATE) && !txtStats.containsKey(Constant.STATS_PETS_REPAS);
+    }
+
+    private String buildStatsString() {
         StringBuilder stats = new StringBuilder();
         boolean isFirst = true;
 
@@ -605,6 +844,7 @@ public class GameObject {
     public String parseStatsStringSansUserObvi() {
         if (getTemplate().getType() == 83) //Si c'est une pierre d'âme vide
             return getTemplate().getStrTemplate();
+        this.decode();
 
         StringBuilder stats = new StringBuilder();
         boolean isFirst = true;
@@ -714,7 +954,7 @@ public class GameObject {
             }
             isFirst = false;
         }
-        for(final String sort : this.getSortStats()) {
+        for(final String sort : SortStats) {
         	if (!isFirst)
                 stats.append(",");
         	stats.append(sort);
@@ -724,6 +964,9 @@ public class GameObject {
     }
 
     public String parseToSave() {
+        String raw = this.rawStats;
+        if (raw != null) //Jamais décodé, donc inchangé depuis le chargement
+            return raw;
         return parseStatsStringSansUserObvi();
     }
 
@@ -742,6 +985,7 @@ public class GameObject {
     }
 
     public void obvijevanNourir(GameObject obj) {
+        this.own();
         if (obj == null)
             return;
         for (Entry<Integer, Integer> entry : Stats.getMap().entrySet()) {
@@ -756,6 +1000,7 @@ public class GameObject {
     }
 
     public void obvijevanChangeStat(int statID, int val) {
+        this.own();
         for (Entry<Integer, Integer> entry : Stats.getMap().entrySet()) {
             if (entry.getKey().intValue() != statID)
                 continue;
@@ -765,6 +1010,7 @@ public class GameObject {
     }
 
     public void removeAllObvijevanStats() {
+        this.own();
         setObvijevanPos(0);
         org.starloco.locos.client.other.Stats StatsSansObvi = new Stats();
         for (Entry<Integer, Integer> entry : Stats.getMap().entrySet()) {
@@ -779,6 +1025,7 @@ public class GameObject {
     }
 
     public void removeAll_ExepteObvijevanStats() {
+        this.own();
         setObvijevanPos(0);
         org.starloco.locos.client.other.Stats StatsSansObvi = new Stats();
         for (Entry<Integer, Integer> entry : Stats.getMap().entrySet()) {
@@ -848,10 +1095,18 @@ public class GameObject {
     }
 
     public ArrayList<SpellEffect> getEffects() {
+        this.own();
         return Effects;
     }
 
+    /** Effets en lecture seule ; les SpellEffect restent ceux du profil partagé et ne doivent pas être modifiés. */
+    public List<SpellEffect> viewEffects() {
+        this.decode();
+        return Collections.unmodifiableList(Effects);
+    }
+
     public ArrayList<SpellEffect> getCritEffects() {
+        this.decode();
         ArrayList<SpellEffect> effets = new ArrayList<SpellEffect>();
         for (SpellEffect SE : Effects) {
             try {
@@ -881,6 +1136,7 @@ public class GameObject {
     }
 
     public void clearStats() {
+        this.own();
         //On vide l'item de tous ces effets
         Stats.getMap().clear();
         Effects.clear();
@@ -949,7 +1205,7 @@ public class GameObject {
         String stats = "";
         boolean isFirst = true;
         
-        for(final String sort : obj.getSortStats()) {
+        for(final String sort : obj.viewSortStats()) {
         	if (!isFirst)
                 stats += ",";
         	
@@ -1095,7 +1351,7 @@ public class GameObject {
         double perte = 0.0;
         
 
-        for (final String sort : obj.getSortStats()) {
+        for (final String sort : obj.viewSortStats()) {
             if (first)
                 stats += ",";
             stats += sort;
@@ -1297,7 +1553,7 @@ public class GameObject {
     public static byte viewActualStatsItem(GameObject obj, String stats)//retourne vrai si le stats est actuellement sur l'item
     {
         if (!obj.parseStatsString().isEmpty()) {
-            for (Entry<Integer, Integer> entry : obj.getStats().getMap().entrySet()) {
+            for (Entry<Integer, Integer> entry : obj.viewStats().getMap().entrySet()) {
                 if (Integer.toHexString(entry.getKey()).compareTo(stats) > 0)//Effets inutiles
                 {
                     if (Integer.toHexString(entry.getKey()).compareTo("98") == 0
@@ -1406,22 +1662,31 @@ public class GameObject {
     
     
     public int getOATemplateApparence() {
+        this.decode();
     	if(this.isMimibiote())
     		return this.mimibioteApparence;
     	return this.getTemplate().getId();
     }
     
     public boolean isMimibiote() {
+        this.decode();
     	return this.mimibioteApparence != 0;
     }
     
     public void setMimibioteApparence(final int idTemplate) {
+        this.decode();
     	this.mimibioteApparence = idTemplate;
     }
     
     public ArrayList<String> getSortStats(){
+        this.own();
     	return this.SortStats;
     }
+
+    public List<String> viewSortStats(){
+        this.decode();
+    	return Collections.unmodifiableList(this.SortStats);
+    }
     
     
 }
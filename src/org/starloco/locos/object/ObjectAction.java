@@ -523,6 +523,7 @@ public class ObjectAction {
                         Database.getDynamics().getPrismData().add(Prisme);
                         player.getCurMap().getSubArea().setAlignement(player.get_align());
                         Database.getDynamics().getSubAreaData().update(player.getCurMap().getSubArea());
+                        World.world.markConquestSent();
                         SocketManager.GAME_SEND_PRISME_TO_MAP(map0, Prisme);
                         break;
 
@@ -640,7 +641,7 @@ public class ObjectAction {
 
                         boolean containNeutre = false;
 
-                        for(SpellEffect effect : weapon.getEffects())
+                        for(SpellEffect effect : weapon.viewEffects())
                             if(effect.getEffectID() == 100 || effect.getEffectID() == 95)
                                 containNeutre = true;
 
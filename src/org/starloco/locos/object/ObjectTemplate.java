@@ -376,7 +376,7 @@ public class ObjectTemplate {
             PetEntry myPets = World.world.getPetsEntry(obj.getGuid());
             Map<Integer, String> txtStat = new HashMap<Integer, String>();
             Map<Integer, String> actualStat = new HashMap<Integer, String>();
-            actualStat = obj.getTxtStat();
+            actualStat = obj.viewTxtStat();
             if (actualStat.containsKey(Constant.STATS_PETS_PDV))
                 txtStat.put(Constant.STATS_PETS_PDV, actualStat.get(Constant.STATS_PETS_PDV));
             if (actualStat.containsKey(Constant.STATS_PETS_DATE))
@@ -398,7 +398,7 @@ public class ObjectTemplate {
     public GameObject createNewFamilier(GameObject obj) {
         int id = Database.getDynamics().getWorldEntityData().getNextObjectId();
         Map<Integer, String> stats = new HashMap<>();
-        stats.putAll(obj.getTxtStat());
+        stats.putAll(obj.viewTxtStat());
 
         GameObject object = new GameObject(id, getId(), 1, Constant.ITEM_POS_NO_EQUIPED, obj.getStats(), new ArrayList<>(), new HashMap<>(), stats, 0);
 
@@ -203,7 +203,7 @@ public class Action {
                 if (certificat == -1)
                     return true;
                 if (player.hasItemTemplate(certificat, 1)) {
-                    String date = player.getItemTemplate(certificat, 1).getTxtStat().get(Constant.STATS_DATE);
+                    String date = player.getItemTemplate(certificat, 1).viewTxtStat().get(Constant.STATS_DATE);
                     long timeStamp = Long.parseLong(date.split("#")[3]);
                     if (System.currentTimeMillis() - timeStamp <= 86400000) {
                         SocketManager.GAME_SEND_MESSAGE(player, "Il faut que tu attendes 24 heures avant de pouvoir combattre ce dopeul.");
@@ -398,7 +398,7 @@ public class Action {
                     int newCacID = Integer.parseInt(args.split(",")[0]);
                     int VerifCertificatID = Integer.parseInt(args.split(",")[1]);
                     if (player.hasItemTemplate(VerifCertificatID, 1)) {
-                        String date = player.getItemTemplate(VerifCertificatID, 1).getTxtStat().get(Constant.STATS_DATE);
+                        String date = player.getItemTemplate(VerifCertificatID, 1).viewTxtStat().get(Constant.STATS_DATE);
                         try {
                             long timeStamp = Long.parseLong(date);
                             if (System.currentTimeMillis() - timeStamp <= 60000) {
@@ -2224,7 +2224,7 @@ public class Action {
                 if (player.getKamas() >= 10
                         && player.getCurMap().getId() == 6863) {
                     if (player.hasItemTemplate(6653, 1)) {
-                        String date = player.getItemTemplate(6653, 1).getTxtStat().get(Constant.STATS_DATE);
+                        String date = player.getItemTemplate(6653, 1).viewTxtStat().get(Constant.STATS_DATE);
                         long timeStamp = Long.parseLong(date.split("#")[3]);
                         if (System.currentTimeMillis() - timeStamp <= 86400000) {
                             SocketManager.GAME_SEND_MESSAGE(player, "Ton ticket est bon.");
@@ -3055,7 +3055,7 @@ public class Action {
                 if (player.get_align() != 1 && player.get_align() != 2)
                     return true;
                 if (player.hasItemTemplate(9487, 1)) {
-                    String date = player.getItemTemplate(9487, 1).getTxtStat().get(Constant.STATS_DATE);
+                    String date = player.getItemTemplate(9487, 1).viewTxtStat().get(Constant.STATS_DATE);
                     long timeStamp = Long.parseLong(date);
                     if (System.currentTimeMillis() - timeStamp <= 1209600000) // 14 jours
                     {
@@ -3117,7 +3117,7 @@ public class Action {
                 if (player.get_align() != 1 && player.get_align() != 2)
                     return true;
                 if (player.hasItemTemplate(9487, 1)) {
-                    String date = player.getItemTemplate(9487, 1).getTxtStat().get(Constant.STATS_DATE);
+                    String date = player.getItemTemplate(9487, 1).viewTxtStat().get(Constant.STATS_DATE);
                     long timeStamp = Long.parseLong(date);
                     if (System.currentTimeMillis() - timeStamp <= 1209600000) // 14 jours
                     {
@@ -3172,7 +3172,7 @@ public class Action {
                 if (player.get_align() != 1 && player.get_align() != 2)
                     return true;
                 if (player.hasItemTemplate(9487, 1)) {
-                    String date = player.getItemTemplate(9487, 1).getTxtStat().get(Constant.STATS_DATE);
+                    String date = player.getItemTemplate(9487, 1).viewTxtStat().get(Constant.STATS_DATE);
                     long timeStamp = Long.parseLong(date);
                     if (System.currentTimeMillis() - timeStamp <= 1209600000) // 14 jours
                     {
@@ -3211,7 +3211,7 @@ public class Action {
                 if (player.get_align() != 1 && player.get_align() != 2)
                     return true;
                 if (player.hasItemTemplate(9487, 1)) {
-                    String date = player.getItemTemplate(9487, 1).getTxtStat().get(Constant.STATS_DATE);
+                    String date = player.getItemTemplate(9487, 1).viewTxtStat().get(Constant.STATS_DATE);
                     long timeStamp = Long.parseLong(date);
                     if (System.currentTimeMillis() - timeStamp <= 1209600000) // 14 jours
                     {
@@ -3358,7 +3358,7 @@ public class Action {
                     if (key0 || player.hasItemTemplate(10207, 1)) {
 
                         if(player.hasItemTemplate(10207, 1)) {
-                            String stats = player.getItemTemplate(10207).getTxtStat().get(Constant.STATS_NAME_DJ);
+                            String stats = player.getItemTemplate(10207).viewTxtStat().get(Constant.STATS_NAME_DJ);
                             for(String key : stats.split(",")) {
                                 id = Integer.parseInt(key, 16);
                                 if (id == 8342) key1 = true;
@@ -3404,7 +3404,7 @@ public class Action {
 
                 boolean key0 = false;
                 if(player.hasItemTemplate(10207, 1)) {
-                    String stats = player.getItemTemplate(10207).getTxtStat().get(Constant.STATS_NAME_DJ);
+                    String stats = player.getItemTemplate(10207).viewTxtStat().get(Constant.STATS_NAME_DJ);
                     for(String key : stats.split(",")) {
                         if (Integer.parseInt(key, 16) == 8073) key0 = true;
                     }
@@ -3910,7 +3910,7 @@ public class Action {
                 if(client == null) return true;
                 try {
                     if (player.hasItemTemplate(2107, 1)) {
-                        long timeStamp = Long.parseLong(player.getItemTemplate(2107, 1).getTxtStat().get(Constant.STATS_DATE));
+                        long timeStamp = Long.parseLong(player.getItemTemplate(2107, 1).viewTxtStat().get(Constant.STATS_DATE));
                         boolean success = (System.currentTimeMillis()
                                 - timeStamp <= 2 * 60 * 1000);
                         NpcQuestion qQuest = World.world.getNPCQuestion(success ? 1171 : 1172);
@@ -4008,7 +4008,7 @@ public class Action {
                     if (player.getCurMap().getId() == (short) 7388) {
                         if (player.hasItemTemplate(2039, 1)
                                 && player.hasItemTemplate(2041, 1)) {
-                            long timeStamp = Long.parseLong(player.getItemTemplate(2039, 1).getTxtStat().get(Constant.STATS_DATE));
+                            long timeStamp = Long.parseLong(player.getItemTemplate(2039, 1).viewTxtStat().get(Constant.STATS_DATE));
                             boolean success = (System.currentTimeMillis()
                                     - timeStamp <= 2 * 60 * 1000);
                             NpcQuestion qQuest = World.world.getNPCQuestion(success ? 2364 : 1175);
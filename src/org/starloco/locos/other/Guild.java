@@ -217,6 +217,9 @@ public class Guild {
     public void levelUp() {
         this.lvl++;
         this.capital += 5;
+        for (Collector collector : World.world.getCollectors().values()) // Niveau affiché sur les percepteurs
+            if (collector.getGuildId() == this.id)
+                Collector.invalidate(collector.getMap());
     }
 
     public void decompileSpell(String spells) {
@@ -478,8 +478,11 @@ public class Quest {
         }
 
         public void setQuestEtapeValidate(Quest_Etape qEtape) {
-            if (!questEtapeListValidate.containsKey(qEtape.getId()))
+            if (!questEtapeListValidate.containsKey(qEtape.getId())) {
                 questEtapeListValidate.put(qEtape.getId(), qEtape);
+                if (this.player != null)
+                    this.player.refreshQuestEtapesByMonster();
+            }
         }
 
         public String getQuestEtapeString() {
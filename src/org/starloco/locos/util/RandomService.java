@@ -0,0 +1,104 @@
+package org.starloco.locos.util;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Tirages aléatoires du serveur. Chaque thread a son propre générateur, sans contention ; un combat installe le sien,
+ * créé à partir d'une graine journalisée, le temps d'exécuter ses actions ({@link #enter(Generator)}) :
+ * à actions identiques, les jets, coups critiques, choix de l'IA et drops du combat se rejouent à l'identique.
+ */
+public final class RandomService {
+
+    private final static SplittableRandom seeds = new SplittableRandom();
+    private final static ThreadLocal<Generator> threads = ThreadLocal.withInitial(() -> new Generator(newSeed()));
+    private final static ThreadLocal<Generator> bound = new ThreadLocal<>();
+
+    private RandomService() {}
+
+    /** Générateur initialisé par une graine ; synchronisé car celui d'un combat sert à plusieurs threads. */
+    public static final class Generator {
+        private final long seed;
+        private final SplittableRandom random;
+
+        public Generator(long seed) {
+            this.seed = seed;
+            this.random = new SplittableRandom(seed);
+        }
+
+        public long getSeed() {
+            return this.seed;
+        }
+
+        /** Entre 0 inclus et bound exclu. */
+        public synchronized int nextInt(int bound) {
+            return this.random.nextInt(bound);
+        }
+
+        /** Entre min et max inclus. */
+        public synchronized int nextInt(int min, int max) {
+            return (int) this.random.nextLong(min, (long) max + 1);
+        }
+
+        public synchronized double nextDouble() {
+            return this.random.nextDouble();
+        }
+
+        public synchronized boolean nextBoolean() {
+            return this.random.nextBoolean();
+        }
+
+        public synchronized <T> void shuffle(List<T> list) {
+            for (int i = list.size() - 1; i > 0; i--) {
+                int j = this.random.nextInt(i + 1);
+                list.set(i, list.set(j, list.get(i)));
+            }
+        }
+    }
+
+    public static long newSeed() {
+        synchronized (seeds) {
+            return seeds.nextLong();
+        }
+    }
+
+    /** Générateur installé sur ce thread par un combat, sinon celui du thread. */
+    public static Generator current() {
+        Generator generator = bound.get();
+        return generator != null ? generator : threads.get();
+    }
+
+    /** Installe le générateur sur le thread courant et renvoie le précédent, à rendre à {@link #exit(Generator)}. */
+    public static Generator enter(Generator generator) {
+        Generator previous = bound.get();
+        bound.set(generator);
+        return previous;
+    }
+
+    public static void exit(Generator previous) {
+        if (previous == null)
+            bound.remove();
+        else
+            bound.set(previous);
+    }
+
+    public static int nextInt(int bound) {
+        return current().nextInt(bound);
+    }
+
+    public static int nextInt(int min, int max) {
+        return current().nextInt(min, max);
+    }
+
+    public static double nextDouble() {
+        return current().nextDouble();
+    }
+
+    public static boolean nextBoolean() {
+        return current().nextBoolean();
+    }
+
+    public static <T> void shuffle(List<T> list) {
+        current().shuffle(list);
+    }
+}
@@ -19,12 +19,12 @@ public class TimerWaiter {
         put(DataType.FIGHT, fightScheduler);
     }};
 
-    public static void addNext(Runnable run, long time, TimeUnit unit, DataType scheduler) {
-        schedulerPools.get(scheduler).schedule(run, time, unit);
+    public static ScheduledFuture<?> addNext(Runnable run, long time, TimeUnit unit, DataType scheduler) {
+        return schedulerPools.get(scheduler).schedule(run, time, unit);
     }
 
-    public static void addNext(Runnable run, long time, DataType scheduler) {
-        addNext(run, time, TimeUnit.MILLISECONDS, scheduler);
+    public static ScheduledFuture<?> addNext(Runnable run, long time, DataType scheduler) {
+        return addNext(run, time, TimeUnit.MILLISECONDS, scheduler);
     }
 
     public static void purge() {